@@ -1,6 +1,11 @@
 package in.gppalanpur.portal.config;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 import lombok.Data;
 
@@ -10,6 +15,11 @@ public class AppProperties {
     private final Jwt jwt = new Jwt();
     private final Cors cors = new Cors();
     private final FileStorage fileStorage = new FileStorage();
+    private final Results results = new Results();
+    private final Feedback feedback = new Feedback();
+    private final Streaming streaming = new Streaming();
+    private final Jobs jobs = new Jobs();
+    private final Uploads uploads = new Uploads();
 
     @Data
     public static class Jwt {
@@ -25,5 +35,40 @@ public class AppProperties {
     @Data
     public static class FileStorage {
         private String uploadDir;
+        private long reportCacheMaxBytes = 256L * 1024 * 1024;
+    }
+    
+    @Data
+    public static class Results {
+        private int transcriptCacheSize = 10000;
+        private int marksheetThreads = 4;
+    }
+    
+    @Data
+    public static class Feedback {
+        private int importChunkSize = 1000;
+    }
+    
+    @Data
+    public static class Streaming {
+        private int flushRows = 500;
+        private Duration requestTimeout = Duration.ofHours(1);
+    }
+    
+    @Data
+    public static class Jobs {
+        private int workers = 2;
+        private int retentionHours = 24;
+    }
+    
+    @Data
+    public static class Uploads {
+        private DataSize defaultMaxSize = DataSize.ofMegabytes(20);
+        /** Per importer, e.g. app.uploads.max-size.results=512MB */
+        private Map<String, DataSize> maxSize = new HashMap<>();
+        
+        public long maxBytes(String importer) {
+            return maxSize.getOrDefault(importer, defaultMaxSize).toBytes();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package in.gppalanpur.portal.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a {@link CsvUploadFile} controller parameter to an uploaded CSV.
+ *
+ * The CSV may come as the "file" part of a multipart request, or as the raw
+ * request body (text/csv, application/gzip or application/octet-stream, with
+ * an optional fileName query parameter), which the multipart resolver does
+ * not spool. Multipart parts are also bound by the global multipart limit, so
+ * large files have to come as a raw body. Gzip content is decompressed
+ * transparently, and the decompressed size is limited by
+ * {@code app.uploads.max-size.<importer>}.
+ *
+ * Importers still write the decompressed CSV to disk once, into the file
+ * store, except on a dry run: a re-upload can only be recognised by the hash
+ * of the whole file, and that has to be known before any row is imported.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CsvUpload {
+
+    /** Importer name used to look up the size limit, e.g. "results" */
+    String value();
+}
@@ -0,0 +1,78 @@
+package in.gppalanpur.portal.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.util.WebUtils;
+
+import in.gppalanpur.portal.exception.BadRequestException;
+import in.gppalanpur.portal.exception.PayloadTooLargeException;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Resolves {@link CsvUpload} parameters from a multipart part or the raw request body.
+ */
+@Component
+public class CsvUploadArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String FILE_PART = "file";
+    private static final String DEFAULT_FILE_NAME = "upload.csv";
+
+    private final AppProperties appProperties;
+
+    public CsvUploadArgumentResolver(AppProperties appProperties) {
+        this.appProperties = appProperties;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CsvUpload.class)
+                && CsvUploadFile.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        String importer = parameter.getParameterAnnotation(CsvUpload.class).value();
+        long maxBytes = appProperties.getUploads().maxBytes(importer);
+
+        MultipartHttpServletRequest multipart = WebUtils.getNativeRequest(request, MultipartHttpServletRequest.class);
+        if (multipart != null) {
+            MultipartFile part = multipart.getFile(FILE_PART);
+            if (part == null) {
+                throw new BadRequestException("Please upload a CSV file in the '" + FILE_PART + "' part");
+            }
+            return new CsvUploadFile(part.getOriginalFilename(), part.getSize(), part::getInputStream, maxBytes);
+        }
+
+        // Compressed bodies can be larger than the limit only if the CSV in them is too
+        long length = request.getContentLengthLong();
+        if (length > maxBytes) {
+            throw new PayloadTooLargeException("Upload exceeds the " + CsvUploadFile.describe(maxBytes) + " limit");
+        }
+        return new CsvUploadFile(fileName(request), length, request::getInputStream, maxBytes);
+    }
+
+    private static String fileName(HttpServletRequest request) {
+        String fileName = request.getParameter("fileName");
+        if (fileName == null) {
+            String disposition = request.getHeader(HttpHeaders.CONTENT_DISPOSITION);
+            if (disposition != null) {
+                try {
+                    fileName = ContentDisposition.parse(disposition).getFilename();
+                } catch (IllegalArgumentException e) {
+                    // Not a valid header; fall back to the default name
+                }
+            }
+        }
+        return fileName != null && !fileName.isBlank() ? fileName : DEFAULT_FILE_NAME;
+    }
+}
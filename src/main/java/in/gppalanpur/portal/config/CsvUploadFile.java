@@ -0,0 +1,204 @@
+package in.gppalanpur.portal.config;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import in.gppalanpur.portal.exception.PayloadTooLargeException;
+
+/**
+ * An uploaded CSV read as a stream. The source is opened once, on first use;
+ * gzip content (recognised by its magic bytes) is decompressed on the fly and
+ * reported under its name without the .gz suffix. Reading more than the limit
+ * throws {@link PayloadTooLargeException}, whether the excess comes from the
+ * upload itself or from decompressing it.
+ *
+ * Controllers declare this type rather than MultipartFile for {@link CsvUpload}
+ * parameters, since Spring binds plain MultipartFile parameters itself.
+ */
+public class CsvUploadFile implements MultipartFile {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+
+    /**
+     * Opens the uploaded bytes.
+     */
+    @FunctionalInterface
+    interface Source {
+        InputStream open() throws IOException;
+    }
+
+    private final String originalFilename;
+    private final long size;
+    private final Source source;
+    private final long maxBytes;
+
+    private InputStream stream;
+    private boolean empty;
+    private boolean consumed;
+
+    CsvUploadFile(String originalFilename, long size, Source source, long maxBytes) {
+        this.originalFilename = stripGzipSuffix(originalFilename);
+        this.size = size;
+        this.source = source;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return "text/csv";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return empty;
+    }
+
+    /**
+     * Size of the upload as sent, which is the compressed size for gzip
+     * uploads, or -1 if the client did not say.
+     */
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        try (InputStream in = getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * The decompressed CSV. Can be called only once, since the request body
+     * cannot be read again.
+     */
+    @Override
+    public InputStream getInputStream() throws IOException {
+        if (consumed) {
+            throw new IllegalStateException("The upload has already been read");
+        }
+        open();
+        consumed = true;
+        return stream;
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        try (InputStream in = getInputStream()) {
+            Files.copy(in, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        try (InputStream in = getInputStream()) {
+            Files.copy(in, dest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static String describe(long bytes) {
+        return bytes % (1024 * 1024) == 0 ? bytes / (1024 * 1024) + "MB" : bytes + " bytes";
+    }
+
+    private void open() throws IOException {
+        if (stream != null) {
+            return;
+        }
+        InputStream in = new BufferedInputStream(new LimitedInputStream(source.open(), maxBytes), BUFFER_BYTES);
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+
+        empty = first < 0;
+        if (first == GZIP_MAGIC_1 && second == GZIP_MAGIC_2) {
+            in = new LimitedInputStream(new GZIPInputStream(in, BUFFER_BYTES), maxBytes);
+        }
+        stream = in;
+    }
+
+    private static String stripGzipSuffix(String fileName) {
+        if (fileName != null && fileName.toLowerCase().endsWith(".gz")) {
+            return fileName.substring(0, fileName.length() - 3);
+        }
+        return fileName;
+    }
+
+    /**
+     * Fails once more than the limit has been read.
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long read;
+
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void count(long bytes) {
+            read += bytes;
+            if (read > maxBytes) {
+                throw new PayloadTooLargeException("Upload exceeds the " + describe(maxBytes) + " limit");
+            }
+        }
+    }
+}
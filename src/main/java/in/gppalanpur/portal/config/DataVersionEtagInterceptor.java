@@ -0,0 +1,97 @@
+package in.gppalanpur.portal.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import in.gppalanpur.portal.service.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Answers conditional GETs to {@link DataVersioned} handlers from the data
+ * versions alone, without running the handler or touching the database.
+ *
+ * The tag hashes the path, the sorted query parameters, the caller and their
+ * roles, today's date and the versions of the listed tables. The caller is
+ * part of it because method security runs after this interceptor, so a 304
+ * is only ever given to someone who was served the data before; the date is
+ * because some responses derive flags such as "registration open" from it.
+ */
+@Component
+public class DataVersionEtagInterceptor implements HandlerInterceptor {
+
+    private static final String CACHE_CONTROL = "private, no-cache";
+    private static final int TAG_HEX_LENGTH = 32;
+
+    private final DataVersionService dataVersionService;
+
+    public DataVersionEtagInterceptor(DataVersionService dataVersionService) {
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+        DataVersioned dataVersioned = handlerMethod.getMethodAnnotation(DataVersioned.class);
+        if (dataVersioned == null) {
+            return true;
+        }
+
+        // Set before the handler runs so the default no-store header is not added
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        String etag = "W/\"" + tag(request, dataVersioned) + "\"";
+        // Sets the ETag header, and the 304 status if the client's copy is current
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private String tag(HttpServletRequest request, DataVersioned dataVersioned) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        parameters.forEach((name, values) -> key.append('&').append(name).append('=')
+                .append(String.join(",", values)));
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            List<String> roles = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .sorted()
+                    .toList();
+            key.append('|').append(authentication.getName()).append(roles);
+        }
+
+        key.append('|').append(LocalDate.now());
+        dataVersionService.getVersions(Arrays.asList(dataVersioned.value()))
+                .forEach((table, version) -> key.append('|').append(table).append('=').append(version));
+
+        return HexFormat.of().formatHex(sha256().digest(key.toString().getBytes(StandardCharsets.UTF_8)))
+                .substring(0, TAG_HEX_LENGTH);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
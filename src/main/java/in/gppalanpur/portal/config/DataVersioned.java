@@ -0,0 +1,25 @@
+package in.gppalanpur.portal.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response is determined by the request, the
+ * caller and the contents of the named tables. Such responses carry a weak
+ * ETag built from the tables' data versions, and a request whose
+ * If-None-Match still matches is answered with 304 before the handler runs.
+ *
+ * List every table the response reads, including those only joined for
+ * names or counts; a missing one means clients keep stale data.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DataVersioned {
+
+    /** Names of the tables the response is built from, e.g. "projects" */
+    String[] value();
+}
@@ -1,8 +1,13 @@
 package in.gppalanpur.portal.config;
 
+import java.util.List;
+
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -11,6 +16,34 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @ComponentScan(basePackages = "in.gppalanpur.portal.controller")
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private final CsvUploadArgumentResolver csvUploadArgumentResolver;
+    private final DataVersionEtagInterceptor dataVersionEtagInterceptor;
+    private final AppProperties appProperties;
+
+    public WebMvcConfig(CsvUploadArgumentResolver csvUploadArgumentResolver,
+                        DataVersionEtagInterceptor dataVersionEtagInterceptor, AppProperties appProperties) {
+        this.csvUploadArgumentResolver = csvUploadArgumentResolver;
+        this.dataVersionEtagInterceptor = dataVersionEtagInterceptor;
+        this.appProperties = appProperties;
+    }
+
+    @Override
+    public void addArgumentResolvers(@org.springframework.lang.NonNull List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(csvUploadArgumentResolver);
+    }
+
+    @Override
+    public void addInterceptors(@org.springframework.lang.NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(dataVersionEtagInterceptor);
+    }
+
+    @Override
+    public void configureAsyncSupport(@org.springframework.lang.NonNull AsyncSupportConfigurer configurer) {
+        // Streamed downloads (marksheet ZIPs, NDJSON pulls) can run well past the container default.
+        // @EnableWebMvc turns off Boot's MVC auto-configuration, so spring.mvc.async.* would be ignored.
+        configurer.setDefaultTimeout(appProperties.getStreaming().getRequestTimeout().toMillis());
+    }
+
     @Override
     public void addResourceHandlers(@org.springframework.lang.NonNull ResourceHandlerRegistry registry) {
         // Add static resource handlers
@@ -9,7 +9,9 @@ import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -23,15 +25,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import org.springframework.web.multipart.MultipartFile;
-
+import in.gppalanpur.portal.config.CsvUpload;
+import in.gppalanpur.portal.config.CsvUploadFile;
 import in.gppalanpur.portal.dto.ApiResponse;
 import in.gppalanpur.portal.dto.PaginatedResponse;
 import in.gppalanpur.portal.dto.admin.CreateUserRequest;
 import in.gppalanpur.portal.dto.admin.UpdateUserRequest;
 import in.gppalanpur.portal.dto.admin.UserResponse;
 import in.gppalanpur.portal.dto.admin.UserRoleRequest;
+import in.gppalanpur.portal.dto.admin.UserSearchCriteria;
 import in.gppalanpur.portal.security.UserDetailsImpl;
 import in.gppalanpur.portal.service.AdminService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -72,6 +76,26 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/users/stream")
+    @Operation(summary = "Stream users matching the filters as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamUsers(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Long departmentId) {
+        
+        UserSearchCriteria criteria = UserSearchCriteria.builder()
+                .search(search)
+                .role(role)
+                .departmentId(departmentId)
+                .build();
+        StreamingResponseBody body = outputStream -> adminService.streamUsers(criteria, outputStream);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+    
     @GetMapping("/users/{id}")
     @Operation(summary = "Get user by ID")
     public ResponseEntity<ApiResponse<UserResponse>> getUser(@PathVariable Long id) {
@@ -171,18 +195,13 @@ public class AdminController {
     
     @GetMapping("/roles/export")
     @Operation(summary = "Export roles as CSV")
-    public ResponseEntity<byte[]> exportRoles() {
-        byte[] csvData = adminService.exportRoles();
-        
-        return ResponseEntity.ok()
-                .header("Content-Type", "text/csv; charset=UTF-8")
-                .header("Content-Disposition", "attachment; filename=roles.csv")
-                .body(csvData);
+    public ResponseEntity<StreamingResponseBody> exportRoles(@RequestParam(defaultValue = "false") boolean gzip) {
+        return CsvDownload.of("roles.csv", gzip, adminService::exportRoles);
     }
     
     @PostMapping("/roles/import")
     @Operation(summary = "Import roles from CSV")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> importRoles(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<ApiResponse<Map<String, Object>>> importRoles(@CsvUpload("roles") CsvUploadFile file) {
         Map<String, Object> result = adminService.importRoles(file);
         
         // Extract the allRoles from the result and use it as the roles in the response
@@ -0,0 +1,54 @@
+package in.gppalanpur.portal.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Builds streamed CSV download responses for the export endpoints. The body
+ * is written after the controller returns, straight into the response; with
+ * gzip the client gets a .csv.gz attachment compressed on the fly.
+ */
+final class CsvDownload {
+
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+
+    /**
+     * Writes the CSV content of a download.
+     */
+    @FunctionalInterface
+    interface CsvWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+
+    private CsvDownload() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> of(String fileName, boolean gzip, CsvWriter writer) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
+
+        StreamingResponseBody body;
+        if (gzip) {
+            headers.setContentType(MediaType.parseMediaType("application/gzip"));
+            headers.setContentDispositionFormData("attachment", fileName + ".gz");
+            body = outputStream -> {
+                GZIPOutputStream compressed = new GZIPOutputStream(outputStream, GZIP_BUFFER_BYTES);
+                writer.write(compressed);
+                compressed.finish();
+            };
+        } else {
+            headers.setContentType(MediaType.parseMediaType("text/csv; charset=UTF-8"));
+            headers.setContentDispositionFormData("attachment", fileName);
+            body = writer::write;
+        }
+
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+}
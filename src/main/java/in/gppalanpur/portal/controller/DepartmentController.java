@@ -3,9 +3,7 @@ package in.gppalanpur.portal.controller;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,9 +13,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import in.gppalanpur.portal.config.CsvUpload;
+import in.gppalanpur.portal.config.CsvUploadFile;
+import in.gppalanpur.portal.config.DataVersioned;
 import in.gppalanpur.portal.dto.department.CreateDepartmentRequest;
 import in.gppalanpur.portal.dto.department.DepartmentImportResult;
 import in.gppalanpur.portal.dto.department.DepartmentResponse;
@@ -41,6 +43,7 @@ public class DepartmentController {
     
     @GetMapping
     @Operation(summary = "Get all departments")
+    @DataVersioned({"departments", "users"})
     public ResponseEntity<in.gppalanpur.portal.dto.ApiResponse<List<DepartmentResponse>>> getAllDepartments() {
         List<DepartmentResponse> departments = departmentService.getAllDepartments();
         
@@ -160,7 +163,7 @@ public class DepartmentController {
     
     @PostMapping("/import")
     @Operation(summary = "Import departments from CSV file")
-    public ResponseEntity<in.gppalanpur.portal.dto.ApiResponse<DepartmentImportResult>> importDepartments(@RequestBody MultipartFile file) {
+    public ResponseEntity<in.gppalanpur.portal.dto.ApiResponse<DepartmentImportResult>> importDepartments(@CsvUpload("departments") CsvUploadFile file) {
         DepartmentImportResult result = departmentService.importDepartments(file);
         
         in.gppalanpur.portal.dto.ApiResponse<DepartmentImportResult> response = in.gppalanpur.portal.dto.ApiResponse.<DepartmentImportResult>builder()
@@ -174,13 +177,7 @@ public class DepartmentController {
     
     @GetMapping("/export")
     @Operation(summary = "Export departments to CSV file")
-    public ResponseEntity<byte[]> exportDepartments() {
-        byte[] csvBytes = departmentService.exportDepartments();
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-        headers.setContentDispositionFormData("attachment", "departments.csv");
-        
-        return new ResponseEntity<>(csvBytes, headers, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> exportDepartments(@RequestParam(defaultValue = "false") boolean gzip) {
+        return CsvDownload.of("departments.csv", gzip, departmentService::exportDepartments);
     }
 }
\ No newline at end of file
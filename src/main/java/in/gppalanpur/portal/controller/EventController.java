@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import in.gppalanpur.portal.config.DataVersioned;
 import in.gppalanpur.portal.dto.ApiResponse;
 import in.gppalanpur.portal.dto.PaginatedResponse;
 import in.gppalanpur.portal.dto.event.CreateEventRequest;
@@ -41,6 +42,7 @@ public class EventController {
     
     @GetMapping
     @Operation(summary = "Get all events")
+    @DataVersioned({"events", "users", "projects"})
     public ResponseEntity<ApiResponse<List<EventResponse>>> getAllEvents(
             @PageableDefault(size = 10) Pageable pageable) {
         
@@ -1,5 +1,7 @@
 package in.gppalanpur.portal.controller;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -17,16 +19,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import in.gppalanpur.portal.config.CsvUpload;
+import in.gppalanpur.portal.config.CsvUploadFile;
 import in.gppalanpur.portal.dto.ApiResponse;
+import in.gppalanpur.portal.dto.BatchDeletionJobResponse;
 import in.gppalanpur.portal.dto.PaginatedResponse;
 import in.gppalanpur.portal.dto.feedback.FeedbackAnalysisResult;
 import in.gppalanpur.portal.dto.feedback.FeedbackBatchResponse;
 import in.gppalanpur.portal.dto.feedback.FeedbackImportResult;
 import in.gppalanpur.portal.dto.feedback.FeedbackResponse;
+import in.gppalanpur.portal.service.BatchDeletionJobService;
 import in.gppalanpur.portal.service.FeedbackService;
 import lombok.RequiredArgsConstructor;
 
@@ -37,6 +43,7 @@ import lombok.RequiredArgsConstructor;
 public class FeedbackController {
     
     private final FeedbackService feedbackService;
+    private final BatchDeletionJobService batchDeletionJobService;
     
     @GetMapping
     @Operation(summary = "Get all feedback")
@@ -46,9 +53,13 @@ public class FeedbackController {
             @RequestParam(required = false) String term,
             @RequestParam(required = false) String branch,
             @RequestParam(required = false) Integer semester,
+            @RequestParam(required = false) String subjectCode,
+            @RequestParam(required = false) String facultyName,
+            @RequestParam(required = false) String batchId,
             Pageable pageable) {
         
-        Page<FeedbackResponse> page = feedbackService.getAllFeedback(year, term, branch, semester, pageable);
+        Page<FeedbackResponse> page = feedbackService.getAllFeedback(year, term, branch, semester,
+                subjectCode, facultyName, batchId, pageable);
         
         PaginatedResponse<FeedbackResponse> paginatedResponse = PaginatedResponse.<FeedbackResponse>builder()
                 .page(page.getNumber() + 1)
@@ -67,6 +78,27 @@ public class FeedbackController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/stream")
+    @Operation(summary = "Stream feedback matching the filters as newline-delimited JSON")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
+    public ResponseEntity<StreamingResponseBody> streamFeedback(
+            @RequestParam(required = false) String year,
+            @RequestParam(required = false) String term,
+            @RequestParam(required = false) String branch,
+            @RequestParam(required = false) Integer semester,
+            @RequestParam(required = false) String subjectCode,
+            @RequestParam(required = false) String facultyName,
+            @RequestParam(required = false) String batchId) {
+        
+        StreamingResponseBody body = outputStream -> feedbackService.streamFeedback(year, term, branch, semester,
+                subjectCode, facultyName, batchId, outputStream);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Get feedback by ID")
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
@@ -86,31 +118,26 @@ public class FeedbackController {
     @Operation(summary = "Import feedback from CSV")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<FeedbackImportResult>> importFeedback(
-            @RequestParam("file") MultipartFile file,
-            @RequestParam("userId") Long userId) {
+            @CsvUpload("feedback") CsvUploadFile file,
+            @RequestParam("userId") Long userId,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
         
-        FeedbackImportResult result = feedbackService.importFeedback(file, userId);
+        FeedbackImportResult result = feedbackService.importFeedback(file, userId, dryRun);
         
         ApiResponse<FeedbackImportResult> response = ApiResponse.<FeedbackImportResult>builder()
                 .status("success")
-                .message("Feedback imported successfully")
+                .message(dryRun ? "Feedback file validated" : "Feedback imported successfully")
                 .data(Map.of("result", result))
                 .build();
         
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(dryRun ? HttpStatus.OK : HttpStatus.CREATED).body(response);
     }
     
     @GetMapping("/export")
     @Operation(summary = "Export feedback to CSV")
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
-    public ResponseEntity<byte[]> exportFeedback() {
-        byte[] csvBytes = feedbackService.exportFeedback();
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.setContentDispositionFormData("attachment", "feedback_export.csv");
-        
-        return new ResponseEntity<>(csvBytes, headers, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> exportFeedback(@RequestParam(defaultValue = "false") boolean gzip) {
+        return CsvDownload.of("feedback_export.csv", gzip, feedbackService::exportFeedback);
     }
     
     @GetMapping("/sample-csv")
@@ -148,37 +175,37 @@ public class FeedbackController {
     @GetMapping("/report/pdf")
     @Operation(summary = "Generate PDF report")
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
-    public ResponseEntity<byte[]> generatePdfReport(
+    public ResponseEntity<StreamingResponseBody> generatePdfReport(
             @RequestParam(required = false) String year,
             @RequestParam(required = false) String term,
             @RequestParam(required = false) String branch,
-            @RequestParam(required = false) Integer semester) {
+            @RequestParam(required = false) Integer semester) throws IOException {
         
-        byte[] pdfBytes = feedbackService.generatePdfReport(year, term, branch, semester);
+        Path report = feedbackService.getPdfReportFile(year, term, branch, semester);
         
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "feedback_report.pdf");
         
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return FileDownload.of(report, headers);
     }
     
     @GetMapping("/report/excel")
     @Operation(summary = "Generate Excel report")
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
-    public ResponseEntity<byte[]> generateExcelReport(
+    public ResponseEntity<StreamingResponseBody> generateExcelReport(
             @RequestParam(required = false) String year,
             @RequestParam(required = false) String term,
             @RequestParam(required = false) String branch,
-            @RequestParam(required = false) Integer semester) {
+            @RequestParam(required = false) Integer semester) throws IOException {
         
-        byte[] excelBytes = feedbackService.generateExcelReport(year, term, branch, semester);
+        Path report = feedbackService.getExcelReportFile(year, term, branch, semester);
         
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
         headers.setContentDispositionFormData("attachment", "feedback_report.xlsx");
         
-        return new ResponseEntity<>(excelBytes, headers, HttpStatus.OK);
+        return FileDownload.of(report, headers);
     }
     
     @GetMapping("/batches")
@@ -197,15 +224,31 @@ public class FeedbackController {
     }
     
     @DeleteMapping("/batches/{batchId}")
-    @Operation(summary = "Delete feedback by batch ID")
+    @Operation(summary = "Delete feedback by batch ID; large batches are deleted in the background")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BatchDeletionJobResponse>> deleteFeedbackByBatch(@PathVariable String batchId) {
+        BatchDeletionJobResponse job = feedbackService.deleteFeedbackByBatch(batchId);
+        boolean completed = "COMPLETED".equals(job.getStatus());
+        
+        ApiResponse<BatchDeletionJobResponse> response = ApiResponse.<BatchDeletionJobResponse>builder()
+                .status("success")
+                .message(completed ? "Feedback batch deleted successfully" : "Feedback batch deletion started")
+                .data(Map.of("job", job))
+                .build();
+        
+        return ResponseEntity.status(completed ? HttpStatus.OK : HttpStatus.ACCEPTED).body(response);
+    }
+    
+    @GetMapping("/batches/jobs/{jobId}")
+    @Operation(summary = "Get the progress of a feedback batch deletion")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Integer>> deleteFeedbackByBatch(@PathVariable String batchId) {
-        int count = feedbackService.deleteFeedbackByBatch(batchId);
+    public ResponseEntity<ApiResponse<BatchDeletionJobResponse>> getBatchDeletionJob(@PathVariable String jobId) {
+        BatchDeletionJobResponse job = batchDeletionJobService.getJob(jobId);
         
-        ApiResponse<Integer> response = ApiResponse.<Integer>builder()
+        ApiResponse<BatchDeletionJobResponse> response = ApiResponse.<BatchDeletionJobResponse>builder()
                 .status("success")
-                .message("Feedback batch deleted successfully")
-                .data(Map.of("count", count))
+                .message("Batch deletion job retrieved successfully")
+                .data(Map.of("job", job))
                 .build();
         
         return ResponseEntity.ok(response);
@@ -0,0 +1,66 @@
+package in.gppalanpur.portal.controller;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import in.gppalanpur.portal.dto.ApiResponse;
+import in.gppalanpur.portal.entity.StoredFile;
+import in.gppalanpur.portal.service.FileStorageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/files")
+@PreAuthorize("hasRole('ROLE_admin')")
+@RequiredArgsConstructor
+@Tag(name = "Files", description = "Stored uploads and generated files")
+public class FileController {
+
+    private final FileStorageService fileStorageService;
+
+    @GetMapping("/{sha256}/info")
+    @Operation(summary = "Get the metadata of a stored file")
+    public ResponseEntity<ApiResponse<StoredFile>> getFileInfo(@PathVariable String sha256) {
+        StoredFile file = fileStorageService.getFile(sha256);
+
+        ApiResponse<StoredFile> response = ApiResponse.<StoredFile>builder()
+                .status("success")
+                .message("File retrieved successfully")
+                .data(Map.of("file", file))
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{sha256}")
+    @Operation(summary = "Download a stored file; supports Range and If-None-Match")
+    public ResponseEntity<StreamingResponseBody> downloadFile(
+            @PathVariable String sha256,
+            @RequestHeader HttpHeaders requestHeaders) throws IOException {
+
+        StoredFile file = fileStorageService.getFile(sha256);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(file.getContentType() != null
+                ? MediaType.parseMediaType(file.getContentType()) : MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment",
+                file.getOriginalName() != null ? file.getOriginalName() : file.getSha256());
+        // Content at an address never changes
+        headers.setCacheControl("private, max-age=31536000, immutable");
+
+        return FileDownload.of(fileStorageService.getPath(file.getSha256()), file.getSha256(), requestHeaders,
+                headers);
+    }
+}
@@ -0,0 +1,123 @@
+package in.gppalanpur.portal.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Builds responses that stream a file from disk with FileChannel.transferTo.
+ *
+ * A single byte range (Range: bytes=...) is answered with 206 and just that
+ * region, so interrupted downloads can resume; multiple ranges get the whole
+ * file. With an ETag, If-None-Match answers 304 and If-Range guards resumes
+ * against a changed file.
+ */
+final class FileDownload {
+
+    private FileDownload() {
+    }
+
+    /**
+     * Stream a whole file. The channel is opened up front so the file stays
+     * readable even if it is evicted or deleted before the body is written.
+     */
+    static ResponseEntity<StreamingResponseBody> of(Path file, HttpHeaders headers) throws IOException {
+        return of(file, null, new HttpHeaders(), headers);
+    }
+
+    /**
+     * Stream a file, or the part of it asked for by the request headers.
+     *
+     * @param file File to send
+     * @param etag Entity tag without quotes, e.g. a content hash; null if none
+     * @param requestHeaders Headers of the request
+     * @param headers Response headers such as Content-Type and Content-Disposition
+     */
+    static ResponseEntity<StreamingResponseBody> of(Path file, String etag, HttpHeaders requestHeaders,
+                                                    HttpHeaders headers) throws IOException {
+        String quotedEtag = etag != null ? "\"" + etag + "\"" : null;
+        if (quotedEtag != null) {
+            headers.setETag(quotedEtag);
+            if (matchesAny(requestHeaders.getIfNoneMatch(), quotedEtag)) {
+                HttpHeaders notModified = new HttpHeaders();
+                notModified.setETag(quotedEtag);
+                return new ResponseEntity<>(notModified, HttpStatus.NOT_MODIFIED);
+            }
+        }
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        long size = channel.size();
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long start = 0;
+        long end = size - 1;
+        HttpStatus status = HttpStatus.OK;
+        List<HttpRange> ranges = parseRanges(requestHeaders);
+        if (ranges.size() == 1 && ifRangeMatches(requestHeaders.getFirst(HttpHeaders.IF_RANGE), quotedEtag)) {
+            HttpRange range = ranges.get(0);
+            try {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+            } catch (IllegalArgumentException e) {
+                channel.close();
+                HttpHeaders unsatisfiable = new HttpHeaders();
+                unsatisfiable.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return new ResponseEntity<>(unsatisfiable, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long first = start;
+        long length = end - start + 1;
+        headers.setContentLength(length);
+
+        StreamingResponseBody body = outputStream -> {
+            try (channel) {
+                WritableByteChannel target = Channels.newChannel(outputStream);
+                long sent = 0;
+                while (sent < length) {
+                    sent += channel.transferTo(first + sent, length - sent, target);
+                }
+            }
+        };
+
+        return new ResponseEntity<>(body, headers, status);
+    }
+
+    private static List<HttpRange> parseRanges(HttpHeaders requestHeaders) {
+        try {
+            return requestHeaders.getRange();
+        } catch (IllegalArgumentException e) {
+            // A malformed Range header is ignored and the whole file sent
+            return List.of();
+        }
+    }
+
+    /**
+     * If-Range holding a date, or an ETag other than the file's, means the
+     * client's partial copy may be stale, so it gets the whole file again.
+     */
+    private static boolean ifRangeMatches(String ifRange, String quotedEtag) {
+        return ifRange == null || ifRange.equals(quotedEtag);
+    }
+
+    private static boolean matchesAny(List<String> candidates, String quotedEtag) {
+        for (String candidate : candidates) {
+            if ("*".equals(candidate) || candidate.equals(quotedEtag) || candidate.equals("W/" + quotedEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
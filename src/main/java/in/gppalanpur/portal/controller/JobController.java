@@ -0,0 +1,144 @@
+package in.gppalanpur.portal.controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import in.gppalanpur.portal.dto.ApiResponse;
+import in.gppalanpur.portal.dto.job.ReportJobRequest;
+import in.gppalanpur.portal.dto.job.ReportJobResponse;
+import in.gppalanpur.portal.security.UserDetailsImpl;
+import in.gppalanpur.portal.service.ReportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Jobs", description = "Background report and export jobs")
+public class JobController {
+
+    private final ReportJobService reportJobService;
+
+    @GetMapping("/types")
+    @Operation(summary = "Get the job types and their parameters")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<Map<String, List<String>>>> getTypes() {
+        ApiResponse<Map<String, List<String>>> response = ApiResponse.<Map<String, List<String>>>builder()
+                .status("success")
+                .message("Job types fetched successfully")
+                .data(Map.of("types", reportJobService.getTypes()))
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping
+    @Operation(summary = "Queue a report or export job")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitJob(
+            @Valid @RequestBody ReportJobRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        ReportJobResponse job = reportJobService.submit(request, userDetails.getId());
+
+        ApiResponse<ReportJobResponse> response = ApiResponse.<ReportJobResponse>builder()
+                .status("success")
+                .message("Job queued")
+                .data(Map.of("job", job))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get my recent jobs")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<ReportJobResponse>>> getJobs(
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        List<ReportJobResponse> jobs = reportJobService.getJobs(userDetails.getId());
+
+        ApiResponse<List<ReportJobResponse>> response = ApiResponse.<List<ReportJobResponse>>builder()
+                .status("success")
+                .message("Jobs fetched successfully")
+                .data(Map.of("jobs", jobs))
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get the status and progress of a job")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        ReportJobResponse job = reportJobService.getJob(jobId, userDetails.getId());
+
+        ApiResponse<ReportJobResponse> response = ApiResponse.<ReportJobResponse>builder()
+                .status("success")
+                .message("Job retrieved successfully")
+                .data(Map.of("job", job))
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    @Operation(summary = "Cancel a queued or running job")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> cancelJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        ReportJobResponse job = reportJobService.cancel(jobId, userDetails.getId());
+
+        ApiResponse<ReportJobResponse> response = ApiResponse.<ReportJobResponse>builder()
+                .status("success")
+                .message("Job cancellation requested")
+                .data(Map.of("job", job))
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{jobId}/result")
+    @Operation(summary = "Download the result of a completed job; supports Range and If-None-Match")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> downloadResult(
+            @PathVariable String jobId,
+            @RequestHeader HttpHeaders requestHeaders,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) throws IOException {
+
+        Path file = reportJobService.getResultFile(jobId, userDetails.getId());
+        ReportJobResponse job = reportJobService.getJob(jobId, userDetails.getId());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaTypeFactory.getMediaType(job.getFileName())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM));
+        headers.setContentDispositionFormData("attachment", job.getFileName());
+
+        return FileDownload.of(file, job.getResultSha256(), requestHeaders, headers);
+    }
+}
@@ -6,9 +6,7 @@ import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -21,8 +19,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import in.gppalanpur.portal.config.CsvUpload;
+import in.gppalanpur.portal.config.CsvUploadFile;
+import in.gppalanpur.portal.config.DataVersioned;
 import in.gppalanpur.portal.dto.ApiResponse;
 import in.gppalanpur.portal.dto.PaginatedResponse;
 import in.gppalanpur.portal.dto.location.CreateLocationBatchRequest;
@@ -294,6 +295,7 @@ public class LocationController {
     @GetMapping("/statistics")
     @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal')")
     @Operation(summary = "Get location statistics")
+    @DataVersioned({"locations", "departments"})
     public ResponseEntity<ApiResponse<Map<String, Object>>> getLocationStatistics() {
         Map<String, Object> statistics = locationService.getLocationStatistics();
         
@@ -310,7 +312,7 @@ public class LocationController {
     @PreAuthorize("hasRole('ROLE_admin')")
     @Operation(summary = "Import locations from CSV")
     public ResponseEntity<ApiResponse<LocationImportResult>> importLocations(
-            @RequestParam("file") MultipartFile file,
+            @CsvUpload("locations") CsvUploadFile file,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
         
         LocationImportResult result = locationService.importLocationsFromCsv(file, userDetails.getId());
@@ -326,15 +328,8 @@ public class LocationController {
     
     @GetMapping("/export")
     @Operation(summary = "Export locations to CSV")
-    public ResponseEntity<byte[]> exportLocations() {
-        byte[] csvContent = locationService.exportLocationsToCsv();
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.setContentDispositionFormData("attachment", "locations.csv");
-        headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
-        
-        return new ResponseEntity<>(csvContent, headers, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> exportLocations(@RequestParam(defaultValue = "false") boolean gzip) {
+        return CsvDownload.of("locations.csv", gzip, locationService::exportLocationsToCsv);
     }
     
     @PostMapping("/batch")
@@ -6,9 +6,7 @@ import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -21,8 +19,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import in.gppalanpur.portal.config.CsvUpload;
+import in.gppalanpur.portal.config.CsvUploadFile;
+import in.gppalanpur.portal.config.DataVersioned;
 import in.gppalanpur.portal.dto.ApiResponse;
 import in.gppalanpur.portal.dto.PaginatedResponse;
 import in.gppalanpur.portal.dto.project.CreateProjectRequest;
@@ -239,6 +240,7 @@ public class ProjectController {
     
     @GetMapping("/statistics")
     @Operation(summary = "Get project statistics")
+    @DataVersioned({"projects", "departments", "events"})
     public ResponseEntity<ApiResponse<Map<String, Object>>> getProjectStatistics() {
         Map<String, Object> statistics = projectService.getProjectStatistics();
         
@@ -271,7 +273,7 @@ public class ProjectController {
     @PreAuthorize("hasRole('ROLE_admin')")
     @Operation(summary = "Import projects from CSV file")
     public ResponseEntity<ApiResponse<ProjectImportResult>> importProjects(
-            @RequestBody MultipartFile file) {
+            @CsvUpload("projects") CsvUploadFile file) {
         
         ProjectImportResult result = projectService.importProjects(file);
         
@@ -286,14 +288,8 @@ public class ProjectController {
     
     @GetMapping("/export")
     @Operation(summary = "Export projects to CSV")
-    public ResponseEntity<byte[]> exportProjects() {
-        byte[] csvFile = projectService.exportProjects();
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.setContentDispositionFormData("attachment", "projects.csv");
-        
-        return new ResponseEntity<>(csvFile, headers, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> exportProjects(@RequestParam(defaultValue = "false") boolean gzip) {
+        return CsvDownload.of("projects.csv", gzip, projectService::exportProjects);
     }
     
     @PostMapping("/{id}/department-evaluation")
@@ -0,0 +1,74 @@
+package in.gppalanpur.portal.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import in.gppalanpur.portal.dto.ApiResponse;
+import in.gppalanpur.portal.dto.PaginatedResponse;
+import in.gppalanpur.portal.dto.result.BacklogLedgerResponse;
+import in.gppalanpur.portal.service.ResultBacklogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/results/backlogs")
+@RequiredArgsConstructor
+@Tag(name = "Result Backlogs", description = "Backlog ledger API")
+public class ResultBacklogController {
+
+    private final ResultBacklogService resultBacklogService;
+    
+    @GetMapping("/student/{enrollmentNo}")
+    @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal', 'ROLE_faculty', 'ROLE_student')")
+    @Operation(summary = "Get a student's backlog ledger")
+    public ResponseEntity<ApiResponse<List<BacklogLedgerResponse>>> getStudentBacklogs(@PathVariable String enrollmentNo) {
+        List<BacklogLedgerResponse> backlogs = resultBacklogService.getStudentBacklogs(enrollmentNo);
+        
+        ApiResponse<List<BacklogLedgerResponse>> response = ApiResponse.<List<BacklogLedgerResponse>>builder()
+                .status("success")
+                .message("Student backlogs retrieved successfully")
+                .data(Map.of("backlogs", backlogs))
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/subject/{subjectCode}")
+    @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal', 'ROLE_faculty')")
+    @Operation(summary = "Get students with open (or cleared) backlogs in a subject")
+    public ResponseEntity<ApiResponse<List<BacklogLedgerResponse>>> getSubjectBacklogs(
+            @PathVariable String subjectCode,
+            @RequestParam(defaultValue = "true") boolean open,
+            @PageableDefault(size = 50) Pageable pageable) {
+        
+        Page<BacklogLedgerResponse> backlogsPage = resultBacklogService.getSubjectBacklogs(subjectCode, open, pageable);
+        
+        PaginatedResponse<BacklogLedgerResponse> paginatedResponse = PaginatedResponse.<BacklogLedgerResponse>builder()
+                .page(backlogsPage.getNumber() + 1)
+                .limit(backlogsPage.getSize())
+                .total(backlogsPage.getTotalElements())
+                .totalPages(backlogsPage.getTotalPages())
+                .build();
+        
+        ApiResponse<List<BacklogLedgerResponse>> response = ApiResponse.<List<BacklogLedgerResponse>>builder()
+                .status("success")
+                .message("Subject backlogs retrieved successfully")
+                .data(Map.of("backlogs", backlogsPage.getContent()))
+                .pagination(paginatedResponse)
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+}
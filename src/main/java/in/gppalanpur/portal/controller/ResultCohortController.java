@@ -0,0 +1,43 @@
+package in.gppalanpur.portal.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import in.gppalanpur.portal.dto.ApiResponse;
+import in.gppalanpur.portal.dto.result.CohortQueryRequest;
+import in.gppalanpur.portal.dto.result.CohortQueryResponse;
+import in.gppalanpur.portal.service.ResultCohortService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/results/cohort")
+@RequiredArgsConstructor
+@Tag(name = "Result Cohorts", description = "Ad-hoc cohort analytics API")
+public class ResultCohortController {
+
+    private final ResultCohortService resultCohortService;
+    
+    @PostMapping("/query")
+    @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal', 'ROLE_faculty')")
+    @Operation(summary = "Filter, group and aggregate results in memory")
+    public ResponseEntity<ApiResponse<CohortQueryResponse>> query(@RequestBody CohortQueryRequest request) {
+        
+        CohortQueryResponse cohort = resultCohortService.query(request);
+        
+        ApiResponse<CohortQueryResponse> response = ApiResponse.<CohortQueryResponse>builder()
+                .status("success")
+                .message("Cohort query executed successfully")
+                .data(Map.of("cohort", cohort))
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+}
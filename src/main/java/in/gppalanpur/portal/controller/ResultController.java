@@ -19,15 +19,23 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import in.gppalanpur.portal.config.CsvUpload;
+import in.gppalanpur.portal.config.CsvUploadFile;
 import in.gppalanpur.portal.dto.ApiResponse;
+import in.gppalanpur.portal.dto.BatchDeletionJobResponse;
 import in.gppalanpur.portal.dto.PaginatedResponse;
 import in.gppalanpur.portal.dto.result.ResultAnalysisResponse;
 import in.gppalanpur.portal.dto.result.ResultBatchResponse;
+import in.gppalanpur.portal.dto.result.ResultHistogramBucket;
 import in.gppalanpur.portal.dto.result.ResultImportResult;
 import in.gppalanpur.portal.dto.result.ResultResponse;
+import in.gppalanpur.portal.dto.result.SubjectGradeDistributionResponse;
+import in.gppalanpur.portal.exception.ResourceNotFoundException;
 import in.gppalanpur.portal.security.UserDetailsImpl;
+import in.gppalanpur.portal.service.BatchDeletionJobService;
+import in.gppalanpur.portal.service.ResultMarksheetService;
 import in.gppalanpur.portal.service.ResultService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -40,6 +48,8 @@ import lombok.RequiredArgsConstructor;
 public class ResultController {
 
     private final ResultService resultService;
+    private final ResultMarksheetService resultMarksheetService;
+    private final BatchDeletionJobService batchDeletionJobService;
     
     @GetMapping
     @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal', 'ROLE_faculty')")
@@ -66,6 +76,25 @@ public class ResultController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/stream")
+    @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal', 'ROLE_faculty')")
+    @Operation(summary = "Stream results matching the filters as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamResults(
+            @RequestParam(required = false) Integer examId,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String branchName,
+            @RequestParam(required = false) Integer semester,
+            @RequestParam(required = false) String uploadBatch) {
+        
+        StreamingResponseBody body = outputStream ->
+                resultService.streamResults(examId, academicYear, branchName, semester, uploadBatch, outputStream);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+    
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal', 'ROLE_faculty')")
     @Operation(summary = "Get result by ID")
@@ -111,10 +140,11 @@ public class ResultController {
     @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal')")
     @Operation(summary = "Import results from CSV")
     public ResponseEntity<ApiResponse<ResultImportResult>> importResults(
-            @RequestParam("file") MultipartFile file,
+            @CsvUpload("results") CsvUploadFile file,
+            @RequestParam(defaultValue = "false") boolean merge,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
         
-        ResultImportResult importResult = resultService.importResults(file, userDetails.getId());
+        ResultImportResult importResult = resultService.importResults(file, userDetails.getId(), merge);
         
         ApiResponse<ResultImportResult> response = ApiResponse.<ResultImportResult>builder()
                 .status("success")
@@ -128,15 +158,52 @@ public class ResultController {
     @GetMapping("/export")
     @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal')")
     @Operation(summary = "Export results to CSV")
-    public ResponseEntity<byte[]> exportResults() {
-        byte[] csvContent = resultService.exportResults();
+    public ResponseEntity<StreamingResponseBody> exportResults(@RequestParam(defaultValue = "false") boolean gzip) {
+        return CsvDownload.of("results.csv", gzip, resultService::exportResults);
+    }
+    
+    @GetMapping("/export/excel")
+    @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal')")
+    @Operation(summary = "Export results to an Excel workbook")
+    public ResponseEntity<StreamingResponseBody> exportResultsWorkbook(
+            @RequestParam(required = false) Integer examId,
+            @RequestParam(required = false) String branchName,
+            @RequestParam(required = false) Integer semester) {
+        
+        StreamingResponseBody body = outputStream ->
+                resultService.writeResultsWorkbook(examId, branchName, semester, outputStream);
         
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.setContentDispositionFormData("attachment", "results.csv");
+        headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+        headers.setContentDispositionFormData("attachment", "results.xlsx");
         headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
         
-        return new ResponseEntity<>(csvContent, headers, HttpStatus.OK);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+    
+    @GetMapping("/marksheets")
+    @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal')")
+    @Operation(summary = "Download the marksheet PDFs of a class as a ZIP archive")
+    public ResponseEntity<StreamingResponseBody> downloadMarksheets(
+            @RequestParam Integer examId,
+            @RequestParam String branchName,
+            @RequestParam Integer semester) {
+        
+        if (resultMarksheetService.countMarksheets(examId, branchName, semester) == 0) {
+            throw new ResourceNotFoundException("No results found for " + branchName + " semester " + semester
+                    + " in exam " + examId);
+        }
+        
+        StreamingResponseBody body = outputStream ->
+                resultMarksheetService.writeMarksheetZip(examId, branchName, semester, outputStream);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("attachment",
+                ("marksheets-" + examId + "-" + branchName + "-" + semester).replaceAll("[^A-Za-z0-9_-]", "_") + ".zip");
+        headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
+        
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
     
     @GetMapping("/analysis")
@@ -157,6 +224,45 @@ public class ResultController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/analysis/histogram")
+    @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal')")
+    @Operation(summary = "Get SPI or CPI histogram")
+    public ResponseEntity<ApiResponse<List<ResultHistogramBucket>>> getScoreHistogram(
+            @RequestParam(defaultValue = "SPI") String metric,
+            @RequestParam(required = false) Integer examId,
+            @RequestParam(required = false) String branchName,
+            @RequestParam(required = false) Integer semester) {
+        
+        List<ResultHistogramBucket> histogram = resultService.getScoreHistogram(metric, examId, branchName, semester);
+        
+        ApiResponse<List<ResultHistogramBucket>> response = ApiResponse.<List<ResultHistogramBucket>>builder()
+                .status("success")
+                .message("Score histogram retrieved successfully")
+                .data(Map.of("histogram", histogram))
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/analysis/grades")
+    @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal', 'ROLE_faculty')")
+    @Operation(summary = "Get subject-wise grade distribution")
+    public ResponseEntity<ApiResponse<List<SubjectGradeDistributionResponse>>> getSubjectGradeDistribution(
+            @RequestParam(required = false) Integer examId,
+            @RequestParam(required = false) String branchName,
+            @RequestParam(required = false) Integer semester) {
+        
+        List<SubjectGradeDistributionResponse> distribution = resultService.getSubjectGradeDistribution(examId, branchName, semester);
+        
+        ApiResponse<List<SubjectGradeDistributionResponse>> response = ApiResponse.<List<SubjectGradeDistributionResponse>>builder()
+                .status("success")
+                .message("Grade distribution retrieved successfully")
+                .data(Map.of("subjects", distribution))
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/batches")
     @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal')")
     @Operation(summary = "Get upload batches")
@@ -176,15 +282,30 @@ public class ResultController {
     
     @DeleteMapping("/batch/{batchId}")
     @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal')")
-    @Operation(summary = "Delete results by batch")
-    public ResponseEntity<ApiResponse<Map<String, Integer>>> deleteResultsByBatch(@PathVariable String batchId) {
-        int count = resultService.deleteResultsByBatch(batchId);
+    @Operation(summary = "Delete results by batch; large batches are deleted in the background")
+    public ResponseEntity<ApiResponse<BatchDeletionJobResponse>> deleteResultsByBatch(@PathVariable String batchId) {
+        BatchDeletionJobResponse job = resultService.deleteResultsByBatch(batchId);
+        boolean completed = "COMPLETED".equals(job.getStatus());
+        
+        ApiResponse<BatchDeletionJobResponse> response = ApiResponse.<BatchDeletionJobResponse>builder()
+                .status("success")
+                .message(completed ? "Results deleted successfully" : "Result deletion started")
+                .data(Map.of("job", job))
+                .build();
+        
+        return ResponseEntity.status(completed ? HttpStatus.OK : HttpStatus.ACCEPTED).body(response);
+    }
+    
+    @GetMapping("/batch/jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal')")
+    @Operation(summary = "Get the progress of a batch deletion")
+    public ResponseEntity<ApiResponse<BatchDeletionJobResponse>> getBatchDeletionJob(@PathVariable String jobId) {
+        BatchDeletionJobResponse job = batchDeletionJobService.getJob(jobId);
         
-        Map<String, Integer> countMap = Map.of("deletedCount", count);
-        ApiResponse<Map<String, Integer>> response = ApiResponse.<Map<String, Integer>>builder()
+        ApiResponse<BatchDeletionJobResponse> response = ApiResponse.<BatchDeletionJobResponse>builder()
                 .status("success")
-                .message("Results deleted successfully")
-                .data(Map.of("result", countMap))
+                .message("Batch deletion job retrieved successfully")
+                .data(Map.of("job", job))
                 .build();
         
         return ResponseEntity.ok(response);
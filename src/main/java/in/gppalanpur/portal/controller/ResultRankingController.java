@@ -0,0 +1,107 @@
+package in.gppalanpur.portal.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import in.gppalanpur.portal.dto.ApiResponse;
+import in.gppalanpur.portal.dto.result.ResultHistogramBucket;
+import in.gppalanpur.portal.dto.result.StudentRankResponse;
+import in.gppalanpur.portal.service.ResultRankingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/results/ranks")
+@RequiredArgsConstructor
+@Tag(name = "Result Ranks", description = "Rank and percentile API")
+public class ResultRankingController {
+
+    private final ResultRankingService resultRankingService;
+    
+    @GetMapping("/student")
+    @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal', 'ROLE_faculty', 'ROLE_student')")
+    @Operation(summary = "Get a student's rank and percentile in their class")
+    public ResponseEntity<ApiResponse<StudentRankResponse>> getStudentRank(
+            @RequestParam Integer examId,
+            @RequestParam String enrollmentNo) {
+        
+        StudentRankResponse rank = resultRankingService.getStudentRank(examId, enrollmentNo);
+        
+        ApiResponse<StudentRankResponse> response = ApiResponse.<StudentRankResponse>builder()
+                .status("success")
+                .message("Student rank retrieved successfully")
+                .data(Map.of("rank", rank))
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/top")
+    @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal', 'ROLE_faculty')")
+    @Operation(summary = "Get the top students of a class")
+    public ResponseEntity<ApiResponse<List<StudentRankResponse>>> getTopStudents(
+            @RequestParam Integer examId,
+            @RequestParam String branchName,
+            @RequestParam Integer semester,
+            @RequestParam(defaultValue = "SPI") String metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        List<StudentRankResponse> top = resultRankingService.getTopStudents(examId, branchName, semester, metric, limit);
+        
+        ApiResponse<List<StudentRankResponse>> response = ApiResponse.<List<StudentRankResponse>>builder()
+                .status("success")
+                .message("Top students retrieved successfully")
+                .data(Map.of("students", top))
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/bands")
+    @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal', 'ROLE_faculty')")
+    @Operation(summary = "Count students of a class per score band")
+    public ResponseEntity<ApiResponse<List<ResultHistogramBucket>>> getScoreBandCounts(
+            @RequestParam Integer examId,
+            @RequestParam String branchName,
+            @RequestParam Integer semester,
+            @RequestParam(defaultValue = "SPI") String metric,
+            @RequestParam(defaultValue = "0,5,6,7,8,9,10.01") List<Double> boundaries) {
+        
+        List<ResultHistogramBucket> bands = resultRankingService.getScoreBandCounts(examId, branchName, semester, metric, boundaries);
+        
+        ApiResponse<List<ResultHistogramBucket>> response = ApiResponse.<List<ResultHistogramBucket>>builder()
+                .status("success")
+                .message("Score bands retrieved successfully")
+                .data(Map.of("bands", bands))
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/class")
+    @PreAuthorize("hasAnyRole('ROLE_admin', 'ROLE_principal', 'ROLE_faculty')")
+    @Operation(summary = "Get ranks for a whole class")
+    public ResponseEntity<ApiResponse<List<StudentRankResponse>>> getClassRanks(
+            @RequestParam Integer examId,
+            @RequestParam String branchName,
+            @RequestParam Integer semester) {
+        
+        List<StudentRankResponse> ranks = resultRankingService.getClassRanks(examId, branchName, semester);
+        
+        ApiResponse<List<StudentRankResponse>> response = ApiResponse.<List<StudentRankResponse>>builder()
+                .status("success")
+                .message("Class ranks retrieved successfully")
+                .data(Map.of("ranks", ranks))
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,37 @@
+package in.gppalanpur.portal.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of an upload batch deletion. Small batches are deleted inline and
+ * come back COMPLETED; large ones come back QUEUED and can be polled by job ID.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(Include.NON_NULL)
+public class BatchDeletionJobResponse {
+    
+    private String jobId;
+    private String type;
+    private String batchId;
+    
+    /** QUEUED, RUNNING, COMPLETED or FAILED */
+    private String status;
+    
+    private Long totalRows;
+    private Long deletedRows;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
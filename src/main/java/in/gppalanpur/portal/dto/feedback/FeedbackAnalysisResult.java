@@ -31,6 +31,11 @@ public class FeedbackAnalysisResult {
     @Builder.Default
     private List<FeedbackAnalysisResponse> termYearScores = new ArrayList<>();
     
+    /** Subject name to faculty name to Pearson correlation of their Q1..Q12 mean score profiles */
     @Builder.Default
     private Map<String, Map<String, Double>> correlationMatrix = new HashMap<>();
+    
+    /** Question to question Pearson correlation across individual feedback rows */
+    @Builder.Default
+    private Map<String, Map<String, Double>> questionCorrelations = new HashMap<>();
 }
@@ -27,4 +27,9 @@ public class FeedbackImportResult {
     private List<String> errors = new ArrayList<>();
     
     private String batchId;
+    
+    /** True when the same file was imported before; the counts are those of that batch */
+    private boolean duplicate;
+    
+    private boolean dryRun;
 }
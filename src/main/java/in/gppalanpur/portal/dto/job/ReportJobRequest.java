@@ -0,0 +1,25 @@
+package in.gppalanpur.portal.dto.job;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRequest {
+    
+    /** One of the types listed by GET /jobs/types, e.g. FEEDBACK_PDF_REPORT */
+    @NotBlank
+    private String type;
+    
+    /** Filters of the report, e.g. year, term, branch, semester */
+    @Builder.Default
+    private Map<String, String> parameters = new HashMap<>();
+}
@@ -0,0 +1,44 @@
+package in.gppalanpur.portal.dto.job;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of a background report job. The result can be downloaded once the
+ * status is COMPLETED; bytesWritten shows how far a running job has got.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(Include.NON_NULL)
+public class ReportJobResponse {
+    
+    private String jobId;
+    private String type;
+    private Map<String, String> parameters;
+    
+    /** QUEUED, RUNNING, COMPLETED, FAILED or CANCELLED */
+    private String status;
+    
+    private Boolean cancelRequested;
+    private Integer attempts;
+    private Long bytesWritten;
+    private String fileName;
+    
+    /** Hash of the result in the file store, also its ETag */
+    private String resultSha256;
+    private Long resultSize;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,26 @@
+package in.gppalanpur.portal.dto.result;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacklogLedgerResponse {
+    
+    private String enrollmentNo;
+    private String subjectCode;
+    private String subjectName;
+    private Integer attempts;
+    private Integer failedAttempts;
+    private Boolean isOpen;
+    private Integer firstBacklogExamId;
+    private Integer lastExamId;
+    private Integer clearedExamId;
+    private LocalDateTime refreshedAt;
+}
@@ -0,0 +1,33 @@
+package in.gppalanpur.portal.dto.result;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(Include.NON_NULL)
+public class CohortGroupResponse {
+    
+    @Builder.Default
+    private Map<String, Object> group = new LinkedHashMap<>();
+    
+    private Long count;
+    private Double averageSpi;
+    private Double minSpi;
+    private Double maxSpi;
+    private Double averageCpi;
+    private Double minCpi;
+    private Double maxCpi;
+    private Double averageCredits;
+    private Long backlogCount;
+}
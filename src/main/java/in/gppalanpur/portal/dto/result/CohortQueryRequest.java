@@ -0,0 +1,45 @@
+package in.gppalanpur.portal.dto.result;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ad-hoc filter/group/aggregate query over the in-memory result store.
+ * All filters are optional; list filters match any of the given values.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CohortQueryRequest {
+    
+    /** RESULT (one row per student result) or SUBJECT (one row per subject grade) */
+    @Builder.Default
+    private String level = "RESULT";
+    
+    private List<String> branchNames;
+    private List<Integer> semesters;
+    private List<String> academicYears;
+    private List<Integer> examIds;
+    private List<String> results;
+    
+    private Double minSpi;
+    private Double maxSpi;
+    private Double minCpi;
+    private Double maxCpi;
+    private Integer minBacklogs;
+    private Integer maxBacklogs;
+    
+    // SUBJECT level only
+    private List<String> subjectCodes;
+    private List<String> grades;
+    
+    /** BRANCH, SEMESTER, ACADEMIC_YEAR, EXAM, RESULT, SPI_BUCKET, CPI_BUCKET, BACKLOGS, and at SUBJECT level SUBJECT, GRADE */
+    @Builder.Default
+    private List<String> groupBy = new ArrayList<>();
+}
@@ -0,0 +1,23 @@
+package in.gppalanpur.portal.dto.result;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CohortQueryResponse {
+    
+    @Builder.Default
+    private List<CohortGroupResponse> groups = new ArrayList<>();
+    
+    private Long scannedRows;
+    private Long matchedRows;
+    private Long elapsedMillis;
+}
@@ -16,4 +16,12 @@ public class ResultBatchResponse {
     private String batchId;
     private Integer count;
     private LocalDateTime uploadedAt;
+    private String fileName;
+    
+    /** Hash of the uploaded file, for download from the file store */
+    private String fileSha256;
+    private String uploadedBy;
+    private Integer errorCount;
+    private String status;
+    private LocalDateTime finishedAt;
 }
@@ -0,0 +1,18 @@
+package in.gppalanpur.portal.dto.result;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultHistogramBucket {
+    
+    private Integer bucket;
+    private Double lowerBound;
+    private Double upperBound;
+    private Integer count;
+}
@@ -23,8 +23,17 @@ public class ResultImportResult {
     @Builder.Default
     private Integer errorCount = 0;
     
+    @Builder.Default
+    private Integer updatedCount = 0;
+    
+    @Builder.Default
+    private Integer unchangedCount = 0;
+    
     @Builder.Default
     private List<String> errors = new ArrayList<>();
     
     private String batchId;
+    
+    /** True when the same file was imported before; the counts are those of that batch */
+    private boolean duplicate;
 }
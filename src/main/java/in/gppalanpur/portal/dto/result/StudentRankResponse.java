@@ -0,0 +1,31 @@
+package in.gppalanpur.portal.dto.result;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(Include.NON_NULL)
+public class StudentRankResponse {
+    
+    private Long resultId;
+    private String enrollmentNo;
+    private String name;
+    private Integer examId;
+    private String branchName;
+    private Integer semester;
+    private Integer classSize;
+    private Double spi;
+    private Integer spiRank;
+    private Double spiPercentile;
+    private Double cpi;
+    private Integer cpiRank;
+    private Double cpiPercentile;
+}
@@ -0,0 +1,25 @@
+package in.gppalanpur.portal.dto.result;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubjectGradeDistributionResponse {
+    
+    private String subjectCode;
+    private String subjectName;
+    
+    @Builder.Default
+    private Map<String, Integer> gradeCounts = new LinkedHashMap<>();
+    
+    private Integer totalCount;
+    private Integer backlogCount;
+}
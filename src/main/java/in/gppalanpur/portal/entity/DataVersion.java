@@ -0,0 +1,30 @@
+package in.gppalanpur.portal.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change counter of a table, shared by all nodes. A row appears with the first
+ * write to its table.
+ */
+@Entity
+@Table(name = "data_versions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataVersion {
+    
+    @Id
+    @Column(name = "table_name", length = 64)
+    private String tableName;
+    
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,35 @@
+package in.gppalanpur.portal.entity;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import in.gppalanpur.portal.service.DataVersionService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.Table;
+
+/**
+ * Bumps the data version of an entity's table whenever one is inserted,
+ * updated or deleted. Hibernate creates it through Spring while the entity
+ * manager factory is still being built, so the service, which needs a
+ * repository, is only looked up on the first write.
+ */
+public class DataVersionListener {
+
+    private final ObjectProvider<DataVersionService> dataVersionService;
+
+    public DataVersionListener(ObjectProvider<DataVersionService> dataVersionService) {
+        this.dataVersionService = dataVersionService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        Table table = Hibernate.getClass(entity).getAnnotation(Table.class);
+        if (table != null) {
+            dataVersionService.getObject().changed(table.name());
+        }
+    }
+}
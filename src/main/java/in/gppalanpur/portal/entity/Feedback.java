@@ -5,6 +5,8 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,6 +18,7 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -27,7 +30,14 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = {
+    @Index(name = "idx_feedback_term", columnList = "term_id, branch_id, semester, subject_id"),
+    @Index(name = "idx_feedback_branch", columnList = "branch_id, semester, term_id"),
+    @Index(name = "idx_feedback_semester", columnList = "semester, term_id"),
+    @Index(name = "idx_feedback_subject", columnList = "subject_id, term_id"),
+    @Index(name = "idx_feedback_faculty", columnList = "faculty_id, term_id"),
+    @Index(name = "idx_feedback_batch_id", columnList = "batch_id, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -39,14 +49,15 @@ public class Feedback {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @NotBlank
-    private String year;
-    
-    @NotBlank
-    private String term;
+    /** {@link FeedbackTerm} ID */
+    @NotNull
+    @Column(name = "term_id")
+    private Integer termId;
     
-    @NotBlank
-    private String branch;
+    /** {@link FeedbackBranch} ID */
+    @NotNull
+    @Column(name = "branch_id")
+    private Integer branchId;
     
     @NotNull
     private Integer semester;
@@ -57,17 +68,19 @@ public class Feedback {
     @NotNull
     private LocalDate termEnd;
     
-    @NotBlank
-    private String subjectCode;
-    
-    @NotBlank
-    private String subjectName;
+    /** {@link FeedbackSubject} ID */
+    @NotNull
+    @Column(name = "subject_id")
+    private Integer subjectId;
     
-    @NotBlank
-    private String facultyName;
+    /** {@link FeedbackFaculty} ID */
+    @NotNull
+    @Column(name = "faculty_id")
+    private Integer facultyId;
     
-    @Convert(converter = MapStringIntegerConverter.class)
-    @Column(columnDefinition = "text")
+    @Convert(converter = FeedbackRatingsConverter.class)
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(columnDefinition = "smallint[]")
     @Builder.Default
     private Map<String, Integer> ratings = new HashMap<>();
     
@@ -0,0 +1,34 @@
+package in.gppalanpur.portal.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Faculty dimension of feedback. The key also ignores dots and leading
+ * honorifics, so "Dr. A.B. Shah" and "A B Shah" count as one faculty member.
+ */
+@Entity
+@Table(name = "feedback_faculty")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackFaculty {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+    
+    @Column(name = "name_key", nullable = false, unique = true)
+    private String nameKey;
+    
+    private String name;
+}
@@ -0,0 +1,65 @@
+package in.gppalanpur.portal.entity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores feedback ratings keyed "Q1".."Q12" as a smallint[] where element i
+ * holds question i, so aggregates read native numbers instead of parsing JSON.
+ * Questions without a rating are stored as NULL elements.
+ */
+@Converter
+@Slf4j
+public class FeedbackRatingsConverter implements AttributeConverter<Map<String, Integer>, Short[]> {
+    
+    public static final int QUESTION_COUNT = 12;
+    
+    @Override
+    public Short[] convertToDatabaseColumn(Map<String, Integer> attribute) {
+        Short[] ratings = new Short[QUESTION_COUNT];
+        if (attribute == null) {
+            return ratings;
+        }
+        
+        attribute.forEach((question, rating) -> {
+            int index = questionIndex(question);
+            if (index < 0) {
+                log.warn("Ignoring rating for unknown question: {}", question);
+            } else if (rating != null) {
+                ratings[index] = rating.shortValue();
+            }
+        });
+        return ratings;
+    }
+    
+    @Override
+    public Map<String, Integer> convertToEntityAttribute(Short[] dbData) {
+        Map<String, Integer> ratings = new LinkedHashMap<>();
+        if (dbData == null) {
+            return ratings;
+        }
+        
+        for (int i = 0; i < dbData.length; i++) {
+            if (dbData[i] != null) {
+                ratings.put("Q" + (i + 1), dbData[i].intValue());
+            }
+        }
+        return ratings;
+    }
+    
+    private static int questionIndex(String question) {
+        if (question == null || question.length() < 2 || question.charAt(0) != 'Q') {
+            return -1;
+        }
+        try {
+            int number = Integer.parseInt(question.substring(1));
+            return number >= 1 && number <= QUESTION_COUNT ? number - 1 : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package in.gppalanpur.portal.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Subject dimension of feedback, keyed by the normalised subject code.
+ */
+@Entity
+@Table(name = "feedback_subjects")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackSubject {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+    
+    @Column(name = "name_key", nullable = false, unique = true)
+    private String nameKey;
+    
+    private String code;
+    
+    private String name;
+}
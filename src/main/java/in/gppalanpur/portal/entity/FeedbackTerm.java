@@ -0,0 +1,35 @@
+package in.gppalanpur.portal.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Academic year and term dimension of feedback, e.g. 2023-24 / ODD.
+ */
+@Entity
+@Table(name = "feedback_terms")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackTerm {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+    
+    @Column(name = "name_key", nullable = false, unique = true)
+    private String nameKey;
+    
+    private String year;
+    
+    private String term;
+}
@@ -1,48 +0,0 @@
-package in.gppalanpur.portal.entity;
-
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-import jakarta.persistence.AttributeConverter;
-import jakarta.persistence.Converter;
-import lombok.extern.slf4j.Slf4j;
-
-@Converter
-@Slf4j
-public class MapStringIntegerConverter implements AttributeConverter<Map<String, Integer>, String> {
-    
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-    
-    @Override
-    public String convertToDatabaseColumn(Map<String, Integer> attribute) {
-        if (attribute == null || attribute.isEmpty()) {
-            return "{}";
-        }
-        
-        try {
-            return objectMapper.writeValueAsString(attribute);
-        } catch (JsonProcessingException e) {
-            log.error("Error converting map to JSON: {}", e.getMessage());
-            return "{}";
-        }
-    }
-    
-    @Override
-    public Map<String, Integer> convertToEntityAttribute(String dbData) {
-        if (dbData == null || dbData.isEmpty() || "{}".equals(dbData)) {
-            return new HashMap<>();
-        }
-        
-        try {
-            return objectMapper.readValue(dbData, new TypeReference<Map<String, Integer>>() {});
-        } catch (IOException e) {
-            log.error("Error converting JSON to map: {}", e.getMessage());
-            return new HashMap<>();
-        }
-    }
-}
@@ -0,0 +1,97 @@
+package in.gppalanpur.portal.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A report or export requested for background generation. Queued rows are
+ * claimed by whichever app node has a free worker; the running node keeps
+ * heartbeat_at fresh so that jobs of a node that died can be requeued.
+ */
+@Entity
+@Table(name = "report_jobs", indexes = {
+    @Index(name = "idx_report_jobs_status", columnList = "status, id"),
+    @Index(name = "idx_report_jobs_requested_by", columnList = "requested_by_id, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJob {
+    
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "job_id", nullable = false, unique = true, length = 50)
+    private String jobId;
+    
+    @Column(nullable = false, length = 40)
+    private String type;
+    
+    /** Job parameters as a JSON object of strings */
+    @Column(columnDefinition = "text")
+    private String parameters;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "requested_by_id")
+    private User requestedBy;
+    
+    @Column(nullable = false, length = 20)
+    private String status;
+    
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+    
+    /** Node currently running the job */
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+    
+    @Column(nullable = false)
+    private int attempts;
+    
+    @Column(name = "bytes_written")
+    private Long bytesWritten;
+    
+    /** SHA-256 address of the result in the file store */
+    @Column(name = "result_file")
+    private String resultFile;
+    
+    @Column(name = "result_size")
+    private Long resultSize;
+    
+    @Column(columnDefinition = "text")
+    private String error;
+    
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
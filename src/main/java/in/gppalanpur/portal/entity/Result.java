@@ -53,7 +53,9 @@ public class Result {
     @Column(name = "exam_id")
     private Integer examId;
     
-    private String exam;
+    /** {@link ResultExam} ID of the exam name */
+    @Column(name = "exam_name_id")
+    private Integer examNameId;
     
     private LocalDate declarationDate;
     
@@ -71,14 +73,20 @@ public class Result {
     
     private Integer instCode;
     
-    private String instName;
+    /** {@link ResultInstitute} ID */
+    @Column(name = "institute_id")
+    private Integer instituteId;
     
-    private String courseName;
+    /** {@link ResultCourse} ID */
+    @Column(name = "course_id")
+    private Integer courseId;
     
     private Integer branchCode;
     
-    @NotBlank
-    private String branchName;
+    /** {@link ResultBranch} ID */
+    @NotNull
+    @Column(name = "branch_id")
+    private Integer branchId;
     
     @OneToMany(mappedBy = "result", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
@@ -109,6 +117,9 @@ public class Result {
     
     private String uploadBatch;
     
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
     @CreatedDate
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
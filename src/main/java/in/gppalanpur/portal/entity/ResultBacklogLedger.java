@@ -0,0 +1,60 @@
+package in.gppalanpur.portal.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per student and subject that was ever a backlog, summarising all
+ * attempts at that subject. The entry stays open until a later attempt passes.
+ */
+@Entity
+@Table(name = "result_backlog_ledger", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"enrollment_no", "subject_code"})
+}, indexes = {
+    @Index(name = "idx_result_backlog_ledger_subject", columnList = "subject_code, is_open")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultBacklogLedger {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "enrollment_no")
+    private String enrollmentNo;
+    
+    @Column(name = "subject_code")
+    private String subjectCode;
+    
+    private String subjectName;
+    
+    private Integer attempts;
+    
+    private Integer failedAttempts;
+    
+    @Column(name = "is_open")
+    private Boolean isOpen;
+    
+    private Integer firstBacklogExamId;
+    
+    private Integer lastExamId;
+    
+    private Integer clearedExamId;
+    
+    private LocalDateTime refreshedAt;
+}
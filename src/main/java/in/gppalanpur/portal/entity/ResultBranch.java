@@ -0,0 +1,34 @@
+package in.gppalanpur.portal.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Branch dimension of results. The key is the upper-cased, whitespace-collapsed
+ * name; the display name is the first spelling seen.
+ */
+@Entity
+@Table(name = "result_branches")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultBranch {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+    
+    @Column(name = "name_key", nullable = false, unique = true)
+    private String nameKey;
+    
+    private String name;
+}
@@ -0,0 +1,34 @@
+package in.gppalanpur.portal.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Exam name dimension of results, keyed like {@link ResultBranch}. The exam
+ * itself is identified by the exam ID of the result; this only holds its name.
+ */
+@Entity
+@Table(name = "result_exams")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultExam {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+    
+    @Column(name = "name_key", nullable = false, unique = true)
+    private String nameKey;
+    
+    private String name;
+}
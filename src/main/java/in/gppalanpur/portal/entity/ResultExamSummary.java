@@ -0,0 +1,54 @@
+package in.gppalanpur.portal.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pass counts and SPI totals per exam, branch and semester, refreshed by each result import.
+ */
+@Entity
+@Table(name = "result_exam_summaries", indexes = {
+    @Index(name = "idx_result_exam_summaries_exam", columnList = "exam_id, branch_id, semester")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultExamSummary {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "exam_id")
+    private Integer examId;
+    
+    private String academicYear;
+    
+    /** {@link ResultBranch} ID */
+    @Column(name = "branch_id")
+    private Integer branchId;
+    
+    private Integer semester;
+    
+    private Integer totalCount;
+    
+    private Integer passCount;
+    
+    private Double spiSum;
+    
+    private Integer spiCount;
+    
+    private LocalDateTime refreshedAt;
+}
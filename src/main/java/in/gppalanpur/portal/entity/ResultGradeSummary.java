@@ -0,0 +1,53 @@
+package in.gppalanpur.portal.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Grade distribution and backlog count per subject, per exam, branch and semester.
+ */
+@Entity
+@Table(name = "result_grade_summaries", indexes = {
+    @Index(name = "idx_result_grade_summaries_exam", columnList = "exam_id, branch_id, semester, subject_code")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultGradeSummary {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "exam_id")
+    private Integer examId;
+    
+    private String academicYear;
+    
+    /** {@link ResultBranch} ID */
+    @Column(name = "branch_id")
+    private Integer branchId;
+    
+    private Integer semester;
+    
+    @Column(name = "subject_code")
+    private String subjectCode;
+    
+    private String subjectName;
+    
+    private String grade;
+    
+    private Integer studentCount;
+    
+    private Integer backlogCount;
+}
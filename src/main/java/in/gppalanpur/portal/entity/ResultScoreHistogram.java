@@ -0,0 +1,48 @@
+package in.gppalanpur.portal.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of students per whole-point SPI or CPI bucket, per exam, branch and semester.
+ */
+@Entity
+@Table(name = "result_score_histograms", indexes = {
+    @Index(name = "idx_result_score_histograms_exam", columnList = "exam_id, metric, branch_id, semester")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultScoreHistogram {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "exam_id")
+    private Integer examId;
+    
+    private String academicYear;
+    
+    /** {@link ResultBranch} ID */
+    @Column(name = "branch_id")
+    private Integer branchId;
+    
+    private Integer semester;
+    
+    private String metric;      // SPI or CPI
+    
+    private Integer bucket;     // floor of the score, 0-10
+    
+    private Integer studentCount;
+}
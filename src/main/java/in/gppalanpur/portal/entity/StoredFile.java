@@ -0,0 +1,47 @@
+package in.gppalanpur.portal.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Metadata of a file in the content-addressed file store. There is one row per
+ * distinct content; the name and type are those of the first copy stored.
+ */
+@Entity
+@Table(name = "stored_files")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredFile {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    /** Hex SHA-256 of the content, which is also its address in the store */
+    @Column(nullable = false, unique = true, length = 64)
+    private String sha256;
+    
+    @Column(nullable = false)
+    private long size;
+    
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+    
+    @Column(name = "original_name")
+    private String originalName;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
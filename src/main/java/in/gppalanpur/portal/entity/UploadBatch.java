@@ -0,0 +1,78 @@
+package in.gppalanpur.portal.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per result or feedback import. Written by the importer and kept in
+ * step by deletes, so batch listings never have to aggregate the fact tables.
+ */
+@Entity
+@Table(name = "upload_batches", indexes = {
+    @Index(name = "idx_upload_batches_kind", columnList = "kind, status, started_at"),
+    @Index(name = "idx_upload_batches_content", columnList = "content_sha256")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadBatch {
+    
+    public static final String KIND_RESULTS = "RESULTS";
+    public static final String KIND_FEEDBACK = "FEEDBACK";
+    
+    public static final String STATUS_IMPORTING = "IMPORTING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_DELETED = "DELETED";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "batch_id", nullable = false, unique = true, length = 50)
+    private String batchId;
+    
+    @Column(nullable = false, length = 20)
+    private String kind;
+    
+    @Column(name = "file_name")
+    private String fileName;
+    
+    /** Address of the uploaded file in the file store */
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "uploaded_by_id")
+    private User uploadedBy;
+    
+    @Column(name = "row_count")
+    private Integer rowCount;
+    
+    @Column(name = "error_count")
+    private Integer errorCount;
+    
+    @Column(nullable = false, length = 20)
+    private String status;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
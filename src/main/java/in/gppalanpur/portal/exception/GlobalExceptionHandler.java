@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
@@ -47,6 +48,17 @@ public class GlobalExceptionHandler {
         return buildResponseEntity(new UnauthorizedException("Invalid credentials"), HttpStatus.UNAUTHORIZED, request);
     }
     
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<ApiError> handlePayloadTooLargeException(PayloadTooLargeException ex, WebRequest request) {
+        return buildResponseEntity(ex, HttpStatus.PAYLOAD_TOO_LARGE, request);
+    }
+    
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ApiError> handleMaxUploadSizeExceededException(
+            MaxUploadSizeExceededException ex, WebRequest request) {
+        return buildResponseEntity(ex, HttpStatus.PAYLOAD_TOO_LARGE, request);
+    }
+    
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiError> handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
         return buildResponseEntity(ex, HttpStatus.BAD_REQUEST, request);
@@ -0,0 +1,14 @@
+package in.gppalanpur.portal.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class PayloadTooLargeException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,56 @@
+package in.gppalanpur.portal.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Set-based deletion of upload batches, one bounded chunk per call so that
+ * each transaction holds its row locks only briefly.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BatchDeletionRepository {
+
+    // Subjects are removed before their results within the same statement; the foreign key is checked at its end
+    private static final String DELETE_RESULT_CHUNK =
+            "WITH doomed AS (" +
+            "SELECT id FROM results WHERE upload_batch = ? ORDER BY id LIMIT ? FOR UPDATE), " +
+            "subjects AS (" +
+            "DELETE FROM result_subjects s USING doomed d WHERE s.result_id = d.id) " +
+            "DELETE FROM results r USING doomed d WHERE r.id = d.id " +
+            "RETURNING r.id, r.enrollment_no, r.exam_id";
+
+    private static final String DELETE_FEEDBACK_CHUNK =
+            "DELETE FROM feedback WHERE id IN (" +
+            "SELECT id FROM feedback WHERE batch_id = ? ORDER BY id LIMIT ? FOR UPDATE)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Delete up to {@code limit} results of a batch together with their subjects.
+     *
+     * @param batchId Upload batch ID
+     * @param limit Maximum number of results to delete
+     * @return One (id, enrollmentNo, examId) row per deleted result; empty once the batch is gone
+     */
+    public List<Object[]> deleteResultChunk(String batchId, int limit) {
+        return jdbcTemplate.query(DELETE_RESULT_CHUNK,
+                (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getString(2), (Integer) rs.getObject(3) },
+                batchId, limit);
+    }
+
+    /**
+     * Delete up to {@code limit} feedback rows of a batch.
+     *
+     * @param batchId Upload batch ID
+     * @param limit Maximum number of rows to delete
+     * @return Number of rows deleted; zero once the batch is gone
+     */
+    public int deleteFeedbackChunk(String batchId, int limit) {
+        return jdbcTemplate.update(DELETE_FEEDBACK_CHUNK, batchId, limit);
+    }
+}
@@ -0,0 +1,18 @@
+package in.gppalanpur.portal.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import in.gppalanpur.portal.entity.DataVersion;
+
+@Repository
+public interface DataVersionRepository extends JpaRepository<DataVersion, String> {
+    
+    @Modifying
+    @Query(value = "INSERT INTO data_versions (table_name, version) VALUES (:tableName, 1) " +
+           "ON CONFLICT (table_name) DO UPDATE SET version = data_versions.version + 1", nativeQuery = true)
+    int increment(@Param("tableName") String tableName);
+}
@@ -2,12 +2,18 @@ package in.gppalanpur.portal.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import in.gppalanpur.portal.entity.Department;
 import in.gppalanpur.portal.entity.User;
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
@@ -23,4 +29,11 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     boolean existsByCode(String code);
     
     boolean existsByName(String name);
-}
\ No newline at end of file
+    
+    /**
+     * Stream every department for export, in ID order.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT d FROM Department d ORDER BY d.id")
+    Stream<Department> streamAllForExport();
+}
@@ -0,0 +1,76 @@
+package in.gppalanpur.portal.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads and extends the dimension tables of feedback (terms, branches, subjects,
+ * faculty) and results (branches, institutes, courses, exams). Every table has
+ * an integer id, a unique normalised name_key and one or two display columns.
+ * Table and column names are fixed by the caller.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DimensionRepository {
+
+    public static final String FEEDBACK_TERMS = "feedback_terms";
+    public static final String FEEDBACK_BRANCHES = "feedback_branches";
+    public static final String FEEDBACK_SUBJECTS = "feedback_subjects";
+    public static final String FEEDBACK_FACULTY = "feedback_faculty";
+    public static final String RESULT_BRANCHES = "result_branches";
+    public static final String RESULT_INSTITUTES = "result_institutes";
+    public static final String RESULT_COURSES = "result_courses";
+    public static final String RESULT_EXAMS = "result_exams";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Load a whole dimension table.
+     *
+     * @param table Dimension table
+     * @param columns Display columns
+     * @return One (id, name_key, columns...) row per entry
+     */
+    public List<Object[]> findAll(String table, String... columns) {
+        return jdbcTemplate.query("SELECT id, name_key, " + String.join(", ", columns) + " FROM " + table,
+                dimensionRow(columns.length));
+    }
+
+    /**
+     * Insert an entry unless its key already exists, then read back the stored row.
+     * Concurrent imports inserting the same key end up with the same id.
+     *
+     * @param table Dimension table
+     * @param key Normalised name key
+     * @param columns Display columns
+     * @param values Display values, used only when the key is new
+     * @return The (id, name_key, columns...) row stored for the key
+     */
+    public Object[] findOrCreate(String table, String key, String[] columns, String[] values) {
+        List<Object> args = new ArrayList<>(values.length + 1);
+        args.add(key);
+        args.addAll(List.of(values));
+        jdbcTemplate.update("INSERT INTO " + table + " (name_key, " + String.join(", ", columns) + ") " +
+                "VALUES (?" + ", ?".repeat(columns.length) + ") ON CONFLICT (name_key) DO NOTHING", args.toArray());
+
+        return jdbcTemplate.queryForObject("SELECT id, name_key, " + String.join(", ", columns) +
+                " FROM " + table + " WHERE name_key = ?", dimensionRow(columns.length), key);
+    }
+
+    private static RowMapper<Object[]> dimensionRow(int columnCount) {
+        return (rs, rowNum) -> {
+            Object[] row = new Object[columnCount + 2];
+            row[0] = rs.getInt(1);
+            for (int i = 1; i < row.length; i++) {
+                row[i] = rs.getString(i + 1);
+            }
+            return row;
+        };
+    }
+}
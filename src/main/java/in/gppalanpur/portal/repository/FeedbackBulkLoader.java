@@ -0,0 +1,78 @@
+package in.gppalanpur.portal.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Batched JDBC inserts for feedback imports.
+ *
+ * Feedback IDs are database identities, which stops Hibernate from batching
+ * inserts, so imported rows bypass the persistence context and are written as
+ * one JDBC batch per chunk. With {@code reWriteBatchedInserts} the driver folds
+ * each batch into multi-row INSERT statements.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FeedbackBulkLoader {
+
+    private static final String INSERT_FEEDBACK =
+            "INSERT INTO feedback (term_id, branch_id, semester, term_start, term_end, subject_id, faculty_id, " +
+            "ratings, uploaded_by_id, batch_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert one chunk of parsed rows. Must run inside the caller's transaction.
+     *
+     * @param rows Parsed feedback rows
+     * @param batchId Upload batch ID
+     * @param uploadedById ID of the uploading user
+     */
+    public void insert(List<Row> rows, String batchId, Long uploadedById) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_FEEDBACK, rows, rows.size(), (ps, row) -> {
+            ps.setInt(1, row.getTermId());
+            ps.setInt(2, row.getBranchId());
+            ps.setInt(3, row.getSemester());
+            ps.setDate(4, Date.valueOf(row.getTermStart()));
+            ps.setDate(5, Date.valueOf(row.getTermEnd()));
+            ps.setInt(6, row.getSubjectId());
+            ps.setInt(7, row.getFacultyId());
+            ps.setArray(8, ps.getConnection().createArrayOf("int2", row.getRatings()));
+            ps.setLong(9, uploadedById);
+            ps.setString(10, batchId);
+            ps.setTimestamp(11, now);
+            ps.setTimestamp(12, now);
+        });
+    }
+
+    /**
+     * One feedback CSV row with its names resolved to dimension IDs.
+     * Ratings hold question i at index i - 1.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        private Integer termId;
+        private Integer branchId;
+        private Integer semester;
+        private LocalDate termStart;
+        private LocalDate termEnd;
+        private Integer subjectId;
+        private Integer facultyId;
+        private Short[] ratings;
+    }
+}
@@ -1,139 +1,109 @@
 package in.gppalanpur.portal.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import in.gppalanpur.portal.entity.Feedback;
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+public interface FeedbackRepository extends JpaRepository<Feedback, Long>, JpaSpecificationExecutor<Feedback> {
     
     List<Feedback> findByBatchId(String batchId);
     
-    List<Feedback> findByYearAndTerm(String year, String term);
-    
-    List<Feedback> findByBranch(String branch);
+    long countByBatchId(String batchId);
     
     List<Feedback> findBySemester(Integer semester);
     
-    List<Feedback> findBySubjectCode(String subjectCode);
-    
-    List<Feedback> findByFacultyName(String facultyName);
-    
-    Page<Feedback> findByYearAndTermAndBranch(String year, String term, String branch, Pageable pageable);
-    
-    @Query(value = "SELECT DISTINCT f.batch_id, COUNT(f) as count, MAX(f.created_at) as latest_upload FROM feedback f GROUP BY f.batch_id ORDER BY latest_upload DESC", nativeQuery = true)
-    List<Object[]> findUploadBatches(Pageable pageable);
+    /**
+     * Digest of the set of batch IDs and the row count; changes whenever a batch or a row is added or removed.
+     */
+    @Query(value = "SELECT md5(COALESCE(string_agg(b.batch_id, ',' ORDER BY b.batch_id), '') || '#' || " +
+           "(SELECT COUNT(*) FROM feedback)) " +
+           "FROM (SELECT DISTINCT batch_id FROM feedback) b", nativeQuery = true)
+    String findDataVersion();
     
-    @Query(value = "SELECT f.subject_code, f.subject_name, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q1') AS double precision)) as q1, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q2') AS double precision)) as q2, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q3') AS double precision)) as q3, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q4') AS double precision)) as q4, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q5') AS double precision)) as q5, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q6') AS double precision)) as q6, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q7') AS double precision)) as q7, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q8') AS double precision)) as q8, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q9') AS double precision)) as q9, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q10') AS double precision)) as q10, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q11') AS double precision)) as q11, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q12') AS double precision)) as q12, " +
-           "COUNT(f) as count " +
-           "FROM feedback f " +
-           "WHERE (:year IS NULL OR f.year = :year) " +
-           "AND (:term IS NULL OR f.term = :term) " +
-           "AND (:branch IS NULL OR f.branch = :branch) " +
-           "AND (:semester IS NULL OR f.semester = :semester) " +
-           "GROUP BY f.subject_code, f.subject_name", nativeQuery = true)
-    List<Object[]> getSubjectAnalysis(@Param("year") String year, @Param("term") String term, 
-                                      @Param("branch") String branch, @Param("semester") Integer semester);
+    @Query("SELECT MIN(f.id), MAX(f.id) FROM Feedback f")
+    List<Object[]> findIdRange();
     
-    @Query(value = "SELECT f.faculty_name, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q1') AS double precision)) as q1, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q2') AS double precision)) as q2, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q3') AS double precision)) as q3, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q4') AS double precision)) as q4, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q5') AS double precision)) as q5, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q6') AS double precision)) as q6, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q7') AS double precision)) as q7, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q8') AS double precision)) as q8, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q9') AS double precision)) as q9, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q10') AS double precision)) as q10, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q11') AS double precision)) as q11, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q12') AS double precision)) as q12, " +
-           "COUNT(f) as count " +
+    /**
+     * Stream the twelve ratings of every feedback row in an ID range that matches the filters.
+     * Term IDs are ignored when allTerms is set; see {@code FeedbackDimensionDictionary.Scope}.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT f.ratings[1], f.ratings[2], f.ratings[3], f.ratings[4], f.ratings[5], f.ratings[6], f.ratings[7], f.ratings[8], f.ratings[9], f.ratings[10], f.ratings[11], f.ratings[12] " +
            "FROM feedback f " +
-           "WHERE (:year IS NULL OR f.year = :year) " +
-           "AND (:term IS NULL OR f.term = :term) " +
-           "AND (:branch IS NULL OR f.branch = :branch) " +
-           "AND (:semester IS NULL OR f.semester = :semester) " +
-           "GROUP BY f.faculty_name", nativeQuery = true)
-    List<Object[]> getFacultyAnalysis(@Param("year") String year, @Param("term") String term, 
-                                     @Param("branch") String branch, @Param("semester") Integer semester);
+           "WHERE f.id BETWEEN :fromId AND :toId " +
+           "AND (:allTerms OR f.term_id IN (:termIds)) " +
+           "AND (:branchId IS NULL OR f.branch_id = :branchId) " +
+           "AND (:semester IS NULL OR f.semester = :semester)", nativeQuery = true)
+    Stream<Object[]> streamRatings(@Param("allTerms") boolean allTerms, @Param("termIds") List<Integer> termIds,
+                                   @Param("branchId") Integer branchId, @Param("semester") Integer semester,
+                                   @Param("fromId") Long fromId, @Param("toId") Long toId);
     
-    @Query(value = "SELECT f.semester, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q1') AS double precision)) as q1, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q2') AS double precision)) as q2, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q3') AS double precision)) as q3, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q4') AS double precision)) as q4, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q5') AS double precision)) as q5, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q6') AS double precision)) as q6, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q7') AS double precision)) as q7, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q8') AS double precision)) as q8, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q9') AS double precision)) as q9, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q10') AS double precision)) as q10, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q11') AS double precision)) as q11, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q12') AS double precision)) as q12, " +
-           "COUNT(f) as count " +
-           "FROM feedback f " +
-           "WHERE (:year IS NULL OR f.year = :year) " +
-           "AND (:term IS NULL OR f.term = :term) " +
-           "AND (:branch IS NULL OR f.branch = :branch) " +
-           "GROUP BY f.semester", nativeQuery = true)
-    List<Object[]> getSemesterAnalysis(@Param("year") String year, @Param("term") String term, 
-                                      @Param("branch") String branch);
+    /**
+     * Subject, faculty, semester, branch and year-term analysis in one scan,
+     * grouped on dimension IDs; the caller resolves them to names.
+     * 
+     * Each grouping keeps the filters it always had: subject and faculty use all four,
+     * semester ignores the semester filter, branch uses only year and term, and
+     * year-term is unfiltered. Rows are tagged with scope flags that take part in
+     * the grouping sets, and HAVING keeps only the in-scope group of each set.
+     * 
+     * Columns: category, subject_id, faculty_id, semester, branch_id, term_id, q1..q12, count
+     */
+    @Query(value = "SELECT CASE WHEN GROUPING(m.subject_id) = 0 THEN 'subject' " +
+           "WHEN GROUPING(m.faculty_id) = 0 THEN 'faculty' " +
+           "WHEN GROUPING(m.semester) = 0 THEN 'semester' " +
+           "WHEN GROUPING(m.branch_id) = 0 THEN 'branch' " +
+           "ELSE 'yearTerm' END AS category, " +
+           "m.subject_id, m.faculty_id, m.semester, m.branch_id, m.term_id, " +
+           "AVG(CAST(m.ratings[1] AS double precision)) AS q1, " +
+           "AVG(CAST(m.ratings[2] AS double precision)) AS q2, " +
+           "AVG(CAST(m.ratings[3] AS double precision)) AS q3, " +
+           "AVG(CAST(m.ratings[4] AS double precision)) AS q4, " +
+           "AVG(CAST(m.ratings[5] AS double precision)) AS q5, " +
+           "AVG(CAST(m.ratings[6] AS double precision)) AS q6, " +
+           "AVG(CAST(m.ratings[7] AS double precision)) AS q7, " +
+           "AVG(CAST(m.ratings[8] AS double precision)) AS q8, " +
+           "AVG(CAST(m.ratings[9] AS double precision)) AS q9, " +
+           "AVG(CAST(m.ratings[10] AS double precision)) AS q10, " +
+           "AVG(CAST(m.ratings[11] AS double precision)) AS q11, " +
+           "AVG(CAST(m.ratings[12] AS double precision)) AS q12, " +
+           "COUNT(*) AS count " +
+           "FROM (SELECT f.subject_id, f.faculty_id, f.semester, f.branch_id, f.term_id, f.ratings, " +
+           "(:allTerms OR f.term_id IN (:termIds)) AS in_term, " +
+           "((:allTerms OR f.term_id IN (:termIds)) " +
+           "AND (:branchId IS NULL OR f.branch_id = :branchId)) AS in_branch, " +
+           "((:allTerms OR f.term_id IN (:termIds)) AND (:branchId IS NULL OR f.branch_id = :branchId) " +
+           "AND (:semester IS NULL OR f.semester = :semester)) AS in_semester " +
+           "FROM feedback f) m " +
+           "GROUP BY GROUPING SETS (" +
+           "(m.in_semester, m.subject_id), " +
+           "(m.in_semester, m.faculty_id), " +
+           "(m.in_branch, m.semester), " +
+           "(m.in_term, m.branch_id), " +
+           "(m.term_id)) " +
+           "HAVING CASE WHEN GROUPING(m.subject_id) = 0 OR GROUPING(m.faculty_id) = 0 THEN m.in_semester " +
+           "WHEN GROUPING(m.semester) = 0 THEN m.in_branch " +
+           "WHEN GROUPING(m.branch_id) = 0 THEN m.in_term " +
+           "ELSE true END", nativeQuery = true)
+    List<Object[]> getAnalysis(@Param("allTerms") boolean allTerms, @Param("termIds") List<Integer> termIds,
+                               @Param("branchId") Integer branchId, @Param("semester") Integer semester);
     
-    @Query(value = "SELECT f.branch, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q1') AS double precision)) as q1, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q2') AS double precision)) as q2, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q3') AS double precision)) as q3, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q4') AS double precision)) as q4, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q5') AS double precision)) as q5, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q6') AS double precision)) as q6, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q7') AS double precision)) as q7, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q8') AS double precision)) as q8, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q9') AS double precision)) as q9, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q10') AS double precision)) as q10, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q11') AS double precision)) as q11, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q12') AS double precision)) as q12, " +
-           "COUNT(f) as count " +
-           "FROM feedback f " +
-           "WHERE (:year IS NULL OR f.year = :year) " +
-           "AND (:term IS NULL OR f.term = :term) " +
-           "GROUP BY f.branch", nativeQuery = true)
-    List<Object[]> getBranchAnalysis(@Param("year") String year, @Param("term") String term);
-    
-    @Query(value = "SELECT CONCAT(f.year, '-', f.term) as yearTerm, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q1') AS double precision)) as q1, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q2') AS double precision)) as q2, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q3') AS double precision)) as q3, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q4') AS double precision)) as q4, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q5') AS double precision)) as q5, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q6') AS double precision)) as q6, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q7') AS double precision)) as q7, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q8') AS double precision)) as q8, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q9') AS double precision)) as q9, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q10') AS double precision)) as q10, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q11') AS double precision)) as q11, " +
-           "AVG(CAST((f.ratings\\:\\:json->>'Q12') AS double precision)) as q12, " +
-           "COUNT(f) as count " +
-           "FROM feedback f " +
-           "GROUP BY CONCAT(f.year, '-', f.term)", nativeQuery = true)
-    List<Object[]> getTermYearAnalysis();
+    /**
+     * Stream every feedback row for export, in ID order.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT f FROM Feedback f ORDER BY f.id")
+    Stream<Feedback> streamAllForExport();
 }
@@ -1,16 +1,22 @@
 package in.gppalanpur.portal.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import in.gppalanpur.portal.entity.Department;
 import in.gppalanpur.portal.entity.Event;
 import in.gppalanpur.portal.entity.Location;
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Repository for Location entity operations.
@@ -249,4 +255,11 @@ public interface LocationRepository extends JpaRepository<Location, Long>, JpaSp
      * @return Page of active locations for the event
      */
     Page<Location> findByEventAndIsActiveTrue(Event event, Pageable pageable);
+    
+    /**
+     * Stream every location with its department for export, in ID order.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT l FROM Location l LEFT JOIN FETCH l.department ORDER BY l.id")
+    Stream<Location> streamAllForExport();
 }
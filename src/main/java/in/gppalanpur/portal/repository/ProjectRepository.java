@@ -2,21 +2,26 @@ package in.gppalanpur.portal.repository;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import in.gppalanpur.portal.entity.Department;
 import in.gppalanpur.portal.entity.Event;
 import in.gppalanpur.portal.entity.Location;
-import in.gppalanpur.portal.entity.Project;
 import in.gppalanpur.portal.entity.Project.Status;
+import in.gppalanpur.portal.entity.Project;
 import in.gppalanpur.portal.entity.Team;
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project> {
@@ -79,4 +84,11 @@ public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpec
     
     @Query("SELECT COUNT(p) FROM Project p WHERE p.department = :department")
     Long countByDepartment(@Param("department") Department department);
-}
\ No newline at end of file
+    
+    /**
+     * Stream every project with its department for export, in ID order.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.department ORDER BY p.id")
+    Stream<Project> streamAllForExport();
+}
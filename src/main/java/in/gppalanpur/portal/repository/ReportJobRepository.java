@@ -0,0 +1,73 @@
+package in.gppalanpur.portal.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import in.gppalanpur.portal.entity.ReportJob;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+    
+    Optional<ReportJob> findByJobId(String jobId);
+    
+    List<ReportJob> findTop50ByRequestedByIdOrderByIdDesc(Long requestedById);
+    
+    List<ReportJob> findByFinishedAtBefore(LocalDateTime cutoff);
+    
+    /**
+     * Lock the oldest queued job for the current transaction. Rows locked by
+     * other nodes are skipped rather than waited for, so concurrent claimers
+     * each get a different job.
+     */
+    @Query(value = "SELECT * FROM report_jobs WHERE status = 'QUEUED' ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<ReportJob> lockNextQueued();
+    
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.heartbeatAt = :now, j.bytesWritten = :bytesWritten " +
+           "WHERE j.id = :id AND j.claimedBy = :node AND j.status = 'RUNNING'")
+    int heartbeat(@Param("id") Long id, @Param("node") String node, @Param("bytesWritten") long bytesWritten,
+                  @Param("now") LocalDateTime now);
+    
+    @Query("SELECT j.id FROM ReportJob j WHERE j.id IN :ids AND j.cancelRequested = true")
+    List<Long> findCancelRequested(@Param("ids") List<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :status, j.resultFile = :resultFile, j.resultSize = :resultSize, " +
+           "j.bytesWritten = :bytesWritten, j.error = :error, j.finishedAt = :now " +
+           "WHERE j.id = :id AND j.claimedBy = :node AND j.status = 'RUNNING'")
+    int finish(@Param("id") Long id, @Param("node") String node, @Param("status") String status,
+               @Param("resultFile") String resultFile, @Param("resultSize") Long resultSize,
+               @Param("bytesWritten") long bytesWritten, @Param("error") String error, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = 'CANCELLED', j.finishedAt = :now WHERE j.id = :id AND j.status = 'QUEUED'")
+    int cancelQueued(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.cancelRequested = true WHERE j.id = :id AND j.status = 'RUNNING'")
+    int requestCancel(@Param("id") Long id);
+    
+    /**
+     * Put back running jobs whose node stopped sending heartbeats. Jobs that
+     * already used all their attempts fail, and jobs being cancelled end cancelled.
+     */
+    @Modifying
+    @Query(value = "UPDATE report_jobs SET " +
+           "status = CASE WHEN cancel_requested THEN 'CANCELLED' " +
+           "WHEN attempts >= :maxAttempts THEN 'FAILED' ELSE 'QUEUED' END, " +
+           "error = CASE WHEN NOT cancel_requested AND attempts >= :maxAttempts " +
+           "THEN 'Worker stopped responding' ELSE error END, " +
+           "finished_at = CASE WHEN cancel_requested OR attempts >= :maxAttempts THEN CAST(:now AS timestamp) END, " +
+           "claimed_by = NULL " +
+           "WHERE status = 'RUNNING' AND heartbeat_at < :cutoff", nativeQuery = true)
+    int requeueStale(@Param("cutoff") LocalDateTime cutoff, @Param("maxAttempts") int maxAttempts,
+                     @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,50 @@
+package in.gppalanpur.portal.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import in.gppalanpur.portal.entity.ResultBacklogLedger;
+
+@Repository
+public interface ResultBacklogLedgerRepository extends JpaRepository<ResultBacklogLedger, Long> {
+    
+    List<ResultBacklogLedger> findByEnrollmentNoOrderBySubjectCode(String enrollmentNo);
+    
+    Page<ResultBacklogLedger> findBySubjectCodeAndIsOpen(String subjectCode, Boolean isOpen, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM ResultBacklogLedger l WHERE l.enrollmentNo IN :enrollmentNos")
+    int deleteByEnrollmentNos(@Param("enrollmentNos") Collection<String> enrollmentNos);
+    
+    /**
+     * Rebuild the ledger rows of the given students from all their attempts.
+     * Attempts are ordered by declaration date, then exam ID; the latest one decides whether the entry is open.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO result_backlog_ledger (enrollment_no, subject_code, subject_name, attempts, " +
+           "failed_attempts, is_open, first_backlog_exam_id, last_exam_id, cleared_exam_id, refreshed_at) " +
+           "SELECT a.enrollment_no, a.code, MAX(a.name), COUNT(*), COUNT(*) FILTER (WHERE a.backlog), " +
+           "bool_or(a.backlog AND a.latest = 1), " +
+           "MIN(a.exam_id) FILTER (WHERE a.backlog AND a.first_backlog = 1), " +
+           "MAX(a.exam_id) FILTER (WHERE a.latest = 1), " +
+           "MAX(a.exam_id) FILTER (WHERE a.latest = 1 AND NOT a.backlog), now() " +
+           "FROM (SELECT r.enrollment_no, s.code, s.name, r.exam_id, COALESCE(s.is_backlog, false) AS backlog, " +
+           "ROW_NUMBER() OVER (PARTITION BY r.enrollment_no, s.code " +
+           "ORDER BY r.declaration_date DESC NULLS LAST, r.exam_id DESC) AS latest, " +
+           "ROW_NUMBER() OVER (PARTITION BY r.enrollment_no, s.code, COALESCE(s.is_backlog, false) " +
+           "ORDER BY r.declaration_date NULLS FIRST, r.exam_id) AS first_backlog " +
+           "FROM results r JOIN result_subjects s ON s.result_id = r.id " +
+           "WHERE r.enrollment_no IN (:enrollmentNos) AND s.code IS NOT NULL) a " +
+           "GROUP BY a.enrollment_no, a.code " +
+           "HAVING bool_or(a.backlog)",
+           nativeQuery = true)
+    int insertForEnrollmentNos(@Param("enrollmentNos") Collection<String> enrollmentNos);
+}
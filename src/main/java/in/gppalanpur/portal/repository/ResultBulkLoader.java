@@ -0,0 +1,351 @@
+package in.gppalanpur.portal.repository;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import in.gppalanpur.portal.dto.result.ResultImportResult;
+import in.gppalanpur.portal.entity.Result;
+import in.gppalanpur.portal.entity.ResultSubject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk loader for result imports.
+ *
+ * Rows are streamed from the CSV into session-local staging tables through the
+ * PostgreSQL COPY protocol and then merged into {@code results} and
+ * {@code result_subjects} with a single set-based statement. Nothing is held in
+ * the persistence context, so the cost of an import is independent of the
+ * number of rows in the file.
+ *
+ * Each row carries a content hash so that a merge import can skip rows whose
+ * stored hash is unchanged and rewrite only new or revised results.
+ *
+ * Must be called inside a transaction: the staging tables are dropped on commit.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class ResultBulkLoader {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final String CREATE_STAGING_RESULTS =
+            "CREATE TEMP TABLE staging_results (" +
+            "row_no BIGINT NOT NULL, st_id VARCHAR(50), enrollment_no VARCHAR(50), extype VARCHAR(50), " +
+            "exam_id INTEGER, exam_name_id INTEGER, declaration_date DATE, academic_year VARCHAR(20), " +
+            "semester INTEGER, unit_no DOUBLE PRECISION, exam_number DOUBLE PRECISION, name VARCHAR(100), " +
+            "inst_code INTEGER, institute_id INTEGER, course_id INTEGER, branch_code INTEGER, " +
+            "branch_id INTEGER, total_credits DOUBLE PRECISION, earned_credits DOUBLE PRECISION, " +
+            "spi DOUBLE PRECISION, cpi DOUBLE PRECISION, cgpa DOUBLE PRECISION, result VARCHAR(20), " +
+            "trials INTEGER, content_hash VARCHAR(64)) ON COMMIT DROP";
+
+    private static final String CREATE_STAGING_SUBJECTS =
+            "CREATE TEMP TABLE staging_result_subjects (" +
+            "row_no BIGINT NOT NULL, code VARCHAR(20), name VARCHAR(100), credits DOUBLE PRECISION, " +
+            "grade VARCHAR(5), is_backlog BOOLEAN, theory_ese_grade VARCHAR(5), theory_pa_grade VARCHAR(5), " +
+            "theory_total_grade VARCHAR(5), practical_pa_grade VARCHAR(5), practical_viva_grade VARCHAR(5), " +
+            "practical_total_grade VARCHAR(5)) ON COMMIT DROP";
+
+    private static final String COPY_RESULTS =
+            "COPY staging_results (row_no, st_id, enrollment_no, extype, exam_id, exam_name_id, declaration_date, " +
+            "academic_year, semester, unit_no, exam_number, name, inst_code, institute_id, course_id, " +
+            "branch_code, branch_id, total_credits, earned_credits, spi, cpi, cgpa, result, trials, content_hash) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String COPY_SUBJECTS =
+            "COPY staging_result_subjects (row_no, code, name, credits, grade, is_backlog, theory_ese_grade, " +
+            "theory_pa_grade, theory_total_grade, practical_pa_grade, practical_viva_grade, practical_total_grade) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String REMOVE_DUPLICATE_ROWS =
+            "DELETE FROM staging_results a USING staging_results b " +
+            "WHERE a.enrollment_no = b.enrollment_no AND a.exam_id = b.exam_id AND a.row_no > b.row_no " +
+            "RETURNING a.row_no, a.enrollment_no, a.exam_id";
+
+    private static final String RESULT_COLUMNS =
+            "st_id, enrollment_no, extype, exam_id, exam_name_id, declaration_date, academic_year, " +
+            "semester, unit_no, exam_number, name, inst_code, institute_id, course_id, branch_code, branch_id, " +
+            "total_credits, earned_credits, spi, cpi, cgpa, result, trials, content_hash";
+
+    private static final String INSERT_NEW_RESULTS =
+            "inserted AS (" +
+            "INSERT INTO results (" + RESULT_COLUMNS + ", current_backlog, total_backlog, upload_batch, created_at, updated_at) " +
+            "SELECT " + RESULT_COLUMNS + ", 0, 0, ?, now(), now() " +
+            "FROM staging_results " +
+            "ON CONFLICT (enrollment_no, exam_id) DO NOTHING " +
+            "RETURNING id, enrollment_no, exam_id)";
+
+    private static final String INSERT_SUBJECTS =
+            "subjects AS (" +
+            "INSERT INTO result_subjects (result_id, code, name, credits, grade, is_backlog, theory_ese_grade, " +
+            "theory_pa_grade, theory_total_grade, practical_pa_grade, practical_viva_grade, practical_total_grade) " +
+            "SELECT w.id, s.code, s.name, s.credits, s.grade, s.is_backlog, s.theory_ese_grade, " +
+            "s.theory_pa_grade, s.theory_total_grade, s.practical_pa_grade, s.practical_viva_grade, s.practical_total_grade " +
+            "FROM written w JOIN staging_result_subjects s ON s.row_no = w.row_no " +
+            "RETURNING 1)";
+
+    private static final String INSERT_MERGE =
+            "WITH " + INSERT_NEW_RESULTS + ", " +
+            "written AS (SELECT i.id, r.row_no FROM inserted i " +
+            "JOIN staging_results r ON r.enrollment_no = i.enrollment_no AND r.exam_id = i.exam_id), " +
+            INSERT_SUBJECTS + " " +
+            "SELECT (SELECT count(*) FROM inserted), 0, (SELECT count(*) FROM subjects)";
+
+    // Rows whose content hash matches the stored one are left untouched; changed rows
+    // are rewritten in place and their subjects replaced. All CTEs share one snapshot,
+    // so the delete of old subjects never sees the ones inserted by this statement.
+    private static final String CHANGE_MERGE =
+            "WITH changed AS (" +
+            "UPDATE results r SET st_id = s.st_id, extype = s.extype, exam_name_id = s.exam_name_id, " +
+            "declaration_date = s.declaration_date, academic_year = s.academic_year, semester = s.semester, " +
+            "unit_no = s.unit_no, exam_number = s.exam_number, name = s.name, inst_code = s.inst_code, " +
+            "institute_id = s.institute_id, course_id = s.course_id, branch_code = s.branch_code, " +
+            "branch_id = s.branch_id, total_credits = s.total_credits, earned_credits = s.earned_credits, " +
+            "spi = s.spi, cpi = s.cpi, cgpa = s.cgpa, result = s.result, trials = s.trials, " +
+            "content_hash = s.content_hash, upload_batch = ?, updated_at = now() " +
+            "FROM staging_results s " +
+            "WHERE r.enrollment_no = s.enrollment_no AND r.exam_id = s.exam_id " +
+            "AND r.content_hash IS DISTINCT FROM s.content_hash " +
+            "RETURNING r.id, s.row_no), " +
+            "removed AS (DELETE FROM result_subjects rs USING changed c WHERE rs.result_id = c.id), " +
+            INSERT_NEW_RESULTS + ", " +
+            "written AS (SELECT id, row_no FROM changed UNION ALL " +
+            "SELECT i.id, r.row_no FROM inserted i " +
+            "JOIN staging_results r ON r.enrollment_no = i.enrollment_no AND r.exam_id = i.exam_id), " +
+            INSERT_SUBJECTS + " " +
+            "SELECT (SELECT count(*) FROM inserted), (SELECT count(*) FROM changed), (SELECT count(*) FROM subjects)";
+
+    private static final String FIND_CONFLICTS =
+            "SELECT s.row_no, s.enrollment_no, s.exam_id FROM staging_results s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM results r WHERE r.enrollment_no = s.enrollment_no " +
+            "AND r.exam_id = s.exam_id AND r.upload_batch = ?) ORDER BY s.row_no";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stream all records of the parser into the results tables.
+     *
+     * @param csvParser Parser positioned at the first data record
+     * @param batchId Upload batch ID stamped on every inserted result
+     * @param rowMapper Maps a record to a transient Result with its subjects; exceptions reject the row,
+     *                  as do results without an enrollment number or exam ID
+     * @param merge Whether existing (enrollment, exam) rows are updated when their content changed
+     *              instead of being rejected
+     * @param importResult Statistics and row errors are accumulated here
+     */
+    public void load(CSVParser csvParser, String batchId, Function<CSVRecord, Result> rowMapper,
+                     boolean merge, ResultImportResult importResult) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try {
+                copyAndMerge(connection, csvParser, batchId, rowMapper, merge, importResult);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+
+    private void copyAndMerge(Connection connection, CSVParser csvParser, String batchId,
+                              Function<CSVRecord, Result> rowMapper, boolean merge, ResultImportResult importResult)
+            throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_RESULTS);
+            statement.execute(CREATE_STAGING_SUBJECTS);
+        }
+
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        CopyManager copyManager = pgConnection.getCopyAPI();
+
+        // Only one COPY can be open per connection, so subjects are spooled to disk
+        // while the results COPY is in progress and loaded right after it.
+        Path subjectSpool = Files.createTempFile("result-subjects-", ".csv");
+        try {
+            long staged = 0;
+
+            try (CSVPrinter resultPrinter = new CSVPrinter(new BufferedWriter(new OutputStreamWriter(
+                         new PGCopyOutputStream(pgConnection, COPY_RESULTS, COPY_BUFFER_SIZE), StandardCharsets.UTF_8)),
+                         CSVFormat.POSTGRESQL_CSV);
+                 CSVPrinter subjectPrinter = new CSVPrinter(
+                         Files.newBufferedWriter(subjectSpool, StandardCharsets.UTF_8), CSVFormat.POSTGRESQL_CSV)) {
+
+                for (CSVRecord record : csvParser) {
+                    importResult.setTotalRecords(importResult.getTotalRecords() + 1);
+                    long rowNo = record.getRecordNumber();
+
+                    Result result;
+                    try {
+                        result = rowMapper.apply(record);
+                        // Staged rows are matched back to their subjects and conflicts on the
+                        // (enrollment, exam) key, which an equality join never finds for NULLs
+                        if (result.getEnrollmentNo() == null || result.getExamId() == null) {
+                            throw new IllegalArgumentException("Enrollment number and exam ID are required");
+                        }
+                    } catch (Exception e) {
+                        log.error("Error importing result: {}", e.getMessage());
+                        importResult.setErrorCount(importResult.getErrorCount() + 1);
+                        importResult.getErrors().add("Row " + rowNo + ": " + e.getMessage());
+                        continue;
+                    }
+
+                    printResult(resultPrinter, rowNo, result);
+                    for (ResultSubject subject : result.getSubjects()) {
+                        printSubject(subjectPrinter, rowNo, subject);
+                    }
+                    staged++;
+                }
+            }
+
+            try (BufferedReader subjectReader = Files.newBufferedReader(subjectSpool, StandardCharsets.UTF_8)) {
+                copyManager.copyIn(COPY_SUBJECTS, subjectReader);
+            }
+
+            long rejected = 0;
+            try (Statement statement = connection.createStatement();
+                 ResultSet duplicates = statement.executeQuery(REMOVE_DUPLICATE_ROWS)) {
+                while (duplicates.next()) {
+                    rejected++;
+                    importResult.getErrors().add("Row " + duplicates.getLong(1) + ": duplicate of an earlier row for enrollment "
+                            + duplicates.getString(2) + " and exam " + duplicates.getInt(3));
+                }
+            }
+
+            long[] counts = jdbcTemplate.queryForObject(merge ? CHANGE_MERGE : INSERT_MERGE,
+                    (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) },
+                    merge ? new Object[] { batchId, batchId } : new Object[] { batchId });
+            long inserted = counts[0];
+            long updated = counts[1];
+
+            if (merge) {
+                importResult.setUnchangedCount(importResult.getUnchangedCount() + (int) (staged - rejected - inserted - updated));
+            } else {
+                rejected += jdbcTemplate.query(FIND_CONFLICTS, rs -> {
+                    long count = 0;
+                    while (rs.next()) {
+                        count++;
+                        importResult.getErrors().add("Row " + rs.getLong(1) + ": result already exists for enrollment "
+                                + rs.getString(2) + " and exam " + rs.getInt(3));
+                    }
+                    return count;
+                }, batchId);
+            }
+
+            importResult.setSuccessCount(importResult.getSuccessCount() + (int) (inserted + updated));
+            importResult.setUpdatedCount(importResult.getUpdatedCount() + (int) updated);
+            importResult.setErrorCount(importResult.getErrorCount() + (int) rejected);
+            log.info("Bulk loaded batch {}: {} inserted, {} updated, {} subjects, {} rejected",
+                    batchId, inserted, updated, counts[2], rejected);
+        } finally {
+            Files.deleteIfExists(subjectSpool);
+        }
+    }
+
+    private void printResult(CSVPrinter printer, long rowNo, Result result) throws IOException {
+        printer.printRecord(
+                rowNo,
+                result.getStId(),
+                result.getEnrollmentNo(),
+                result.getExtype(),
+                result.getExamId(),
+                result.getExamNameId(),
+                result.getDeclarationDate(),
+                result.getAcademicYear(),
+                result.getSemester(),
+                result.getUnitNo(),
+                result.getExamNumber(),
+                result.getName(),
+                result.getInstCode(),
+                result.getInstituteId(),
+                result.getCourseId(),
+                result.getBranchCode(),
+                result.getBranchId(),
+                result.getTotalCredits(),
+                result.getEarnedCredits(),
+                result.getSpi(),
+                result.getCpi(),
+                result.getCgpa(),
+                result.getResult(),
+                result.getTrials(),
+                contentHash(result)
+        );
+    }
+
+    /**
+     * SHA-256 over every imported field of the result and its subjects, in file order.
+     * Batch and audit columns are excluded so an identical re-declaration hashes the same,
+     * and names are hashed as their dimension IDs, so respelling one does not count as a change.
+     */
+    private String contentHash(Result result) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+
+        StringBuilder content = new StringBuilder(512);
+        appendFields(content, result.getStId(), result.getEnrollmentNo(), result.getExtype(), result.getExamId(),
+                result.getExamNameId(), result.getDeclarationDate(), result.getAcademicYear(), result.getSemester(),
+                result.getUnitNo(), result.getExamNumber(), result.getName(), result.getInstCode(),
+                result.getInstituteId(), result.getCourseId(), result.getBranchCode(), result.getBranchId(),
+                result.getTotalCredits(), result.getEarnedCredits(), result.getSpi(), result.getCpi(),
+                result.getCgpa(), result.getResult(), result.getTrials());
+        for (ResultSubject subject : result.getSubjects()) {
+            content.append('\u001e');
+            appendFields(content, subject.getCode(), subject.getName(), subject.getCredits(), subject.getGrade(),
+                    subject.getIsBacklog(), subject.getTheoryEseGrade(), subject.getTheoryPaGrade(),
+                    subject.getTheoryTotalGrade(), subject.getPracticalPaGrade(), subject.getPracticalVivaGrade(),
+                    subject.getPracticalTotalGrade());
+        }
+
+        return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void appendFields(StringBuilder content, Object... fields) {
+        for (Object field : fields) {
+            content.append(field == null ? "\u0000" : field.toString()).append('\u001f');
+        }
+    }
+
+    private void printSubject(CSVPrinter printer, long rowNo, ResultSubject subject) throws IOException {
+        printer.printRecord(
+                rowNo,
+                subject.getCode(),
+                subject.getName(),
+                subject.getCredits(),
+                subject.getGrade(),
+                subject.getIsBacklog(),
+                subject.getTheoryEseGrade(),
+                subject.getTheoryPaGrade(),
+                subject.getTheoryTotalGrade(),
+                subject.getPracticalPaGrade(),
+                subject.getPracticalVivaGrade(),
+                subject.getPracticalTotalGrade()
+        );
+    }
+}
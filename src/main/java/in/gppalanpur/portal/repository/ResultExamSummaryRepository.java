@@ -0,0 +1,44 @@
+package in.gppalanpur.portal.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import in.gppalanpur.portal.entity.ResultExamSummary;
+
+@Repository
+public interface ResultExamSummaryRepository extends JpaRepository<ResultExamSummary, Long> {
+    
+    /**
+     * Hold an exam's analytics lock until the transaction ends, so that two
+     * rebuilds of the same exam cannot interleave their deletes and inserts.
+     * The first key (29) keeps these apart from other advisory locks.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(29, :examId)) l", nativeQuery = true)
+    Integer lockExam(@Param("examId") int examId);
+    
+    @Modifying
+    @Query("DELETE FROM ResultExamSummary s WHERE s.examId IN :examIds")
+    int deleteByExamIds(@Param("examIds") Collection<Integer> examIds);
+    
+    @Modifying
+    @Query(value = "INSERT INTO result_exam_summaries (exam_id, academic_year, branch_id, semester, " +
+           "total_count, pass_count, spi_sum, spi_count, refreshed_at) " +
+           "SELECT r.exam_id, r.academic_year, r.branch_id, r.semester, COUNT(*), " +
+           "SUM(CASE WHEN r.result = 'PASS' THEN 1 ELSE 0 END), COALESCE(SUM(r.spi), 0), COUNT(r.spi), now() " +
+           "FROM results r WHERE r.exam_id IN (:examIds) " +
+           "GROUP BY r.exam_id, r.academic_year, r.branch_id, r.semester", nativeQuery = true)
+    int insertForExamIds(@Param("examIds") Collection<Integer> examIds);
+    
+    @Query("SELECT s.branchId, s.semester, SUM(s.spiSum), SUM(s.spiCount), SUM(s.passCount), SUM(s.totalCount) " +
+           "FROM ResultExamSummary s " +
+           "WHERE (:academicYear IS NULL OR s.academicYear = :academicYear) " +
+           "AND (:examId IS NULL OR s.examId = :examId) " +
+           "GROUP BY s.branchId, s.semester")
+    List<Object[]> getBranchAnalysis(@Param("academicYear") String academicYear, @Param("examId") Integer examId);
+}
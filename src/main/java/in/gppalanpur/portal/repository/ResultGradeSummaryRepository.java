@@ -0,0 +1,40 @@
+package in.gppalanpur.portal.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import in.gppalanpur.portal.entity.ResultGradeSummary;
+
+@Repository
+public interface ResultGradeSummaryRepository extends JpaRepository<ResultGradeSummary, Long> {
+    
+    @Modifying
+    @Query("DELETE FROM ResultGradeSummary g WHERE g.examId IN :examIds")
+    int deleteByExamIds(@Param("examIds") Collection<Integer> examIds);
+    
+    @Modifying
+    @Query(value = "INSERT INTO result_grade_summaries (exam_id, academic_year, branch_id, semester, " +
+           "subject_code, subject_name, grade, student_count, backlog_count) " +
+           "SELECT r.exam_id, r.academic_year, r.branch_id, r.semester, s.code, MAX(s.name), " +
+           "COALESCE(s.grade, ''), COUNT(*), SUM(CASE WHEN s.is_backlog THEN 1 ELSE 0 END) " +
+           "FROM results r JOIN result_subjects s ON s.result_id = r.id " +
+           "WHERE r.exam_id IN (:examIds) " +
+           "GROUP BY r.exam_id, r.academic_year, r.branch_id, r.semester, s.code, COALESCE(s.grade, '')",
+           nativeQuery = true)
+    int insertForExamIds(@Param("examIds") Collection<Integer> examIds);
+    
+    @Query("SELECT g.subjectCode, MAX(g.subjectName), g.grade, SUM(g.studentCount), SUM(g.backlogCount) " +
+           "FROM ResultGradeSummary g " +
+           "WHERE (:examId IS NULL OR g.examId = :examId) " +
+           "AND (:branchId IS NULL OR g.branchId = :branchId) " +
+           "AND (:semester IS NULL OR g.semester = :semester) " +
+           "GROUP BY g.subjectCode, g.grade ORDER BY g.subjectCode, g.grade")
+    List<Object[]> getGradeDistribution(@Param("examId") Integer examId, @Param("branchId") Integer branchId,
+                                        @Param("semester") Integer semester);
+}
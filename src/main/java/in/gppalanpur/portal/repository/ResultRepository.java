@@ -1,25 +1,34 @@
 package in.gppalanpur.portal.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import in.gppalanpur.portal.entity.Result;
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ResultRepository extends JpaRepository<Result, Long> {
     
     List<Result> findByEnrollmentNo(String enrollmentNo);
     
+    Page<Result> findByEnrollmentNo(String enrollmentNo, Pageable pageable);
+    
     Optional<Result> findByEnrollmentNoAndExamId(String enrollmentNo, Integer examId);
     
-    List<Result> findByBranchName(String branchName);
+    List<Result> findByBranchId(Integer branchId);
     
     List<Result> findBySemester(Integer semester);
     
@@ -27,17 +36,71 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
     
     List<Result> findByUploadBatch(String uploadBatch);
     
-    Page<Result> findByBranchNameAndSemester(String branchName, Integer semester, Pageable pageable);
+    long countByUploadBatch(String uploadBatch);
+    
+    @Query("SELECT DISTINCT r.enrollmentNo FROM Result r WHERE r.uploadBatch = :uploadBatch")
+    List<String> findEnrollmentNosByUploadBatch(@Param("uploadBatch") String uploadBatch);
     
-    @Query("SELECT DISTINCT r.uploadBatch, COUNT(r) as count, MAX(r.createdAt) as latestUpload FROM Result r GROUP BY r.uploadBatch ORDER BY latestUpload DESC")
-    List<Object[]> findUploadBatches(Pageable pageable);
+    @Query("SELECT DISTINCT r.examId FROM Result r WHERE r.uploadBatch = :uploadBatch")
+    List<Integer> findExamIdsByUploadBatch(@Param("uploadBatch") String uploadBatch);
     
-    @Query("SELECT r.branchName, r.semester, AVG(r.spi) as avgSpi, " +
-           "SUM(CASE WHEN r.result = 'PASS' THEN 1 ELSE 0 END) as passCount, " +
-           "COUNT(r) as totalCount " +
+    @Query("SELECT r.id, r.enrollmentNo, r.name, r.branchId, r.semester, r.spi, r.cpi FROM Result r WHERE r.examId = :examId")
+    List<Object[]> findRankingRowsByExamId(@Param("examId") Integer examId);
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.id, r.examId, r.academicYear, r.branchId, r.semester, r.spi, r.cpi, r.totalCredits, r.earnedCredits, r.result FROM Result r")
+    Stream<Object[]> streamCohortRows();
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.enrollmentNo, r.name, r.examId, r.examNameId, r.academicYear, r.branchId, r.semester, " +
+           "r.totalCredits, r.earnedCredits, r.spi, r.cpi, r.cgpa, r.result, r.currentBacklog, r.totalBacklog " +
            "FROM Result r " +
-           "WHERE (:academicYear IS NULL OR r.academicYear = :academicYear) " +
-           "AND (:examId IS NULL OR r.examId = :examId) " +
-           "GROUP BY r.branchName, r.semester")
-    List<Object[]> getBranchAnalysis(@Param("academicYear") String academicYear, @Param("examId") Integer examId);
-}
\ No newline at end of file
+           "WHERE (:examId IS NULL OR r.examId = :examId) " +
+           "AND (:branchId IS NULL OR r.branchId = :branchId) " +
+           "AND (:semester IS NULL OR r.semester = :semester) " +
+           "ORDER BY r.examId, r.branchId, r.semester, r.enrollmentNo")
+    Stream<Object[]> streamWorkbookRows(@Param("examId") Integer examId,
+                                        @Param("branchId") Integer branchId,
+                                        @Param("semester") Integer semester);
+    
+    @Query("SELECT r.id, r.examId, r.academicYear, r.branchId, r.semester, r.spi, r.cpi, r.totalCredits, r.earnedCredits, r.result FROM Result r WHERE r.uploadBatch = :uploadBatch")
+    List<Object[]> findCohortRowsByUploadBatch(@Param("uploadBatch") String uploadBatch);
+    
+    /**
+     * Recompute current and total backlog counts of the given students' results.
+     * For each result, only attempts declared up to and including that result count.
+     */
+    @Modifying
+    @Query(value = "UPDATE results r SET current_backlog = b.current_backlog, total_backlog = b.total_backlog " +
+           "FROM (SELECT t.id, COUNT(*) FILTER (WHERE t.last_backlog) AS current_backlog, " +
+           "COUNT(*) FILTER (WHERE t.ever_backlog) AS total_backlog " +
+           "FROM (SELECT tr.id, s.code, bool_or(COALESCE(s.is_backlog, false)) AS ever_backlog, " +
+           "(array_agg(COALESCE(s.is_backlog, false) ORDER BY pr.declaration_date DESC NULLS LAST, pr.exam_id DESC))[1] AS last_backlog " +
+           "FROM results tr " +
+           "JOIN results pr ON pr.enrollment_no = tr.enrollment_no " +
+           "AND (COALESCE(pr.declaration_date, DATE '1900-01-01'), COALESCE(pr.exam_id, 0)) " +
+           "<= (COALESCE(tr.declaration_date, DATE '1900-01-01'), COALESCE(tr.exam_id, 0)) " +
+           "JOIN result_subjects s ON s.result_id = pr.id " +
+           "WHERE tr.enrollment_no IN (:enrollmentNos) AND s.code IS NOT NULL " +
+           "GROUP BY tr.id, s.code) t " +
+           "GROUP BY t.id) b " +
+           "WHERE r.id = b.id",
+           nativeQuery = true)
+    int updateBacklogCountsForEnrollmentNos(@Param("enrollmentNos") Collection<String> enrollmentNos);
+    
+    long countByExamIdAndBranchIdAndSemester(Integer examId, Integer branchId, Integer semester);
+    
+    @Query("SELECT r.id FROM Result r WHERE r.examId = :examId AND r.branchId = :branchId AND r.semester = :semester ORDER BY r.enrollmentNo")
+    List<Long> findIdsByExamIdAndBranchIdAndSemester(@Param("examId") Integer examId,
+                                                     @Param("branchId") Integer branchId,
+                                                     @Param("semester") Integer semester);
+    
+    Page<Result> findByBranchIdAndSemester(Integer branchId, Integer semester, Pageable pageable);
+    
+    /**
+     * Stream every result for export, in ID order. Subjects are not loaded.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r FROM Result r ORDER BY r.id")
+    Stream<Result> streamAllForExport();
+}
@@ -0,0 +1,41 @@
+package in.gppalanpur.portal.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import in.gppalanpur.portal.entity.ResultScoreHistogram;
+
+@Repository
+public interface ResultScoreHistogramRepository extends JpaRepository<ResultScoreHistogram, Long> {
+    
+    @Modifying
+    @Query("DELETE FROM ResultScoreHistogram h WHERE h.examId IN :examIds")
+    int deleteByExamIds(@Param("examIds") Collection<Integer> examIds);
+    
+    @Modifying
+    @Query(value = "INSERT INTO result_score_histograms (exam_id, academic_year, branch_id, semester, " +
+           "metric, bucket, student_count) " +
+           "SELECT r.exam_id, r.academic_year, r.branch_id, r.semester, m.metric, " +
+           "LEAST(GREATEST(CAST(FLOOR(m.score) AS integer), 0), 10), COUNT(*) " +
+           "FROM results r " +
+           "CROSS JOIN LATERAL (VALUES ('SPI', r.spi), ('CPI', r.cpi)) AS m(metric, score) " +
+           "WHERE r.exam_id IN (:examIds) AND m.score IS NOT NULL " +
+           "GROUP BY r.exam_id, r.academic_year, r.branch_id, r.semester, m.metric, " +
+           "LEAST(GREATEST(CAST(FLOOR(m.score) AS integer), 0), 10)", nativeQuery = true)
+    int insertForExamIds(@Param("examIds") Collection<Integer> examIds);
+    
+    @Query("SELECT h.bucket, SUM(h.studentCount) FROM ResultScoreHistogram h " +
+           "WHERE h.metric = :metric " +
+           "AND (:examId IS NULL OR h.examId = :examId) " +
+           "AND (:branchId IS NULL OR h.branchId = :branchId) " +
+           "AND (:semester IS NULL OR h.semester = :semester) " +
+           "GROUP BY h.bucket ORDER BY h.bucket")
+    List<Object[]> getHistogram(@Param("metric") String metric, @Param("examId") Integer examId,
+                                @Param("branchId") Integer branchId, @Param("semester") Integer semester);
+}
@@ -0,0 +1,30 @@
+package in.gppalanpur.portal.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import in.gppalanpur.portal.entity.ResultSubject;
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+@Repository
+public interface ResultSubjectRepository extends JpaRepository<ResultSubject, Long> {
+    
+    @Query("SELECT s FROM ResultSubject s WHERE s.result.id IN :resultIds ORDER BY s.id")
+    List<ResultSubject> findByResultIdIn(@Param("resultIds") Collection<Long> resultIds);
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s.result.id, s.code, s.grade, s.credits, s.isBacklog FROM ResultSubject s")
+    Stream<Object[]> streamCohortRows();
+    
+    @Query("SELECT s.result.id, s.code, s.grade, s.credits, s.isBacklog FROM ResultSubject s WHERE s.result.uploadBatch = :uploadBatch")
+    List<Object[]> findCohortRowsByUploadBatch(@Param("uploadBatch") String uploadBatch);
+}
@@ -0,0 +1,48 @@
+package in.gppalanpur.portal.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import in.gppalanpur.portal.entity.StoredFile;
+
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, Long> {
+    
+    Optional<StoredFile> findBySha256(String sha256);
+    
+    /**
+     * Find a stored file and lock its row until the transaction ends. Storing
+     * and releasing the same content take this lock, so they never interleave.
+     */
+    @Query(value = "SELECT * FROM stored_files WHERE sha256 = :sha256 FOR UPDATE", nativeQuery = true)
+    Optional<StoredFile> lockBySha256(@Param("sha256") String sha256);
+    
+    /**
+     * Add a metadata row unless the content already has one. A concurrent insert
+     * of the same content is waited for rather than reported as a violation.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO stored_files (sha256, size, content_type, original_name, created_at) " +
+           "VALUES (:sha256, :size, :contentType, :originalName, :now) ON CONFLICT (sha256) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("sha256") String sha256, @Param("size") long size,
+                       @Param("contentType") String contentType, @Param("originalName") String originalName,
+                       @Param("now") LocalDateTime now);
+    
+    /**
+     * Number of live upload batches and report jobs that refer to a stored file.
+     */
+    @Query(value = "SELECT (SELECT COUNT(*) FROM upload_batches WHERE content_sha256 = :sha256 AND status <> 'DELETED') " +
+           "+ (SELECT COUNT(*) FROM report_jobs WHERE result_file = :sha256)", nativeQuery = true)
+    long countReferences(@Param("sha256") String sha256);
+    
+    @Modifying
+    @Query("DELETE FROM StoredFile f WHERE f.sha256 = :sha256")
+    int deleteBySha256(@Param("sha256") String sha256);
+}
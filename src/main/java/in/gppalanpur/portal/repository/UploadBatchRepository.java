@@ -0,0 +1,56 @@
+package in.gppalanpur.portal.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import in.gppalanpur.portal.entity.UploadBatch;
+
+@Repository
+public interface UploadBatchRepository extends JpaRepository<UploadBatch, Long> {
+    
+    @Query("SELECT b FROM UploadBatch b LEFT JOIN FETCH b.uploadedBy " +
+           "WHERE b.kind = :kind AND b.status <> 'DELETED' ORDER BY b.startedAt DESC")
+    List<UploadBatch> findListed(@Param("kind") String kind, Pageable pageable);
+    
+    Optional<UploadBatch> findFirstByKindAndContentSha256AndStatusOrderByIdDesc(String kind, String contentSha256,
+                                                                                String status);
+    
+    Optional<UploadBatch> findByBatchId(String batchId);
+    
+    @Modifying
+    @Query("UPDATE UploadBatch b SET b.status = :status, b.rowCount = :rowCount, b.errorCount = :errorCount, " +
+           "b.finishedAt = :finishedAt WHERE b.batchId = :batchId")
+    int finish(@Param("batchId") String batchId, @Param("status") String status, @Param("rowCount") Integer rowCount,
+               @Param("errorCount") Integer errorCount, @Param("finishedAt") LocalDateTime finishedAt);
+    
+    @Modifying
+    @Query("UPDATE UploadBatch b SET b.status = :status, b.finishedAt = :finishedAt WHERE b.batchId = :batchId")
+    int updateStatus(@Param("batchId") String batchId, @Param("status") String status,
+                     @Param("finishedAt") LocalDateTime finishedAt);
+    
+    @Modifying
+    @Query("UPDATE UploadBatch b SET b.status = 'DELETED', b.rowCount = 0 WHERE b.batchId = :batchId")
+    int markDeleted(@Param("batchId") String batchId);
+    
+    @Modifying
+    @Query("UPDATE UploadBatch b SET b.rowCount = GREATEST(b.rowCount - :count, 0) WHERE b.batchId = :batchId")
+    int decrementRowCount(@Param("batchId") String batchId, @Param("count") int count);
+    
+    /**
+     * Recount the rows of every live result batch. Needed after a merge import,
+     * which moves rewritten results from their old batch to the new one.
+     */
+    @Modifying
+    @Query(value = "UPDATE upload_batches b SET row_count = " +
+           "(SELECT COUNT(*) FROM results r WHERE r.upload_batch = b.batch_id) " +
+           "WHERE b.kind = 'RESULTS' AND b.status <> 'DELETED'", nativeQuery = true)
+    int recountResultRows();
+}
@@ -2,18 +2,23 @@ package in.gppalanpur.portal.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import in.gppalanpur.portal.entity.Department;
 import in.gppalanpur.portal.entity.Student;
 import in.gppalanpur.portal.entity.User;
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
@@ -68,4 +73,11 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
                         user.getDepartment().getId().equals(departmentId))
                 .findFirst();
     }
-}
\ No newline at end of file
+    
+    /**
+     * Stream every user with its department for export, in ID order.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.department ORDER BY u.id")
+    Stream<User> streamAllForExport();
+}
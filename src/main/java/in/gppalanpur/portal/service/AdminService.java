@@ -1,5 +1,7 @@
 package in.gppalanpur.portal.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -24,6 +26,12 @@ public interface AdminService {
     
     Page<UserResponse> getAllUsers(UserSearchCriteria criteria, Pageable pageable);
     
+    /**
+     * Write the users matching the search and role/department filters as
+     * newline-delimited JSON in ID order; sorting options are ignored.
+     */
+    void streamUsers(UserSearchCriteria criteria, OutputStream outputStream) throws IOException;
+    
     UserResponse getUser(Long id);
     
     UserResponse updateUser(Long id, UpdateUserRequest request, Long updaterId);
@@ -35,7 +43,7 @@ public interface AdminService {
     // CSV Import/Export
     UserCsvImportResult importUsers(MultipartFile file);
     
-    byte[] exportUsers();
+    void exportUsers(OutputStream outputStream) throws IOException;
     
     // Role Management
     List<String> getAllRoles();
@@ -48,7 +56,7 @@ public interface AdminService {
     
     Map<String, Object> deleteRole(String roleId);
     
-    byte[] exportRoles();
+    void exportRoles(OutputStream outputStream) throws IOException;
     
     Map<String, Object> importRoles(MultipartFile file);
     
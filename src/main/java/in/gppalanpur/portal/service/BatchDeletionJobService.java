@@ -0,0 +1,39 @@
+package in.gppalanpur.portal.service;
+
+import java.util.function.LongConsumer;
+
+import in.gppalanpur.portal.dto.BatchDeletionJobResponse;
+
+/**
+ * Runs upload batch deletions, inline when small and in the background when large.
+ */
+public interface BatchDeletionJobService {
+    
+    /**
+     * Deletes a batch chunk by chunk, reporting the rows removed after each chunk.
+     */
+    @FunctionalInterface
+    interface BatchDeletionTask {
+        void run(LongConsumer progress);
+    }
+    
+    /**
+     * Run a deletion. Batches up to the inline limit are deleted before this
+     * method returns; larger ones are queued on the background worker.
+     * 
+     * @param type Kind of data being deleted, e.g. RESULTS or FEEDBACK
+     * @param batchId Upload batch ID
+     * @param totalRows Number of rows in the batch
+     * @param task Deletion to run
+     * @return BatchDeletionJobResponse, COMPLETED for inline deletions and QUEUED otherwise
+     */
+    BatchDeletionJobResponse run(String type, String batchId, long totalRows, BatchDeletionTask task);
+    
+    /**
+     * Get the progress of a deletion job
+     * 
+     * @param jobId Job ID
+     * @return BatchDeletionJobResponse
+     */
+    BatchDeletionJobResponse getJob(String jobId);
+}
@@ -0,0 +1,30 @@
+package in.gppalanpur.portal.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Per-table change counters used to tell whether data a client has already
+ * seen is still current. Reads are served from memory.
+ */
+public interface DataVersionService {
+    
+    /**
+     * Record a write to a table. The version is bumped once the current
+     * transaction commits, however many rows it changed, or immediately when
+     * no transaction is active. Entity writes are recorded by a JPA listener;
+     * bulk JPQL and native statements bypass it and must call this themselves.
+     * 
+     * @param tableName Name of the changed table
+     */
+    void changed(String tableName);
+    
+    /**
+     * Get the current versions of some tables. Writes committed on other nodes
+     * show up within a couple of seconds.
+     * 
+     * @param tableNames Names of the tables
+     * @return Version of each table, 0 for tables never written
+     */
+    Map<String, Long> getVersions(Collection<String> tableNames);
+}
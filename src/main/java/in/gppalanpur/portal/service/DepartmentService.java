@@ -1,5 +1,7 @@
 package in.gppalanpur.portal.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -26,5 +28,5 @@ public interface DepartmentService {
     
     DepartmentImportResult importDepartments(MultipartFile file);
     
-    byte[] exportDepartments();
+    void exportDepartments(OutputStream outputStream) throws IOException;
 }
\ No newline at end of file
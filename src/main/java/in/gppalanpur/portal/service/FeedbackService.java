@@ -1,11 +1,15 @@
 package in.gppalanpur.portal.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import in.gppalanpur.portal.dto.BatchDeletionJobResponse;
 import in.gppalanpur.portal.dto.feedback.FeedbackAnalysisResult;
 import in.gppalanpur.portal.dto.feedback.FeedbackBatchResponse;
 import in.gppalanpur.portal.dto.feedback.FeedbackImportResult;
@@ -14,16 +18,37 @@ import in.gppalanpur.portal.dto.feedback.FeedbackResponse;
 public interface FeedbackService {
     
     /**
-     * Get all feedback with pagination
+     * Get feedback with pagination, filtered by any combination of the given fields
      * 
      * @param year Academic year (optional)
      * @param term Term (optional)
      * @param branch Branch (optional)
      * @param semester Semester (optional)
+     * @param subjectCode Subject code (optional)
+     * @param facultyName Faculty name (optional)
+     * @param batchId Upload batch ID (optional)
      * @param pageable Pagination information
      * @return Page of FeedbackResponse objects
      */
-    Page<FeedbackResponse> getAllFeedback(String year, String term, String branch, Integer semester, Pageable pageable);
+    Page<FeedbackResponse> getAllFeedback(String year, String term, String branch, Integer semester,
+                                          String subjectCode, String facultyName, String batchId, Pageable pageable);
+    
+    /**
+     * Write the feedback matching the filters as newline-delimited JSON, one
+     * row per line, in ID order; the stream is not closed.
+     * 
+     * @param year Academic year (optional)
+     * @param term Term (optional)
+     * @param branch Branch (optional)
+     * @param semester Semester (optional)
+     * @param subjectCode Subject code (optional)
+     * @param facultyName Faculty name (optional)
+     * @param batchId Upload batch ID (optional)
+     * @param outputStream Destination of the NDJSON
+     * @throws IOException If writing to the stream fails
+     */
+    void streamFeedback(String year, String term, String branch, Integer semester, String subjectCode,
+                        String facultyName, String batchId, OutputStream outputStream) throws IOException;
     
     /**
      * Get a feedback by ID
@@ -34,20 +59,25 @@ public interface FeedbackService {
     FeedbackResponse getFeedback(Long id);
     
     /**
-     * Import feedback from a CSV file
+     * Import feedback from a CSV file. Rows are streamed and committed in chunks,
+     * so rows of chunks committed before a failure stay under the returned batch ID.
+     * A dry run validates every row in parallel and writes nothing.
      * 
      * @param file CSV file containing feedback data
      * @param userId ID of the user performing the import
+     * @param dryRun Only validate the file and report all row errors
      * @return FeedbackImportResult containing import statistics
      */
-    FeedbackImportResult importFeedback(MultipartFile file, Long userId);
+    FeedbackImportResult importFeedback(MultipartFile file, Long userId, boolean dryRun);
     
     /**
-     * Export feedback to a CSV file
+     * Write all feedback as CSV to the given stream, reading it from a database
+     * cursor; the stream is not closed.
      * 
-     * @return Byte array containing CSV data
+     * @param outputStream Destination of the CSV
+     * @throws IOException If writing to the stream fails
      */
-    byte[] exportFeedback();
+    void exportFeedback(OutputStream outputStream) throws IOException;
     
     /**
      * Get a sample CSV file for feedback import
@@ -68,26 +98,54 @@ public interface FeedbackService {
     FeedbackAnalysisResult analyzeFeedback(String year, String term, String branch, Integer semester);
     
     /**
-     * Generate a PDF report of feedback analysis
+     * Write a PDF report of feedback analysis to the given stream. Tables are
+     * flushed incrementally; the stream is not closed.
+     * 
+     * @param year Academic year (optional)
+     * @param term Term (optional)
+     * @param branch Branch (optional)
+     * @param semester Semester (optional)
+     * @param outputStream Destination of the PDF
+     * @throws IOException If writing to the stream fails
+     */
+    void writePdfReport(String year, String term, String branch, Integer semester,
+                        OutputStream outputStream) throws IOException;
+    
+    /**
+     * Write an Excel report of feedback analysis to the given stream. The
+     * workbook is streamed with a bounded row window; the stream is not closed.
+     * 
+     * @param year Academic year (optional)
+     * @param term Term (optional)
+     * @param branch Branch (optional)
+     * @param semester Semester (optional)
+     * @param outputStream Destination of the .xlsx file
+     * @throws IOException If writing to the stream fails
+     */
+    void writeExcelReport(String year, String term, String branch, Integer semester,
+                          OutputStream outputStream) throws IOException;
+    
+    /**
+     * Get the PDF report from the report cache, generating it on a miss
      * 
      * @param year Academic year (optional)
      * @param term Term (optional)
      * @param branch Branch (optional)
      * @param semester Semester (optional)
-     * @return Byte array containing PDF data
+     * @return Path of the cached PDF file
      */
-    byte[] generatePdfReport(String year, String term, String branch, Integer semester);
+    Path getPdfReportFile(String year, String term, String branch, Integer semester);
     
     /**
-     * Generate an Excel report of feedback analysis
+     * Get the Excel report from the report cache, generating it on a miss
      * 
      * @param year Academic year (optional)
      * @param term Term (optional)
      * @param branch Branch (optional)
      * @param semester Semester (optional)
-     * @return Byte array containing Excel data
+     * @return Path of the cached Excel file
      */
-    byte[] generateExcelReport(String year, String term, String branch, Integer semester);
+    Path getExcelReportFile(String year, String term, String branch, Integer semester);
     
     /**
      * Get all upload batches with pagination
@@ -98,12 +156,12 @@ public interface FeedbackService {
     List<FeedbackBatchResponse> getUploadBatches(Pageable pageable);
     
     /**
-     * Delete all feedback in a batch
+     * Delete all feedback in a batch. Large batches are deleted in the background.
      * 
      * @param batchId Batch ID
-     * @return Number of feedback entries deleted
+     * @return BatchDeletionJobResponse with the deletion progress
      */
-    int deleteFeedbackByBatch(String batchId);
+    BatchDeletionJobResponse deleteFeedbackByBatch(String batchId);
     
     /**
      * Delete a feedback by ID
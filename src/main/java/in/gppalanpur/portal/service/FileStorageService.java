@@ -0,0 +1,68 @@
+package in.gppalanpur.portal.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+import in.gppalanpur.portal.entity.StoredFile;
+
+/**
+ * Content-addressed store for uploaded and generated files. Files are kept
+ * under the SHA-256 of their content, so identical content is stored once.
+ */
+public interface FileStorageService {
+    
+    /**
+     * Store the content of a stream, hashing it while it is copied to disk, and
+     * record a reference to it. The reference is written while the stored file
+     * is locked, so a concurrent release of the same content cannot delete it
+     * before the reference exists.
+     * 
+     * @param inputStream Content to store; read to the end but not closed
+     * @param originalName File name to record if the content is new
+     * @param contentType Content type to record if the content is new
+     * @param reference Writes the row that refers to the stored file
+     * @return Result of the reference
+     * @throws IOException If reading the stream or writing the file fails
+     */
+    <T> T store(InputStream inputStream, String originalName, String contentType,
+                Function<StoredFile, T> reference) throws IOException;
+    
+    /**
+     * Move a generated file into the store and record a reference to it, as
+     * {@link #store} does
+     * 
+     * @param file File to move; gone from its old place afterwards
+     * @param originalName File name to record if the content is new
+     * @param contentType Content type to record if the content is new
+     * @param reference Writes the row that refers to the stored file
+     * @return Result of the reference
+     * @throws IOException If reading or moving the file fails
+     */
+    <T> T storeFile(Path file, String originalName, String contentType,
+                    Function<StoredFile, T> reference) throws IOException;
+    
+    /**
+     * Get the metadata of a stored file
+     * 
+     * @param sha256 Content hash
+     * @return StoredFile
+     */
+    StoredFile getFile(String sha256);
+    
+    /**
+     * Get the location of a stored file on disk
+     * 
+     * @param sha256 Content hash
+     * @return Path of the content
+     */
+    Path getPath(String sha256);
+    
+    /**
+     * Delete a stored file unless a live upload batch or report job still refers to it
+     * 
+     * @param sha256 Content hash
+     */
+    void release(String sha256);
+}
@@ -1,5 +1,7 @@
 package in.gppalanpur.portal.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -162,11 +164,12 @@ public interface LocationService {
     LocationImportResult importLocationsFromCsv(MultipartFile file, Long userId);
     
     /**
-     * Export locations to a CSV file
+     * Write all locations as CSV to the given stream; the stream is not closed.
      * 
-     * @return the CSV file content as byte array
+     * @param outputStream the destination of the CSV
+     * @throws IOException if writing to the stream fails
      */
-    byte[] exportLocationsToCsv();
+    void exportLocationsToCsv(OutputStream outputStream) throws IOException;
     
     /**
      * Create multiple locations in a batch
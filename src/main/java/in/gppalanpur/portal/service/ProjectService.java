@@ -1,5 +1,7 @@
 package in.gppalanpur.portal.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -128,11 +130,12 @@ public interface ProjectService {
     ProjectImportResult importProjects(MultipartFile file);
     
     /**
-     * Export projects to a CSV file.
+     * Write all projects as CSV to the given stream; the stream is not closed.
      * 
-     * @return CSV file as byte array
+     * @param outputStream Destination of the CSV
+     * @throws IOException If writing to the stream fails
      */
-    byte[] exportProjects();
+    void exportProjects(OutputStream outputStream) throws IOException;
     
     /**
      * Evaluate a project by department jury.
@@ -0,0 +1,67 @@
+package in.gppalanpur.portal.service;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import in.gppalanpur.portal.dto.job.ReportJobRequest;
+import in.gppalanpur.portal.dto.job.ReportJobResponse;
+
+/**
+ * Generates reports and exports on a bounded pool of background workers.
+ * Jobs are persisted, so they survive a restart and any app node can run them.
+ */
+public interface ReportJobService {
+
+    /**
+     * Get the job types with their parameters
+     *
+     * @return Map of job type to its accepted parameter names
+     */
+    Map<String, List<String>> getTypes();
+
+    /**
+     * Queue a job
+     *
+     * @param request Job type and parameters
+     * @param userId ID of the requesting user
+     * @return ReportJobResponse of the queued job
+     */
+    ReportJobResponse submit(ReportJobRequest request, Long userId);
+
+    /**
+     * Get the status and progress of a job
+     *
+     * @param jobId Job ID
+     * @param userId ID of the requesting user
+     * @return ReportJobResponse
+     */
+    ReportJobResponse getJob(String jobId, Long userId);
+
+    /**
+     * Get the most recent jobs of a user
+     *
+     * @param userId User ID
+     * @return List of ReportJobResponse objects, newest first
+     */
+    List<ReportJobResponse> getJobs(Long userId);
+
+    /**
+     * Cancel a job. Queued jobs are cancelled at once; running jobs stop at
+     * their node's next heartbeat.
+     *
+     * @param jobId Job ID
+     * @param userId ID of the requesting user
+     * @return ReportJobResponse
+     */
+    ReportJobResponse cancel(String jobId, Long userId);
+
+    /**
+     * Get the result file of a completed job
+     *
+     * @param jobId Job ID
+     * @param userId ID of the requesting user
+     * @return Path of the result file
+     */
+    Path getResultFile(String jobId, Long userId);
+}
@@ -0,0 +1,41 @@
+package in.gppalanpur.portal.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import in.gppalanpur.portal.dto.result.BacklogLedgerResponse;
+
+/**
+ * Backlog ledger maintained across exam attempts.
+ */
+public interface ResultBacklogService {
+    
+    /**
+     * Rebuild the ledger entries and the backlog counts on the results of the
+     * given students. Runs in the caller's transaction.
+     * 
+     * @param enrollmentNos Enrollment numbers whose results changed
+     */
+    void refresh(Collection<String> enrollmentNos);
+    
+    /**
+     * Get every subject a student has had a backlog in
+     * 
+     * @param enrollmentNo Student enrollment number
+     * @return List of BacklogLedgerResponse ordered by subject code
+     */
+    List<BacklogLedgerResponse> getStudentBacklogs(String enrollmentNo);
+    
+    /**
+     * Get students with an open or cleared backlog in a subject
+     * 
+     * @param subjectCode Subject code
+     * @param open Whether to list open (true) or cleared (false) backlogs
+     * @param pageable Pagination information
+     * @return Page of BacklogLedgerResponse
+     */
+    Page<BacklogLedgerResponse> getSubjectBacklogs(String subjectCode, boolean open, Pageable pageable);
+}
@@ -0,0 +1,35 @@
+package in.gppalanpur.portal.service;
+
+import java.util.Collection;
+
+import in.gppalanpur.portal.dto.result.CohortQueryRequest;
+import in.gppalanpur.portal.dto.result.CohortQueryResponse;
+
+/**
+ * Ad-hoc cohort analytics over an in-memory columnar copy of results and result subjects.
+ */
+public interface ResultCohortService {
+    
+    /**
+     * Run a filter/group/aggregate query
+     * 
+     * @param request Filters, grouping dimensions and row level
+     * @return CohortQueryResponse with one entry per group
+     */
+    CohortQueryResponse query(CohortQueryRequest request);
+    
+    /**
+     * Append the results of an import batch once the current transaction commits.
+     * Results already in the store with the same ID are replaced.
+     * 
+     * @param batchId Upload batch ID
+     */
+    void loadBatchAfterCommit(String batchId);
+    
+    /**
+     * Drop results from the store once the current transaction commits
+     * 
+     * @param resultIds IDs of deleted results
+     */
+    void removeAfterCommit(Collection<Long> resultIds);
+}
@@ -0,0 +1,33 @@
+package in.gppalanpur.portal.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Bulk marksheet PDF generation.
+ */
+public interface ResultMarksheetService {
+    
+    /**
+     * Count the marksheets of a class
+     * 
+     * @param examId Exam ID
+     * @param branchName Branch name
+     * @param semester Semester
+     * @return Number of results in the selection
+     */
+    long countMarksheets(Integer examId, String branchName, Integer semester);
+    
+    /**
+     * Render one marksheet PDF per student of a class and write them as a ZIP
+     * archive to the given stream. Entries are written in enrollment order as
+     * soon as they are rendered; the stream is finished but not closed.
+     * 
+     * @param examId Exam ID
+     * @param branchName Branch name
+     * @param semester Semester
+     * @param outputStream Destination of the ZIP archive
+     * @throws IOException If writing to the stream or rendering fails
+     */
+    void writeMarksheetZip(Integer examId, String branchName, Integer semester, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,65 @@
+package in.gppalanpur.portal.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import in.gppalanpur.portal.dto.result.ResultHistogramBucket;
+import in.gppalanpur.portal.dto.result.StudentRankResponse;
+
+/**
+ * In-memory rank and percentile lookups per exam, branch and semester.
+ */
+public interface ResultRankingService {
+    
+    /**
+     * Get a student's rank and percentile within their class for an exam
+     * 
+     * @param examId Exam ID
+     * @param enrollmentNo Student enrollment number
+     * @return StudentRankResponse with SPI and CPI rank and percentile
+     */
+    StudentRankResponse getStudentRank(Integer examId, String enrollmentNo);
+    
+    /**
+     * Get the top students of a class by SPI or CPI
+     * 
+     * @param examId Exam ID
+     * @param branchName Branch name
+     * @param semester Semester
+     * @param metric SPI or CPI
+     * @param limit Maximum number of students
+     * @return List of StudentRankResponse objects, best first
+     */
+    List<StudentRankResponse> getTopStudents(Integer examId, String branchName, Integer semester, String metric, int limit);
+    
+    /**
+     * Count students of a class per score band
+     * 
+     * @param examId Exam ID
+     * @param branchName Branch name
+     * @param semester Semester
+     * @param metric SPI or CPI
+     * @param boundaries Ascending band boundaries; band i covers [boundaries[i], boundaries[i + 1]),
+     *                   and the last band also includes its upper boundary
+     * @return List of ResultHistogramBucket objects, one per band
+     */
+    List<ResultHistogramBucket> getScoreBandCounts(Integer examId, String branchName, Integer semester, String metric,
+                                                   List<Double> boundaries);
+    
+    /**
+     * Get ranks for every student of a class
+     * 
+     * @param examId Exam ID
+     * @param branchName Branch name
+     * @param semester Semester
+     * @return List of StudentRankResponse objects ordered by SPI rank
+     */
+    List<StudentRankResponse> getClassRanks(Integer examId, String branchName, Integer semester);
+    
+    /**
+     * Rebuild the rankings of the given exams once the current transaction commits
+     * 
+     * @param examIds Exam IDs whose results changed
+     */
+    void refreshAfterCommit(Collection<Integer> examIds);
+}
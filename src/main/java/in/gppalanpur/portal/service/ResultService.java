@@ -1,15 +1,20 @@
 package in.gppalanpur.portal.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import in.gppalanpur.portal.dto.BatchDeletionJobResponse;
 import in.gppalanpur.portal.dto.result.ResultAnalysisResponse;
 import in.gppalanpur.portal.dto.result.ResultBatchResponse;
+import in.gppalanpur.portal.dto.result.ResultHistogramBucket;
 import in.gppalanpur.portal.dto.result.ResultImportResult;
 import in.gppalanpur.portal.dto.result.ResultResponse;
+import in.gppalanpur.portal.dto.result.SubjectGradeDistributionResponse;
 
 public interface ResultService {
     
@@ -21,6 +26,21 @@ public interface ResultService {
      */
     Page<ResultResponse> getAllResults(Pageable pageable);
     
+    /**
+     * Write the results matching the filters as newline-delimited JSON, one
+     * result with its subjects per line, in ID order; the stream is not closed.
+     * 
+     * @param examId Exam ID for filtering (optional)
+     * @param academicYear Academic year for filtering (optional)
+     * @param branchName Branch name for filtering (optional)
+     * @param semester Semester for filtering (optional)
+     * @param uploadBatch Upload batch for filtering (optional)
+     * @param outputStream Destination of the NDJSON
+     * @throws IOException If writing to the stream fails
+     */
+    void streamResults(Integer examId, String academicYear, String branchName, Integer semester,
+                       String uploadBatch, OutputStream outputStream) throws IOException;
+    
     /**
      * Get a result by ID
      * 
@@ -43,16 +63,32 @@ public interface ResultService {
      * 
      * @param file CSV file containing result data
      * @param userId ID of the user performing the import
+     * @param merge Update existing results whose content changed instead of rejecting them
      * @return ResultImportResult containing import statistics
      */
-    ResultImportResult importResults(MultipartFile file, Long userId);
+    ResultImportResult importResults(MultipartFile file, Long userId, boolean merge);
     
     /**
-     * Export results to a CSV file
+     * Write all results as CSV to the given stream, reading them from a database
+     * cursor; the stream is not closed.
      * 
-     * @return Byte array containing CSV data
+     * @param outputStream Destination of the CSV
+     * @throws IOException If writing to the stream fails
+     */
+    void exportResults(OutputStream outputStream) throws IOException;
+    
+    /**
+     * Write results as an Excel workbook to the given stream. Rows are read from
+     * a database cursor and streamed with a bounded row window; the stream is not closed.
+     * 
+     * @param examId Exam ID for filtering (optional)
+     * @param branchName Branch name for filtering (optional)
+     * @param semester Semester for filtering (optional)
+     * @param outputStream Destination of the .xlsx file
+     * @throws IOException If writing to the stream fails
      */
-    byte[] exportResults();
+    void writeResultsWorkbook(Integer examId, String branchName, Integer semester,
+                              OutputStream outputStream) throws IOException;
     
     /**
      * Get branch-wise result analysis
@@ -63,6 +99,27 @@ public interface ResultService {
      */
     List<ResultAnalysisResponse> getBranchAnalysis(String academicYear, Integer examId);
     
+    /**
+     * Get the SPI or CPI histogram in whole-point buckets
+     * 
+     * @param metric SPI or CPI
+     * @param examId Exam ID for filtering (optional)
+     * @param branchName Branch name for filtering (optional)
+     * @param semester Semester for filtering (optional)
+     * @return List of ResultHistogramBucket objects, one per non-empty bucket
+     */
+    List<ResultHistogramBucket> getScoreHistogram(String metric, Integer examId, String branchName, Integer semester);
+    
+    /**
+     * Get subject-wise grade distributions and backlog counts
+     * 
+     * @param examId Exam ID for filtering (optional)
+     * @param branchName Branch name for filtering (optional)
+     * @param semester Semester for filtering (optional)
+     * @return List of SubjectGradeDistributionResponse objects
+     */
+    List<SubjectGradeDistributionResponse> getSubjectGradeDistribution(Integer examId, String branchName, Integer semester);
+    
     /**
      * Get all upload batches with pagination
      * 
@@ -72,12 +129,12 @@ public interface ResultService {
     List<ResultBatchResponse> getUploadBatches(Pageable pageable);
     
     /**
-     * Delete all results in a batch
+     * Delete all results in a batch. Large batches are deleted in the background.
      * 
      * @param batchId Batch ID
-     * @return Number of results deleted
+     * @return BatchDeletionJobResponse with the deletion progress
      */
-    int deleteResultsByBatch(String batchId);
+    BatchDeletionJobResponse deleteResultsByBatch(String batchId);
     
     /**
      * Delete a result by ID
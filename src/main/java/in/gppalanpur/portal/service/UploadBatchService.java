@@ -0,0 +1,90 @@
+package in.gppalanpur.portal.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+
+import in.gppalanpur.portal.entity.UploadBatch;
+
+/**
+ * Registry of result and feedback upload batches.
+ */
+public interface UploadBatchService {
+    
+    /**
+     * Register a new batch as importing. The row is committed on its own so that
+     * a failed import still leaves a record.
+     * 
+     * @param batchId Upload batch ID
+     * @param kind UploadBatch.KIND_RESULTS or UploadBatch.KIND_FEEDBACK
+     * @param fileName Original name of the uploaded file
+     * @param contentSha256 Address of the uploaded file in the file store
+     * @param userId ID of the uploading user
+     * @return The new batch
+     */
+    UploadBatch start(String batchId, String kind, String fileName, String contentSha256, Long userId);
+    
+    /**
+     * Mark a batch as failed if the current transaction rolls back.
+     * 
+     * @param batchId Upload batch ID
+     */
+    void failOnRollback(String batchId);
+    
+    /**
+     * Find the latest completed, not deleted batch imported from the same file content
+     * 
+     * @param kind UploadBatch.KIND_RESULTS or UploadBatch.KIND_FEEDBACK
+     * @param contentSha256 Address of the uploaded file in the file store
+     * @return The batch, or empty if this content has not been imported
+     */
+    Optional<UploadBatch> findImported(String kind, String contentSha256);
+    
+    /**
+     * Record the outcome of an import once the current transaction commits,
+     * or immediately when no transaction is active.
+     * 
+     * @param batchId Upload batch ID
+     * @param rowCount Rows written by the import
+     * @param errorCount Rows rejected by the import
+     */
+    void finish(String batchId, int rowCount, int errorCount);
+    
+    /**
+     * Mark a batch as failed immediately.
+     * 
+     * @param batchId Upload batch ID
+     */
+    void fail(String batchId);
+    
+    /**
+     * Account for rows deleted individually from a batch.
+     * 
+     * @param batchId Upload batch ID
+     * @param count Number of deleted rows
+     */
+    void rowsDeleted(String batchId, int count);
+    
+    /**
+     * Mark a batch as deleted once all of its rows are gone. Its uploaded file
+     * is removed from the file store unless another batch still refers to it.
+     * 
+     * @param batchId Upload batch ID
+     */
+    void markDeleted(String batchId);
+    
+    /**
+     * Recount the rows of all live result batches.
+     */
+    void recountResultRows();
+    
+    /**
+     * List live batches of one kind, newest first
+     * 
+     * @param kind UploadBatch.KIND_RESULTS or UploadBatch.KIND_FEEDBACK
+     * @param pageable Pagination information
+     * @return Batches with their uploader loaded
+     */
+    List<UploadBatch> getBatches(String kind, Pageable pageable);
+}
@@ -1,10 +1,8 @@
 package in.gppalanpur.portal.service.impl;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -15,7 +13,6 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -54,6 +51,8 @@ public class AdminServiceImpl implements AdminService {
     private final UserRepository userRepository;
     private final DepartmentRepository departmentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CsvExporter csvExporter;
+    private final NdjsonStreamer ndjsonStreamer;
     
     // Using a CopyOnWriteArrayList for thread safety
     private static final List<String> AVAILABLE_ROLES = new java.util.concurrent.CopyOnWriteArrayList<>(
@@ -111,8 +110,32 @@ public class AdminServiceImpl implements AdminService {
 
     @Override
     public Page<UserResponse> getAllUsers(UserSearchCriteria criteria, Pageable pageable) {
+        Specification<User> spec = userFilter(criteria);
+        
+        // Apply sorting
+        String sortBy = criteria.getSortBy() != null ? criteria.getSortBy() : "name";
+        String sortOrder = criteria.getSortOrder() != null ? criteria.getSortOrder() : "asc";
+        Direction direction = sortOrder.equalsIgnoreCase("desc") ? Direction.DESC : Direction.ASC;
+        Sort sort = Sort.by(direction, sortBy);
+        
+        // Execute query
+        // Create a new PageRequest with the sort parameter
+        PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+        Page<User> users = userRepository.findAll(spec, pageRequest);
+        
+        // Map to response
+        return users.map(this::mapToUserResponse);
+    }
+
+    @Override
+    public void streamUsers(UserSearchCriteria criteria, OutputStream outputStream) throws IOException {
+        ndjsonStreamer.stream(outputStream, User.class, userFilter(criteria),
+                chunk -> chunk.stream().map(this::mapToUserResponse).collect(Collectors.toList()));
+    }
+
+    private Specification<User> userFilter(UserSearchCriteria criteria) {
         // Create specification for filtering
-        Specification<User> spec = (root, query, criteriaBuilder) -> {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
             
             // Search by name or email
@@ -136,20 +159,6 @@ public class AdminServiceImpl implements AdminService {
             
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
-        
-        // Apply sorting
-        String sortBy = criteria.getSortBy() != null ? criteria.getSortBy() : "name";
-        String sortOrder = criteria.getSortOrder() != null ? criteria.getSortOrder() : "asc";
-        Direction direction = sortOrder.equalsIgnoreCase("desc") ? Direction.DESC : Direction.ASC;
-        Sort sort = Sort.by(direction, sortBy);
-        
-        // Execute query
-        // Create a new PageRequest with the sort parameter
-        PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
-        Page<User> users = userRepository.findAll(spec, pageRequest);
-        
-        // Map to response
-        return users.map(this::mapToUserResponse);
     }
 
     @Override
@@ -252,8 +261,7 @@ public class AdminServiceImpl implements AdminService {
         List<UserResponse> importedUsers = new ArrayList<>();
         List<String> errors = new ArrayList<>();
         
-        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(file.getBytes());
-             InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        try (InputStreamReader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8);
              CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
                      .withFirstRecordAsHeader()
                      .withIgnoreHeaderCase()
@@ -352,32 +360,17 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
-    public byte[] exportUsers() {
-        List<User> users = userRepository.findAll();
-        
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        
-        try (OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
-             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(CSV_HEADERS))) {
-            
-            for (User user : users) {
-                Department department = user.getDepartment();
-                
-                csvPrinter.printRecord(
-                        user.getName(),
-                        user.getEmail(),
-                        department != null ? department.getName() : "",
-                        String.join(", ", user.getRoles()),
-                        user.getSelectedRole()
-                );
-            }
-            
-            csvPrinter.flush();
-            return out.toByteArray();
-            
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to export users: " + e.getMessage());
-        }
+    public void exportUsers(OutputStream outputStream) throws IOException {
+        csvExporter.exportEntities(outputStream, CSV_HEADERS, userRepository::streamAllForExport, user -> {
+            Department department = user.getDepartment();
+            return new Object[] {
+                    user.getName(),
+                    user.getEmail(),
+                    department != null ? department.getName() : "",
+                    String.join(", ", user.getRoles()),
+                    user.getSelectedRole()
+            };
+        });
     }
 
     @Override
@@ -558,48 +551,34 @@ public class AdminServiceImpl implements AdminService {
     }
     
     @Override
-    public byte[] exportRoles() {
-        List<String> roleNames = getAllRoles();
+    public void exportRoles(OutputStream outputStream) throws IOException {
+        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+        sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
+        String formattedDate = sdf.format(new java.util.Date());
         
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
-             OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
-             CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder()
-                     .setHeader("name", "description", "permissions", "createdAt", "updatedAt")
-                     .build())) {
-            
-            java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-            sdf.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-            String formattedDate = sdf.format(new java.util.Date());
-            
-            for (String roleName : roleNames) {
-                List<String> permissions = new ArrayList<>();
-                
-                // Add CRUD permissions based on role type
-                if ("admin".equals(roleName)) {
-                    permissions.add("create,read,update,delete");
-                } else if ("faculty".equals(roleName) || "hod".equals(roleName) || "principal".equals(roleName)) {
-                    permissions.add("create,read,update");
-                } else if ("jury".equals(roleName)) {
-                    permissions.add("read,update");
-                } else if ("student".equals(roleName)) {
-                    permissions.add("read");
-                }
-                
-                printer.printRecord(
-                        roleName,
-                        "Role for " + roleName + " users",
-                        String.join(",", permissions),
-                        formattedDate,
-                        formattedDate
-                );
-            }
-            
-            printer.flush();
-            return out.toByteArray();
-        } catch (IOException e) {
-            log.error("Error exporting roles to CSV", e);
-            throw new RuntimeException("Error exporting roles to CSV", e);
-        }
+        csvExporter.export(outputStream, new String[] {"name", "description", "permissions", "createdAt", "updatedAt"},
+                getAllRoles().stream().map(roleName -> {
+                    List<String> permissions = new ArrayList<>();
+                    
+                    // Add CRUD permissions based on role type
+                    if ("admin".equals(roleName)) {
+                        permissions.add("create,read,update,delete");
+                    } else if ("faculty".equals(roleName) || "hod".equals(roleName) || "principal".equals(roleName)) {
+                        permissions.add("create,read,update");
+                    } else if ("jury".equals(roleName)) {
+                        permissions.add("read,update");
+                    } else if ("student".equals(roleName)) {
+                        permissions.add("read");
+                    }
+                    
+                    return new Object[] {
+                            roleName,
+                            "Role for " + roleName + " users",
+                            String.join(",", permissions),
+                            formattedDate,
+                            formattedDate
+                    };
+                }));
     }
     
     @Override
@@ -0,0 +1,135 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+import in.gppalanpur.portal.dto.BatchDeletionJobResponse;
+import in.gppalanpur.portal.exception.ResourceNotFoundException;
+import in.gppalanpur.portal.service.BatchDeletionJobService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps deletion jobs in memory and runs the large ones one at a time on a
+ * single background thread, so two bulk deletions never compete for locks.
+ * Finished jobs are forgotten after a day.
+ */
+@Service
+@Slf4j
+public class BatchDeletionJobServiceImpl implements BatchDeletionJobService {
+
+    private static final long INLINE_LIMIT = 5000;
+    private static final long RETENTION_HOURS = 24;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "batch-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    @Override
+    public BatchDeletionJobResponse run(String type, String batchId, long totalRows, BatchDeletionTask task) {
+        pruneFinishedJobs();
+
+        Job job = new Job(UUID.randomUUID().toString(), type, batchId, totalRows);
+        jobs.put(job.id, job);
+        if (totalRows <= INLINE_LIMIT) {
+            // Inline failures propagate to the caller like any other request error
+            job.start();
+            try {
+                task.run(job.deletedRows::addAndGet);
+            } catch (RuntimeException e) {
+                job.finish(e.getMessage());
+                throw e;
+            }
+            job.finish(null);
+            return job.toResponse();
+        }
+
+        worker.submit(() -> {
+            job.start();
+            try {
+                task.run(job.deletedRows::addAndGet);
+                job.finish(null);
+                log.info("Deleted {} batch {}: {} rows", type, batchId, job.deletedRows.get());
+            } catch (RuntimeException e) {
+                log.error("Failed to delete {} batch {}: {}", type, batchId, e.getMessage(), e);
+                job.finish(e.getMessage());
+            }
+        });
+        return job.toResponse();
+    }
+
+    @Override
+    public BatchDeletionJobResponse getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Batch deletion job not found with id: " + jobId);
+        }
+        return job.toResponse();
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(RETENTION_HOURS);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static class Job {
+        private final String id;
+        private final String type;
+        private final String batchId;
+        private final long totalRows;
+        private final AtomicLong deletedRows = new AtomicLong();
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile String status = "QUEUED";
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        Job(String id, String type, String batchId, long totalRows) {
+            this.id = id;
+            this.type = type;
+            this.batchId = batchId;
+            this.totalRows = totalRows;
+        }
+
+        void start() {
+            startedAt = LocalDateTime.now();
+            status = "RUNNING";
+        }
+
+        void finish(String failure) {
+            error = failure;
+            finishedAt = LocalDateTime.now();
+            status = failure == null ? "COMPLETED" : "FAILED";
+        }
+
+        BatchDeletionJobResponse toResponse() {
+            return BatchDeletionJobResponse.builder()
+                    .jobId(id)
+                    .type(type)
+                    .batchId(batchId)
+                    .status(status)
+                    .totalRows(totalRows)
+                    .deletedRows(deletedRows.get())
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
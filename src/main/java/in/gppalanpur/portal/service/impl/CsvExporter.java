@@ -0,0 +1,102 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes CSV exports straight to an output stream in constant memory.
+ *
+ * Entity exports read from a forward-only repository stream (a fetch-size
+ * limited cursor) inside one read-only transaction. Each row entity is
+ * detached once printed, so the persistence context only keeps what rows
+ * share, such as their department. The stream is flushed but not closed.
+ */
+@Component
+public class CsvExporter {
+
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public CsvExporter(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Export the entities of a repository stream.
+     *
+     * @param outputStream Destination of the CSV
+     * @param headers Header row
+     * @param entities Opens the entity stream; called inside the transaction
+     * @param row Maps an entity to its CSV values
+     * @throws IOException If writing to the stream fails
+     */
+    public <T> void exportEntities(OutputStream outputStream, String[] headers, Supplier<Stream<T>> entities,
+                                   Function<T, Object[]> row) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<T> stream = entities.get()) {
+                    print(outputStream, headers, stream, entity -> {
+                        Object[] values = row.apply(entity);
+                        entityManager.detach(entity);
+                        return values;
+                    });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Export rows that are already in memory or computed on the fly.
+     *
+     * @param outputStream Destination of the CSV
+     * @param headers Header row
+     * @param rows CSV values of each row
+     * @throws IOException If writing to the stream fails
+     */
+    public void export(OutputStream outputStream, String[] headers, Stream<Object[]> rows) throws IOException {
+        print(outputStream, headers, rows, Function.identity());
+    }
+
+    private static <T> void print(OutputStream outputStream, String[] headers, Stream<T> rows,
+                                  Function<T, Object[]> row) throws IOException {
+        // Not closed with the printer: the caller owns the output stream
+        CSVPrinter printer = new CSVPrinter(
+                new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS),
+                CSVFormat.DEFAULT.builder().setHeader(headers).build());
+        try {
+            rows.forEach(item -> {
+                try {
+                    printer.printRecord(row.apply(item));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        printer.flush();
+    }
+}
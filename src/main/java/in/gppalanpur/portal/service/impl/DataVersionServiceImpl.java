@@ -0,0 +1,126 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import in.gppalanpur.portal.entity.DataVersion;
+import in.gppalanpur.portal.repository.DataVersionRepository;
+import in.gppalanpur.portal.service.DataVersionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the table versions in memory. Writes on this node bump the shared
+ * counter in data_versions after commit and update the local copy right away;
+ * writes on other nodes are picked up by reloading the table every
+ * {@value #REFRESH_SECONDS} seconds. Versions only ever grow, so a reload can
+ * never hand out a tag that was already used for older data.
+ */
+@Service
+@Slf4j
+public class DataVersionServiceImpl implements DataVersionService {
+
+    private static final long REFRESH_SECONDS = 2;
+
+    private final DataVersionRepository dataVersionRepository;
+    private final TransactionTemplate newTransaction;
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final Object pendingKey = new Object();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "data-version-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DataVersionServiceImpl(DataVersionRepository dataVersionRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.dataVersionRepository = dataVersionRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void start() {
+        refresh();
+        scheduler.scheduleWithFixedDelay(this::refresh, REFRESH_SECONDS, REFRESH_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public void changed(String tableName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(tableName);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(pendingKey);
+        if (pending == null) {
+            Set<String> tables = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(pendingKey, tables);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(pendingKey);
+                    if (status == STATUS_COMMITTED) {
+                        tables.forEach(DataVersionServiceImpl.this::bump);
+                    }
+                }
+            });
+            pending = tables;
+        }
+        pending.add(tableName);
+    }
+
+    @Override
+    public Map<String, Long> getVersions(Collection<String> tableNames) {
+        Map<String, Long> result = new TreeMap<>();
+        for (String tableName : tableNames) {
+            result.put(tableName, versions.getOrDefault(tableName, 0L));
+        }
+        return result;
+    }
+
+    private void bump(String tableName) {
+        try {
+            Long version = newTransaction.execute(status -> {
+                dataVersionRepository.increment(tableName);
+                return dataVersionRepository.findById(tableName).map(DataVersion::getVersion).orElse(0L);
+            });
+            versions.merge(tableName, version != null ? version : 0L, Math::max);
+        } catch (RuntimeException e) {
+            // Not bumped locally either: a number the shared counter has not handed
+            // out yet could later be reused for different data
+            log.warn("Could not record change to {}: {}", tableName, e.getMessage());
+        }
+    }
+
+    private void refresh() {
+        try {
+            for (DataVersion dataVersion : dataVersionRepository.findAll()) {
+                versions.merge(dataVersion.getTableName(), dataVersion.getVersion(), Math::max);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not reload data versions: {}", e.getMessage());
+        }
+    }
+}
@@ -1,9 +1,8 @@
 package in.gppalanpur.portal.service.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -14,7 +13,6 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,6 +39,7 @@ public class DepartmentServiceImpl implements DepartmentService {
     
     private final DepartmentRepository departmentRepository;
     private final UserRepository userRepository;
+    private final CsvExporter csvExporter;
     
     private static final String[] CSV_HEADERS = {
             "Name", "Code", "Description", "EstablishedDate", "IsActive"
@@ -315,30 +314,15 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     @Override
-    public byte[] exportDepartments() {
-        List<Department> departments = departmentRepository.findAll();
-        
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        
-        try (OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
-             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(CSV_HEADERS))) {
-            
-            for (Department department : departments) {
-                csvPrinter.printRecord(
+    public void exportDepartments(OutputStream outputStream) throws IOException {
+        csvExporter.exportEntities(outputStream, CSV_HEADERS, departmentRepository::streamAllForExport,
+                department -> new Object[] {
                         department.getName(),
                         department.getCode(),
                         department.getDescription(),
                         department.getEstablishedDate(),
                         department.isActive()
-                );
-            }
-            
-            csvPrinter.flush();
-            return out.toByteArray();
-            
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to export departments: " + e.getMessage());
-        }
+                });
     }
     
     private DepartmentResponse mapToDepartmentResponse(Department department) {
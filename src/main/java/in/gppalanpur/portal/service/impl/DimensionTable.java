@@ -0,0 +1,110 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import in.gppalanpur.portal.repository.DimensionRepository;
+
+/**
+ * In-memory copy of one dimension table, mapping normalised keys to IDs and
+ * IDs to display values. The table is loaded on first use; keys not seen
+ * before are inserted through the given transaction, which should be a
+ * separate one so that a rolled-back import never leaves cached IDs behind.
+ * Loads go through it as well: lookups happen while a bulk loader has a COPY
+ * open on the import's connection, and any other statement on that connection
+ * would wait for the COPY forever.
+ */
+class DimensionTable {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final DimensionRepository dimensionRepository;
+    private final TransactionTemplate newTransaction;
+    private final String table;
+    private final String[] columns;
+    private final Map<String, Integer> idsByKey = new ConcurrentHashMap<>();
+    private final Map<Integer, String[]> valuesById = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    DimensionTable(DimensionRepository dimensionRepository, TransactionTemplate newTransaction,
+                   String table, String... columns) {
+        this.dimensionRepository = dimensionRepository;
+        this.newTransaction = newTransaction;
+        this.table = table;
+        this.columns = columns;
+    }
+
+    /** Normalised key of a name: whitespace collapsed, upper case. */
+    static String key(String value) {
+        return WHITESPACE.matcher(value.trim()).replaceAll(" ").toUpperCase(Locale.ROOT);
+    }
+
+    /** Display form of a name: whitespace collapsed. */
+    static String clean(String value) {
+        return WHITESPACE.matcher(value.trim()).replaceAll(" ");
+    }
+
+    /** ID of a key, creating the entry with the given display values if it is new. */
+    int idFor(String key, String... values) {
+        Integer id = ids().get(key);
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (this) {
+            id = idsByKey.get(key);
+            if (id == null) {
+                Object[] row = newTransaction.execute(status ->
+                        dimensionRepository.findOrCreate(table, key, columns, values));
+                id = put(row);
+            }
+            return id;
+        }
+    }
+
+    /** Display values of an ID, or nulls if the ID is null or unknown. */
+    String[] values(Integer id) {
+        if (id == null) {
+            return new String[columns.length];
+        }
+        String[] values = ids().isEmpty() ? null : valuesById.get(id);
+        if (values == null) {
+            // Added by another instance since the table was loaded
+            synchronized (this) {
+                loaded = false;
+            }
+            values = ids().isEmpty() ? null : valuesById.get(id);
+        }
+        return values != null ? values : new String[columns.length];
+    }
+
+    /** All keys and their IDs. */
+    Map<String, Integer> ids() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    newTransaction.executeWithoutResult(status ->
+                            dimensionRepository.findAll(table, columns).forEach(this::put));
+                    loaded = true;
+                }
+            }
+        }
+        return idsByKey;
+    }
+
+    /** Cache one (id, name_key, values...) row and return its ID. */
+    private int put(Object[] row) {
+        int id = (Integer) row[0];
+        String[] values = new String[columns.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (String) row[i + 2];
+        }
+        valuesById.put(id, values);
+        idsByKey.put((String) row[1], id);
+        return id;
+    }
+}
@@ -0,0 +1,219 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import in.gppalanpur.portal.dto.feedback.FeedbackAnalysisResponse;
+import in.gppalanpur.portal.entity.FeedbackRatingsConverter;
+import in.gppalanpur.portal.repository.FeedbackRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pearson correlations for feedback analysis.
+ *
+ * Question-to-question correlations are computed in one streaming pass over
+ * the matching feedback rows. The ID range is split into partitions that are
+ * scanned concurrently, each folding its rows into online co-moment
+ * accumulators (Welford), and the partial accumulators are then merged.
+ * Memory is fixed by the number of questions, not by the number of rows.
+ */
+@Component
+@Slf4j
+public class FeedbackCorrelationCalculator {
+
+    private static final int QUESTIONS = FeedbackRatingsConverter.QUESTION_COUNT;
+    private static final long MIN_PARTITION_SPAN = 20000;
+
+    private final FeedbackRepository feedbackRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService scanPool;
+    private final int partitions;
+
+    public FeedbackCorrelationCalculator(FeedbackRepository feedbackRepository, PlatformTransactionManager transactionManager) {
+        this.feedbackRepository = feedbackRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        // Each partition holds a database connection while it streams, so stay well inside the pool
+        this.partitions = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scanPool = Executors.newFixedThreadPool(partitions, runnable -> {
+            Thread thread = new Thread(runnable, "feedback-correlation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanPool.shutdownNow();
+    }
+
+    /**
+     * Correlate every pair of questions across individual feedback rows.
+     *
+     * @param scope Year, term, branch and semester filters resolved to dimension IDs
+     * @return Question to question correlation; null where a question has no variance
+     */
+    public Map<String, Map<String, Double>> questionCorrelations(FeedbackDimensionDictionary.Scope scope) {
+        List<Object[]> range = feedbackRepository.findIdRange();
+        if (range.isEmpty() || range.get(0)[0] == null) {
+            return new CoMoments().toMatrix();
+        }
+
+        long minId = (Long) range.get(0)[0];
+        long maxId = (Long) range.get(0)[1];
+        long span = maxId - minId + 1;
+        int count = (int) Math.max(1, Math.min(partitions, span / MIN_PARTITION_SPAN));
+        long step = (span + count - 1) / count;
+
+        List<CompletableFuture<CoMoments>> scans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long fromId = minId + i * step;
+            long toId = Math.min(maxId, fromId + step - 1);
+            scans.add(CompletableFuture.supplyAsync(() -> scan(scope, fromId, toId), scanPool));
+        }
+
+        CoMoments total = new CoMoments();
+        for (CompletableFuture<CoMoments> scan : scans) {
+            total.merge(scan.join());
+        }
+        return total.toMatrix();
+    }
+
+    /**
+     * Correlate the Q1..Q12 mean score profile of every subject with that of every faculty.
+     *
+     * @param subjects Subject analysis rows
+     * @param faculties Faculty analysis rows
+     * @return Subject name to faculty name to correlation; null where a profile is flat
+     */
+    public Map<String, Map<String, Double>> profileCorrelations(List<FeedbackAnalysisResponse> subjects,
+                                                                List<FeedbackAnalysisResponse> faculties) {
+        Map<String, Map<String, Double>> matrix = new LinkedHashMap<>();
+        for (FeedbackAnalysisResponse subject : subjects) {
+            Map<String, Double> correlations = new LinkedHashMap<>();
+            for (FeedbackAnalysisResponse faculty : faculties) {
+                CoMoments pair = new CoMoments();
+                for (int q = 1; q <= QUESTIONS; q++) {
+                    pair.addPair(0, 1, subject.getScores().get("Q" + q), faculty.getScores().get("Q" + q));
+                }
+                correlations.put(faculty.getName(), pair.correlation(0, 1));
+            }
+            matrix.put(subject.getName(), correlations);
+        }
+        return matrix;
+    }
+
+    private CoMoments scan(FeedbackDimensionDictionary.Scope scope, long fromId, long toId) {
+        CoMoments moments = new CoMoments();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = feedbackRepository.streamRatings(scope.isAllTerms(),
+                    scope.getTermIds(), scope.getBranchId(), scope.getSemester(), fromId, toId)) {
+                rows.forEach(moments::addRow);
+            }
+        });
+        return moments;
+    }
+
+    /**
+     * Pairwise-complete online co-moments for every pair of questions. Only the
+     * upper triangle (i < j) is used; a pair is updated when both ratings are present.
+     */
+    private static class CoMoments {
+        private final long[][] n = new long[QUESTIONS][QUESTIONS];
+        private final double[][] meanX = new double[QUESTIONS][QUESTIONS];
+        private final double[][] meanY = new double[QUESTIONS][QUESTIONS];
+        private final double[][] m2X = new double[QUESTIONS][QUESTIONS];
+        private final double[][] m2Y = new double[QUESTIONS][QUESTIONS];
+        private final double[][] c = new double[QUESTIONS][QUESTIONS];
+
+        void addRow(Object[] row) {
+            for (int i = 0; i < QUESTIONS; i++) {
+                if (row[i] == null) {
+                    continue;
+                }
+                double x = ((Number) row[i]).doubleValue();
+                for (int j = i + 1; j < QUESTIONS; j++) {
+                    if (row[j] != null) {
+                        add(i, j, x, ((Number) row[j]).doubleValue());
+                    }
+                }
+            }
+        }
+
+        void addPair(int i, int j, Double x, Double y) {
+            if (x != null && y != null) {
+                add(i, j, x, y);
+            }
+        }
+
+        private void add(int i, int j, double x, double y) {
+            long count = ++n[i][j];
+            double dx = x - meanX[i][j];
+            double dy = y - meanY[i][j];
+            meanX[i][j] += dx / count;
+            meanY[i][j] += dy / count;
+            m2X[i][j] += dx * (x - meanX[i][j]);
+            m2Y[i][j] += dy * (y - meanY[i][j]);
+            c[i][j] += dx * (y - meanY[i][j]);
+        }
+
+        /** Combine another partition's moments into this one (Chan et al.). */
+        void merge(CoMoments other) {
+            for (int i = 0; i < QUESTIONS; i++) {
+                for (int j = i + 1; j < QUESTIONS; j++) {
+                    long nB = other.n[i][j];
+                    if (nB == 0) {
+                        continue;
+                    }
+                    long nA = n[i][j];
+                    long total = nA + nB;
+                    double dx = other.meanX[i][j] - meanX[i][j];
+                    double dy = other.meanY[i][j] - meanY[i][j];
+                    double weight = (double) nA * nB / total;
+
+                    meanX[i][j] += dx * nB / total;
+                    meanY[i][j] += dy * nB / total;
+                    m2X[i][j] += other.m2X[i][j] + dx * dx * weight;
+                    m2Y[i][j] += other.m2Y[i][j] + dy * dy * weight;
+                    c[i][j] += other.c[i][j] + dx * dy * weight;
+                    n[i][j] = total;
+                }
+            }
+        }
+
+        Double correlation(int i, int j) {
+            double denominator = Math.sqrt(m2X[i][j] * m2Y[i][j]);
+            return n[i][j] < 2 || denominator == 0 ? null : c[i][j] / denominator;
+        }
+
+        Map<String, Map<String, Double>> toMatrix() {
+            Map<String, Map<String, Double>> matrix = new LinkedHashMap<>();
+            for (int i = 0; i < QUESTIONS; i++) {
+                Map<String, Double> row = new LinkedHashMap<>();
+                for (int j = 0; j < QUESTIONS; j++) {
+                    if (i == j) {
+                        row.put("Q" + (j + 1), 1.0);
+                    } else {
+                        row.put("Q" + (j + 1), i < j ? correlation(i, j) : correlation(j, i));
+                    }
+                }
+                matrix.put("Q" + (i + 1), row);
+            }
+            return matrix;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import in.gppalanpur.portal.repository.DimensionRepository;
+
+import static in.gppalanpur.portal.service.impl.DimensionTable.clean;
+import static in.gppalanpur.portal.service.impl.DimensionTable.key;
+
+/**
+ * In-memory dictionary of the feedback dimensions. Imports turn names into
+ * integer IDs here, creating dimension rows for names not seen before, and
+ * listings, exports and analytics turn IDs back into names without a join.
+ *
+ * Names are matched on a normalised key: whitespace is collapsed and case is
+ * ignored, and faculty names additionally ignore dots and leading honorifics.
+ * The key expressions are mirrored in the V9 migration that backfilled the tables.
+ */
+@Component
+public class FeedbackDimensionDictionary {
+
+    private static final Pattern HONORIFICS = Pattern.compile("^((PROF|DR|MRS|MR|MS|SHRI|SMT) )+");
+
+    /** ID that no dimension row has; filters on an unknown name match nothing. */
+    private static final int NO_MATCH = -1;
+
+    private final DimensionTable terms;
+    private final DimensionTable branches;
+    private final DimensionTable subjects;
+    private final DimensionTable faculty;
+
+    public FeedbackDimensionDictionary(DimensionRepository dimensionRepository,
+                                       PlatformTransactionManager transactionManager) {
+        // New entries commit on their own, so a rolled-back import chunk never leaves cached IDs behind
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.terms = new DimensionTable(dimensionRepository, newTransaction,
+                DimensionRepository.FEEDBACK_TERMS, "year", "term");
+        this.branches = new DimensionTable(dimensionRepository, newTransaction,
+                DimensionRepository.FEEDBACK_BRANCHES, "name");
+        this.subjects = new DimensionTable(dimensionRepository, newTransaction,
+                DimensionRepository.FEEDBACK_SUBJECTS, "code", "name");
+        this.faculty = new DimensionTable(dimensionRepository, newTransaction,
+                DimensionRepository.FEEDBACK_FACULTY, "name");
+    }
+
+    public int termId(String year, String term) {
+        return terms.idFor(key(year) + "|" + key(term), clean(year), clean(term));
+    }
+
+    public int branchId(String name) {
+        return branches.idFor(key(name), clean(name));
+    }
+
+    public int subjectId(String code, String name) {
+        return subjects.idFor(key(code), clean(code), clean(name));
+    }
+
+    public int facultyId(String name) {
+        return faculty.idFor(facultyKey(name), clean(name));
+    }
+
+    /** Year and term of a term ID, or nulls if unknown. */
+    public String[] term(Integer id) {
+        return terms.values(id);
+    }
+
+    public String branchName(Integer id) {
+        return branches.values(id)[0];
+    }
+
+    /** Code and name of a subject ID, or nulls if unknown. */
+    public String[] subject(Integer id) {
+        return subjects.values(id);
+    }
+
+    public String facultyName(Integer id) {
+        return faculty.values(id)[0];
+    }
+
+    /**
+     * IDs of the terms matching a year and/or term filter.
+     *
+     * @return null when neither is given, otherwise the matching IDs (possibly none)
+     */
+    public List<Integer> findTermIds(String year, String term) {
+        if (isBlank(year) && isBlank(term)) {
+            return null;
+        }
+        String yearKey = isBlank(year) ? null : key(year);
+        String termKey = isBlank(term) ? null : key(term);
+
+        List<Integer> ids = new ArrayList<>();
+        terms.ids().forEach((key, id) -> {
+            int separator = key.indexOf('|');
+            if ((yearKey == null || yearKey.equals(key.substring(0, separator)))
+                    && (termKey == null || termKey.equals(key.substring(separator + 1)))) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    /** @return null when no filter is given, otherwise the ID or one that matches nothing */
+    public Integer findBranchId(String name) {
+        return isBlank(name) ? null : branches.ids().getOrDefault(key(name), NO_MATCH);
+    }
+
+    /** @return null when no filter is given, otherwise the ID or one that matches nothing */
+    public Integer findSubjectId(String code) {
+        return isBlank(code) ? null : subjects.ids().getOrDefault(key(code), NO_MATCH);
+    }
+
+    /** @return null when no filter is given, otherwise the ID or one that matches nothing */
+    public Integer findFacultyId(String name) {
+        return isBlank(name) ? null : faculty.ids().getOrDefault(facultyKey(name), NO_MATCH);
+    }
+
+    /**
+     * Resolve the report filters to dimension IDs for the native analytics queries.
+     */
+    public Scope scope(String year, String term, String branch, Integer semester) {
+        List<Integer> termIds = findTermIds(year, term);
+        Scope scope = new Scope();
+        scope.allTerms = termIds == null;
+        // An empty IN list is not valid SQL; an ID that matches nothing is
+        scope.termIds = termIds == null || termIds.isEmpty() ? List.of(NO_MATCH) : termIds;
+        scope.branchId = findBranchId(branch);
+        scope.semester = semester;
+        return scope;
+    }
+
+    static String facultyKey(String value) {
+        return HONORIFICS.matcher(key(value.replace('.', ' '))).replaceFirst("");
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Report filters resolved to dimension IDs. termIds is never empty; allTerms
+     * says whether it should be ignored, and a null branchId or semester means any.
+     */
+    public static class Scope {
+        private boolean allTerms;
+        private List<Integer> termIds;
+        private Integer branchId;
+        private Integer semester;
+
+        public boolean isAllTerms() {
+            return allTerms;
+        }
+
+        public List<Integer> getTermIds() {
+            return termIds;
+        }
+
+        public Integer getBranchId() {
+            return branchId;
+        }
+
+        public Integer getSemester() {
+            return semester;
+        }
+    }
+}
@@ -1,38 +1,39 @@
 package in.gppalanpur.portal.service.impl;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.ss.usermodel.FillPatternType;
-import org.apache.poi.ss.usermodel.Font;
-import org.apache.poi.ss.usermodel.IndexedColors;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.lowagie.text.Document;
@@ -40,21 +41,32 @@ import com.lowagie.text.DocumentException;
 import com.lowagie.text.Element;
 import com.lowagie.text.FontFactory;
 import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 
+import in.gppalanpur.portal.config.AppProperties;
+import in.gppalanpur.portal.dto.BatchDeletionJobResponse;
 import in.gppalanpur.portal.dto.feedback.FeedbackAnalysisResponse;
 import in.gppalanpur.portal.dto.feedback.FeedbackAnalysisResult;
 import in.gppalanpur.portal.dto.feedback.FeedbackBatchResponse;
 import in.gppalanpur.portal.dto.feedback.FeedbackImportResult;
 import in.gppalanpur.portal.dto.feedback.FeedbackResponse;
 import in.gppalanpur.portal.entity.Feedback;
+import in.gppalanpur.portal.entity.FeedbackRatingsConverter;
+import in.gppalanpur.portal.entity.UploadBatch;
 import in.gppalanpur.portal.entity.User;
+import in.gppalanpur.portal.exception.BadRequestException;
 import in.gppalanpur.portal.exception.ResourceNotFoundException;
+import in.gppalanpur.portal.repository.BatchDeletionRepository;
+import in.gppalanpur.portal.repository.FeedbackBulkLoader;
 import in.gppalanpur.portal.repository.FeedbackRepository;
 import in.gppalanpur.portal.repository.UserRepository;
+import in.gppalanpur.portal.service.BatchDeletionJobService;
 import in.gppalanpur.portal.service.FeedbackService;
+import in.gppalanpur.portal.service.FileStorageService;
+import in.gppalanpur.portal.service.UploadBatchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -63,18 +75,40 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class FeedbackServiceImpl implements FeedbackService {
 
+    private static final int DELETE_CHUNK_SIZE = 2000;
+    private static final String REPORT_CACHE_KIND = "feedback";
+    private static final int PDF_FLUSH_ROWS = 50;
+    private static final com.lowagie.text.Font PDF_TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 18, com.lowagie.text.Font.BOLD);
+    private static final com.lowagie.text.Font PDF_HEADING_FONT = FontFactory.getFont(FontFactory.HELVETICA, 14, com.lowagie.text.Font.BOLD);
+    private static final com.lowagie.text.Font PDF_HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, com.lowagie.text.Font.BOLD);
+    private static final com.lowagie.text.Font PDF_TEXT_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+    private static final java.awt.Color PDF_HEADER_BACKGROUND = new java.awt.Color(220, 220, 220);
+    private static final String[] EXPORT_HEADERS = {"ID", "Year", "Term", "Branch", "Semester", "Term_Start", "Term_End",
+            "Subject_Code", "Subject_Name", "Faculty_Name",
+            "Q1", "Q2", "Q3", "Q4", "Q5", "Q6", "Q7", "Q8", "Q9", "Q10", "Q11", "Q12",
+            "Batch_ID", "Created_At"};
+    private static final int[] EXCEL_COLUMN_WIDTHS = {40, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 9, 8};
+
     private final FeedbackRepository feedbackRepository;
     private final UserRepository userRepository;
+    private final BatchDeletionRepository batchDeletionRepository;
+    private final BatchDeletionJobService batchDeletionJobService;
+    private final PlatformTransactionManager transactionManager;
+    private final FeedbackCorrelationCalculator feedbackCorrelationCalculator;
+    private final ReportFileCache reportFileCache;
+    private final FeedbackBulkLoader feedbackBulkLoader;
+    private final AppProperties appProperties;
+    private final UploadBatchService uploadBatchService;
+    private final FileStorageService fileStorageService;
+    private final FeedbackDimensionDictionary dimensions;
+    private final CsvExporter csvExporter;
+    private final NdjsonStreamer ndjsonStreamer;
     
     @Override
-    public Page<FeedbackResponse> getAllFeedback(String year, String term, String branch, Integer semester, Pageable pageable) {
-        Page<Feedback> feedbackPage;
-        
-        if (year != null && term != null && branch != null) {
-            feedbackPage = feedbackRepository.findByYearAndTermAndBranch(year, term, branch, pageable);
-        } else {
-            feedbackPage = feedbackRepository.findAll(pageable);
-        }
+    public Page<FeedbackResponse> getAllFeedback(String year, String term, String branch, Integer semester,
+                                                 String subjectCode, String facultyName, String batchId, Pageable pageable) {
+        Specification<Feedback> spec = feedbackFilter(year, term, branch, semester, subjectCode, facultyName, batchId);
+        Page<Feedback> feedbackPage = feedbackRepository.findAll(spec, pageable);
         
         List<FeedbackResponse> feedbackResponses = feedbackPage.getContent().stream()
                 .map(this::convertToDto)
@@ -83,6 +117,38 @@ public class FeedbackServiceImpl implements FeedbackService {
         return new PageImpl<>(feedbackResponses, pageable, feedbackPage.getTotalElements());
     }
 
+    @Override
+    public void streamFeedback(String year, String term, String branch, Integer semester, String subjectCode,
+                               String facultyName, String batchId, OutputStream outputStream) throws IOException {
+        Specification<Feedback> spec = feedbackFilter(year, term, branch, semester, subjectCode, facultyName, batchId);
+        ndjsonStreamer.stream(outputStream, Feedback.class, spec,
+                chunk -> chunk.stream().map(this::convertToDto).collect(Collectors.toList()));
+    }
+
+    /**
+     * Listing filters, with names resolved to dimension IDs.
+     */
+    private Specification<Feedback> feedbackFilter(String year, String term, String branch, Integer semester,
+                                                   String subjectCode, String facultyName, String batchId) {
+        Specification<Feedback> spec = Specification.where(null);
+        List<Integer> termIds = dimensions.findTermIds(year, term);
+        if (termIds != null) {
+            spec = spec.and((root, query, cb) -> termIds.isEmpty() ? cb.disjunction() : root.get("termId").in(termIds));
+        }
+        spec = withEqual(spec, "branchId", dimensions.findBranchId(branch));
+        spec = withEqual(spec, "semester", semester);
+        spec = withEqual(spec, "subjectId", dimensions.findSubjectId(subjectCode));
+        spec = withEqual(spec, "facultyId", dimensions.findFacultyId(facultyName));
+        return withEqual(spec, "batchId", batchId);
+    }
+
+    private static Specification<Feedback> withEqual(Specification<Feedback> spec, String attribute, Object value) {
+        if (value == null || (value instanceof String && ((String) value).isEmpty())) {
+            return spec;
+        }
+        return spec.and((root, query, cb) -> cb.equal(root.get(attribute), value));
+    }
+
     @Override
     public FeedbackResponse getFeedback(Long id) {
         Feedback feedback = feedbackRepository.findById(id)
@@ -92,90 +158,236 @@ public class FeedbackServiceImpl implements FeedbackService {
     }
 
     @Override
-    @Transactional
-    public FeedbackImportResult importFeedback(MultipartFile file, Long userId) {
+    public FeedbackImportResult importFeedback(MultipartFile file, Long userId, boolean dryRun) {
         FeedbackImportResult importResult = new FeedbackImportResult();
-        String batchId = UUID.randomUUID().toString();
-        importResult.setBatchId(batchId);
-        
+        importResult.setDryRun(dryRun);
+
         User uploader = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-        
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()));
+
+        // Dry runs only validate, so they read the upload directly and leave no file behind
+        UploadBatch batch = null;
+        if (!dryRun) {
+            String batchId = UUID.randomUUID().toString();
+            try (InputStream inputStream = file.getInputStream()) {
+                batch = fileStorageService.store(inputStream, file.getOriginalFilename(), "text/csv", upload ->
+                        uploadBatchService.findImported(UploadBatch.KIND_FEEDBACK, upload.getSha256())
+                                .orElseGet(() -> uploadBatchService.start(batchId, UploadBatch.KIND_FEEDBACK,
+                                        file.getOriginalFilename(), upload.getSha256(), uploader.getId())));
+            } catch (IOException e) {
+                log.error("Error reading CSV file: {}", e.getMessage());
+                importResult.getErrors().add("Error reading CSV file: " + e.getMessage());
+                return importResult;
+            }
+
+            if (!batchId.equals(batch.getBatchId())) {
+                log.info("Feedback file {} was already imported as batch {}", batch.getContentSha256(),
+                        batch.getBatchId());
+                importResult.setBatchId(batch.getBatchId());
+                importResult.setDuplicate(true);
+                importResult.setSuccessCount(batch.getRowCount());
+                importResult.setErrorCount(batch.getErrorCount());
+                importResult.setTotalRecords(batch.getRowCount() + batch.getErrorCount());
+                return importResult;
+            }
+            importResult.setBatchId(batchId);
+        }
+
+        try (BufferedReader reader = batch != null
+                     ? Files.newBufferedReader(fileStorageService.getPath(batch.getContentSha256()))
+                     : new BufferedReader(new InputStreamReader(file.getInputStream()));
              CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT.builder().setHeader().build())) {
-            
-            List<CSVRecord> records = csvParser.getRecords();
-            importResult.setTotalRecords(records.size());
-            
-            for (CSVRecord record : records) {
-                try {
-                    Feedback feedback = parseFeedbackFromCsv(record, batchId, uploader);
-                    feedbackRepository.save(feedback);
-                    importResult.setSuccessCount(importResult.getSuccessCount() + 1);
-                } catch (Exception e) {
-                    log.error("Error importing feedback: {}", e.getMessage());
-                    importResult.setErrorCount(importResult.getErrorCount() + 1);
-                    importResult.getErrors().add("Row " + record.getRecordNumber() + ": " + e.getMessage());
-                }
+
+            FeedbackCsvColumns columns = new FeedbackCsvColumns(csvParser.getHeaderMap());
+            if (dryRun) {
+                validateFeedback(csvParser, columns, importResult);
+            } else {
+                loadFeedback(csvParser, columns, batch.getBatchId(), uploader.getId(), importResult);
+                uploadBatchService.finish(batch.getBatchId(), importResult.getSuccessCount(),
+                        importResult.getErrorCount());
             }
-            
-        } catch (IOException e) {
+
+        } catch (IOException | UncheckedIOException e) {
             log.error("Error reading CSV file: {}", e.getMessage());
             importResult.getErrors().add("Error reading CSV file: " + e.getMessage());
+            failBatch(batch, importResult);
+        } catch (RuntimeException e) {
+            failBatch(batch, importResult);
+            throw e;
         }
-        
+
         return importResult;
     }
 
-    @Override
-    public byte[] exportFeedback() {
-        List<Feedback> feedbackList = feedbackRepository.findAll();
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        
-        try (CSVPrinter csvPrinter = new CSVPrinter(new OutputStreamWriter(out), CSVFormat.DEFAULT.builder()
-                .setHeader("ID", "Year", "Term", "Branch", "Semester", "Term_Start", "Term_End", 
-                        "Subject_Code", "Subject_Name", "Faculty_Name", 
-                        "Q1", "Q2", "Q3", "Q4", "Q5", "Q6", "Q7", "Q8", "Q9", "Q10", "Q11", "Q12",
-                        "Batch_ID", "Created_At")
-                .build())) {
-            
-            for (Feedback feedback : feedbackList) {
-                csvPrinter.printRecord(
-                        feedback.getId(),
-                        feedback.getYear(),
-                        feedback.getTerm(),
-                        feedback.getBranch(),
-                        feedback.getSemester(),
-                        feedback.getTermStart(),
-                        feedback.getTermEnd(),
-                        feedback.getSubjectCode(),
-                        feedback.getSubjectName(),
-                        feedback.getFacultyName(),
-                        feedback.getRatings().getOrDefault("Q1", 0),
-                        feedback.getRatings().getOrDefault("Q2", 0),
-                        feedback.getRatings().getOrDefault("Q3", 0),
-                        feedback.getRatings().getOrDefault("Q4", 0),
-                        feedback.getRatings().getOrDefault("Q5", 0),
-                        feedback.getRatings().getOrDefault("Q6", 0),
-                        feedback.getRatings().getOrDefault("Q7", 0),
-                        feedback.getRatings().getOrDefault("Q8", 0),
-                        feedback.getRatings().getOrDefault("Q9", 0),
-                        feedback.getRatings().getOrDefault("Q10", 0),
-                        feedback.getRatings().getOrDefault("Q11", 0),
-                        feedback.getRatings().getOrDefault("Q12", 0),
-                        feedback.getBatchId(),
-                        feedback.getCreatedAt()
-                );
+    /**
+     * Close the batch of an import that stopped early. Chunks committed so far
+     * stay in it.
+     */
+    private void failBatch(UploadBatch batch, FeedbackImportResult importResult) {
+        if (batch != null) {
+            uploadBatchService.finish(batch.getBatchId(), importResult.getSuccessCount(), importResult.getErrorCount());
+            uploadBatchService.fail(batch.getBatchId());
+        }
+    }
+
+    /**
+     * Stream records into the database one chunk per transaction. A chunk that
+     * fails to insert is reported as a whole; earlier chunks stay committed.
+     */
+    private void loadFeedback(CSVParser csvParser, FeedbackCsvColumns columns, String batchId, Long uploaderId,
+                              FeedbackImportResult importResult) {
+        int chunkSize = Math.max(1, appProperties.getFeedback().getImportChunkSize());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<FeedbackBulkLoader.Row> chunk = new ArrayList<>(chunkSize);
+        long firstRecord = 0;
+        long lastRecord = 0;
+
+        try {
+            for (CSVRecord record : csvParser) {
+                importResult.setTotalRecords(importResult.getTotalRecords() + 1);
+                try {
+                    chunk.add(toRow(columns.parse(record)));
+                } catch (RuntimeException e) {
+                    log.debug("Error importing feedback: {}", e.getMessage());
+                    importResult.setErrorCount(importResult.getErrorCount() + 1);
+                    importResult.getErrors().add(rowError(record, e));
+                    continue;
+                }
+
+                if (chunk.size() == 1) {
+                    firstRecord = record.getRecordNumber();
+                }
+                lastRecord = record.getRecordNumber();
+                if (chunk.size() == chunkSize) {
+                    insertChunk(transaction, chunk, batchId, uploaderId, firstRecord, lastRecord, importResult);
+                    chunk.clear();
+                }
             }
-            
-            csvPrinter.flush();
-            return out.toByteArray();
-        } catch (IOException e) {
-            log.error("Error exporting feedback to CSV: {}", e.getMessage());
-            throw new RuntimeException("Error exporting feedback to CSV", e);
+            if (!chunk.isEmpty()) {
+                insertChunk(transaction, chunk, batchId, uploaderId, firstRecord, lastRecord, importResult);
+            }
+        } finally {
+            if (importResult.getSuccessCount() > 0) {
+                reportFileCache.invalidateAfterCommit(REPORT_CACHE_KIND);
+            }
+        }
+    }
+
+    private void insertChunk(TransactionTemplate transaction, List<FeedbackBulkLoader.Row> chunk, String batchId,
+                             Long uploaderId, long firstRecord, long lastRecord, FeedbackImportResult importResult) {
+        try {
+            transaction.executeWithoutResult(status -> feedbackBulkLoader.insert(chunk, batchId, uploaderId));
+            importResult.setSuccessCount(importResult.getSuccessCount() + chunk.size());
+        } catch (DataAccessException e) {
+            log.error("Error importing feedback rows {}-{}: {}", firstRecord, lastRecord, e.getMessage());
+            importResult.setErrorCount(importResult.getErrorCount() + chunk.size());
+            importResult.getErrors().add("Rows " + firstRecord + "-" + lastRecord + ": "
+                    + e.getMostSpecificCause().getMessage());
         }
     }
 
+    /**
+     * Parse every record without writing anything. Records are read in order and
+     * validated chunk by chunk on the common pool; at most a small window of
+     * chunks is in flight, and errors are collected in file order.
+     */
+    private void validateFeedback(CSVParser csvParser, FeedbackCsvColumns columns, FeedbackImportResult importResult) {
+        int chunkSize = Math.max(1, appProperties.getFeedback().getImportChunkSize());
+        int window = 2 * Runtime.getRuntime().availableProcessors();
+        Deque<CompletableFuture<List<String>>> pending = new ArrayDeque<>();
+        List<CSVRecord> chunk = new ArrayList<>(chunkSize);
+
+        for (CSVRecord record : csvParser) {
+            importResult.setTotalRecords(importResult.getTotalRecords() + 1);
+            chunk.add(record);
+            if (chunk.size() == chunkSize) {
+                List<CSVRecord> records = chunk;
+                pending.add(CompletableFuture.supplyAsync(() -> validateChunk(records, columns)));
+                chunk = new ArrayList<>(chunkSize);
+                if (pending.size() > window) {
+                    importResult.getErrors().addAll(pending.poll().join());
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            List<CSVRecord> records = chunk;
+            pending.add(CompletableFuture.supplyAsync(() -> validateChunk(records, columns)));
+        }
+        while (!pending.isEmpty()) {
+            importResult.getErrors().addAll(pending.poll().join());
+        }
+
+        importResult.setErrorCount(importResult.getErrors().size());
+        importResult.setSuccessCount(importResult.getTotalRecords() - importResult.getErrorCount());
+    }
+
+    private static List<String> validateChunk(List<CSVRecord> records, FeedbackCsvColumns columns) {
+        List<String> errors = new ArrayList<>();
+        for (CSVRecord record : records) {
+            try {
+                columns.parse(record);
+            } catch (RuntimeException e) {
+                errors.add(rowError(record, e));
+            }
+        }
+        return errors;
+    }
+
+    private static String rowError(CSVRecord record, RuntimeException e) {
+        return "Row " + record.getRecordNumber() + ": " + e.getMessage();
+    }
+
+    /**
+     * Resolve the names of a parsed record to dimension IDs. Runs outside the
+     * chunk transaction: new dimension entries commit on their own.
+     */
+    private FeedbackBulkLoader.Row toRow(ParsedFeedback parsed) {
+        return new FeedbackBulkLoader.Row(
+                dimensions.termId(parsed.year, parsed.term),
+                dimensions.branchId(parsed.branch),
+                parsed.semester,
+                parsed.termStart,
+                parsed.termEnd,
+                dimensions.subjectId(parsed.subjectCode, parsed.subjectName),
+                dimensions.facultyId(parsed.facultyName),
+                parsed.ratings);
+    }
+
+    @Override
+    public void exportFeedback(OutputStream outputStream) throws IOException {
+        csvExporter.exportEntities(outputStream, EXPORT_HEADERS, feedbackRepository::streamAllForExport, feedback -> {
+            String[] yearTerm = dimensions.term(feedback.getTermId());
+            String[] subject = dimensions.subject(feedback.getSubjectId());
+            Map<String, Integer> ratings = feedback.getRatings();
+            return new Object[] {
+                    feedback.getId(),
+                    yearTerm[0],
+                    yearTerm[1],
+                    dimensions.branchName(feedback.getBranchId()),
+                    feedback.getSemester(),
+                    feedback.getTermStart(),
+                    feedback.getTermEnd(),
+                    subject[0],
+                    subject[1],
+                    dimensions.facultyName(feedback.getFacultyId()),
+                    ratings.getOrDefault("Q1", 0),
+                    ratings.getOrDefault("Q2", 0),
+                    ratings.getOrDefault("Q3", 0),
+                    ratings.getOrDefault("Q4", 0),
+                    ratings.getOrDefault("Q5", 0),
+                    ratings.getOrDefault("Q6", 0),
+                    ratings.getOrDefault("Q7", 0),
+                    ratings.getOrDefault("Q8", 0),
+                    ratings.getOrDefault("Q9", 0),
+                    ratings.getOrDefault("Q10", 0),
+                    ratings.getOrDefault("Q11", 0),
+                    ratings.getOrDefault("Q12", 0),
+                    feedback.getBatchId(),
+                    feedback.getCreatedAt()
+            };
+        });
+    }
+
     @Override
     public String getSampleCsv() {
         return "Year,Term,Branch,Sem,Term_Start,Term_End,Subject_Code,Subject_FullName,Faculty_Name,Q1,Q2,Q3,Q4,Q5,Q6,Q7,Q8,Q9,Q10,Q11,Q12\n" +
@@ -186,176 +398,78 @@ public class FeedbackServiceImpl implements FeedbackService {
     public FeedbackAnalysisResult analyzeFeedback(String year, String term, String branch, Integer semester) {
         FeedbackAnalysisResult result = new FeedbackAnalysisResult();
         
-        // Get subject analysis
-        List<Object[]> subjectData = feedbackRepository.getSubjectAnalysis(year, term, branch, semester);
-        List<FeedbackAnalysisResponse> subjectScores = subjectData.stream()
-                .map(data -> {
-                    String subjectCode = (String) data[0];
-                    String subjectName = (String) data[1];
-                    Map<String, Double> scores = new HashMap<>();
-                    
-                    for (int i = 0; i < 12; i++) {
-                        scores.put("Q" + (i + 1), (Double) data[i + 2]);
-                    }
-                    
-                    Double averageScore = scores.values().stream()
-                            .mapToDouble(Double::doubleValue)
-                            .average()
-                            .orElse(0.0);
-                    
-                    Long count = (Long) data[14];
-                    
-                    return FeedbackAnalysisResponse.builder()
-                            .category("subject")
-                            .name(subjectCode + " - " + subjectName)
-                            .scores(scores)
-                            .count(count.intValue())
-                            .averageScore(averageScore)
-                            .build();
-                })
-                .collect(Collectors.toList());
-        
-        result.setSubjectScores(subjectScores);
-        
-        // Get faculty analysis
-        List<Object[]> facultyData = feedbackRepository.getFacultyAnalysis(year, term, branch, semester);
-        List<FeedbackAnalysisResponse> facultyScores = facultyData.stream()
-                .map(data -> {
-                    String facultyName = (String) data[0];
-                    Map<String, Double> scores = new HashMap<>();
-                    
-                    for (int i = 0; i < 12; i++) {
-                        scores.put("Q" + (i + 1), (Double) data[i + 1]);
-                    }
-                    
-                    Double averageScore = scores.values().stream()
-                            .mapToDouble(Double::doubleValue)
-                            .average()
-                            .orElse(0.0);
-                    
-                    Long count = (Long) data[13];
-                    
-                    return FeedbackAnalysisResponse.builder()
-                            .category("faculty")
-                            .name(facultyName)
-                            .scores(scores)
-                            .count(count.intValue())
-                            .averageScore(averageScore)
-                            .build();
-                })
-                .collect(Collectors.toList());
-        
-        result.setFacultyScores(facultyScores);
-        
-        // Get semester analysis
-        List<Object[]> semesterData = feedbackRepository.getSemesterAnalysis(year, term, branch);
-        List<FeedbackAnalysisResponse> semesterScores = semesterData.stream()
-                .map(data -> {
-                    Integer sem = (Integer) data[0];
-                    Map<String, Double> scores = new HashMap<>();
-                    
-                    for (int i = 0; i < 12; i++) {
-                        scores.put("Q" + (i + 1), (Double) data[i + 1]);
-                    }
-                    
-                    Double averageScore = scores.values().stream()
-                            .mapToDouble(Double::doubleValue)
-                            .average()
-                            .orElse(0.0);
-                    
-                    Long count = (Long) data[13];
-                    
-                    return FeedbackAnalysisResponse.builder()
-                            .category("semester")
-                            .name("Semester " + sem)
-                            .scores(scores)
-                            .count(count.intValue())
-                            .averageScore(averageScore)
-                            .build();
-                })
-                .collect(Collectors.toList());
-        
-        result.setSemesterScores(semesterScores);
-        
-        // Get branch analysis
-        List<Object[]> branchData = feedbackRepository.getBranchAnalysis(year, term);
-        List<FeedbackAnalysisResponse> branchScores = branchData.stream()
-                .map(data -> {
-                    String branchName = (String) data[0];
-                    Map<String, Double> scores = new HashMap<>();
-                    
-                    for (int i = 0; i < 12; i++) {
-                        scores.put("Q" + (i + 1), (Double) data[i + 1]);
-                    }
-                    
-                    Double averageScore = scores.values().stream()
-                            .mapToDouble(Double::doubleValue)
-                            .average()
-                            .orElse(0.0);
-                    
-                    Long count = (Long) data[13];
-                    
-                    return FeedbackAnalysisResponse.builder()
-                            .category("branch")
-                            .name(branchName)
-                            .scores(scores)
-                            .count(count.intValue())
-                            .averageScore(averageScore)
-                            .build();
-                })
-                .collect(Collectors.toList());
-        
-        result.setBranchScores(branchScores);
-        
-        // Get term-year analysis
-        List<Object[]> termYearData = feedbackRepository.getTermYearAnalysis();
-        List<FeedbackAnalysisResponse> termYearScores = termYearData.stream()
-                .map(data -> {
-                    String yearTerm = (String) data[0];
-                    Map<String, Double> scores = new HashMap<>();
-                    
-                    for (int i = 0; i < 12; i++) {
-                        scores.put("Q" + (i + 1), (Double) data[i + 1]);
-                    }
-                    
-                    Double averageScore = scores.values().stream()
-                            .mapToDouble(Double::doubleValue)
-                            .average()
-                            .orElse(0.0);
-                    
-                    Long count = (Long) data[13];
-                    
-                    return FeedbackAnalysisResponse.builder()
-                            .category("yearTerm")
-                            .name(yearTerm)
-                            .scores(scores)
-                            .count(count.intValue())
-                            .averageScore(averageScore)
-                            .build();
-                })
-                .collect(Collectors.toList());
-        
-        result.setTermYearScores(termYearScores);
+        // All five groupings come back from a single scan, tagged by category
+        FeedbackDimensionDictionary.Scope scope = dimensions.scope(year, term, branch, semester);
+        for (Object[] data : feedbackRepository.getAnalysis(scope.isAllTerms(), scope.getTermIds(),
+                scope.getBranchId(), scope.getSemester())) {
+            FeedbackAnalysisResponse response = convertAnalysisRow(data);
+            switch (response.getCategory()) {
+                case "subject":
+                    result.getSubjectScores().add(response);
+                    break;
+                case "faculty":
+                    result.getFacultyScores().add(response);
+                    break;
+                case "semester":
+                    result.getSemesterScores().add(response);
+                    break;
+                case "branch":
+                    result.getBranchScores().add(response);
+                    break;
+                default:
+                    result.getTermYearScores().add(response);
+            }
+        }
         
-        // Calculate correlation matrix
-        result.setCorrelationMatrix(calculateCorrelationMatrix(subjectScores, facultyScores));
+        // Calculate correlation matrices
+        result.setCorrelationMatrix(feedbackCorrelationCalculator.profileCorrelations(
+                result.getSubjectScores(), result.getFacultyScores()));
+        result.setQuestionCorrelations(feedbackCorrelationCalculator.questionCorrelations(scope));
         
         return result;
     }
     
     @Override
-    public byte[] generatePdfReport(String year, String term, String branch, Integer semester) {
+    public Path getPdfReportFile(String year, String term, String branch, Integer semester) {
+        return getReportFile("pdf", year, term, branch, semester,
+                out -> writePdfReport(year, term, branch, semester, out));
+    }
+    
+    @Override
+    public Path getExcelReportFile(String year, String term, String branch, Integer semester) {
+        return getReportFile("xlsx", year, term, branch, semester,
+                out -> writeExcelReport(year, term, branch, semester, out));
+    }
+    
+    /**
+     * Serve a report from the disk cache. The key is the filter tuple plus a
+     * digest of the feedback batch set, so any import or delete yields new keys.
+     */
+    private Path getReportFile(String extension, String year, String term, String branch, Integer semester,
+                               ReportFileCache.ReportWriter writer) {
+        String dataVersion = reportFileCache.dataVersion(REPORT_CACHE_KIND, feedbackRepository::findDataVersion);
+        try {
+            return reportFileCache.get(REPORT_CACHE_KIND, extension,
+                    Arrays.asList(year, term, branch, semester, dataVersion), writer);
+        } catch (IOException e) {
+            log.error("Error caching {} report: {}", extension, e.getMessage());
+            throw new RuntimeException("Error generating " + extension + " report", e);
+        }
+    }
+    
+    @Override
+    public void writePdfReport(String year, String term, String branch, Integer semester,
+                               OutputStream outputStream) throws IOException {
         FeedbackAnalysisResult analysis = analyzeFeedback(year, term, branch, semester);
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
         
         try {
             Document document = new Document();
-            PdfWriter.getInstance(document, baos);
+            PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+            writer.setCloseStream(false);
             document.open();
             
             // Add title
-            com.lowagie.text.Font titleFont = FontFactory.getFont(FontFactory.HELVETICA, 18, com.lowagie.text.Font.BOLD);
-            Paragraph title = new Paragraph("Feedback Analysis Report", titleFont);
+            Paragraph title = new Paragraph("Feedback Analysis Report", PDF_TITLE_FONT);
             title.setAlignment(Element.ALIGN_CENTER);
             document.add(title);
             document.add(new Paragraph(" "));
@@ -369,207 +483,142 @@ public class FeedbackServiceImpl implements FeedbackService {
             document.add(filters);
             document.add(new Paragraph(" "));
             
-            // Add subject analysis
-            document.add(new Paragraph("Subject Analysis", FontFactory.getFont(FontFactory.HELVETICA, 14, com.lowagie.text.Font.BOLD)));
-            document.add(new Paragraph(" "));
+            // One formatter per report; DecimalFormat is not thread-safe
+            DecimalFormat scoreFormat = new DecimalFormat("0.00");
             
-            PdfPTable subjectTable = new PdfPTable(15);
-            subjectTable.setWidthPercentage(100);
-            
-            // Add table headers
-            addTableHeader(subjectTable, "Subject", "Q1", "Q2", "Q3", "Q4", "Q5", "Q6", 
-                    "Q7", "Q8", "Q9", "Q10", "Q11", "Q12", "Average", "Count");
-            
-            // Add subject data
-            for (FeedbackAnalysisResponse subject : analysis.getSubjectScores()) {
-                addTableRow(subjectTable, subject.getName(),
-                        String.format("%.2f", subject.getScores().get("Q1")),
-                        String.format("%.2f", subject.getScores().get("Q2")),
-                        String.format("%.2f", subject.getScores().get("Q3")),
-                        String.format("%.2f", subject.getScores().get("Q4")),
-                        String.format("%.2f", subject.getScores().get("Q5")),
-                        String.format("%.2f", subject.getScores().get("Q6")),
-                        String.format("%.2f", subject.getScores().get("Q7")),
-                        String.format("%.2f", subject.getScores().get("Q8")),
-                        String.format("%.2f", subject.getScores().get("Q9")),
-                        String.format("%.2f", subject.getScores().get("Q10")),
-                        String.format("%.2f", subject.getScores().get("Q11")),
-                        String.format("%.2f", subject.getScores().get("Q12")),
-                        String.format("%.2f", subject.getAverageScore()),
-                        subject.getCount().toString());
-            }
-            
-            document.add(subjectTable);
+            document.add(new Paragraph("Subject Analysis", PDF_HEADING_FONT));
             document.add(new Paragraph(" "));
-            
-            // Add faculty analysis
-            document.add(new Paragraph("Faculty Analysis", FontFactory.getFont(FontFactory.HELVETICA, 14, com.lowagie.text.Font.BOLD)));
+            addAnalysisTable(document, "Subject", analysis.getSubjectScores(), scoreFormat);
             document.add(new Paragraph(" "));
             
-            PdfPTable facultyTable = new PdfPTable(15);
-            facultyTable.setWidthPercentage(100);
-            
-            // Add table headers
-            addTableHeader(facultyTable, "Faculty", "Q1", "Q2", "Q3", "Q4", "Q5", "Q6", 
-                    "Q7", "Q8", "Q9", "Q10", "Q11", "Q12", "Average", "Count");
-            
-            // Add faculty data
-            for (FeedbackAnalysisResponse faculty : analysis.getFacultyScores()) {
-                addTableRow(facultyTable, faculty.getName(),
-                        String.format("%.2f", faculty.getScores().get("Q1")),
-                        String.format("%.2f", faculty.getScores().get("Q2")),
-                        String.format("%.2f", faculty.getScores().get("Q3")),
-                        String.format("%.2f", faculty.getScores().get("Q4")),
-                        String.format("%.2f", faculty.getScores().get("Q5")),
-                        String.format("%.2f", faculty.getScores().get("Q6")),
-                        String.format("%.2f", faculty.getScores().get("Q7")),
-                        String.format("%.2f", faculty.getScores().get("Q8")),
-                        String.format("%.2f", faculty.getScores().get("Q9")),
-                        String.format("%.2f", faculty.getScores().get("Q10")),
-                        String.format("%.2f", faculty.getScores().get("Q11")),
-                        String.format("%.2f", faculty.getScores().get("Q12")),
-                        String.format("%.2f", faculty.getAverageScore()),
-                        faculty.getCount().toString());
-            }
+            document.add(new Paragraph("Faculty Analysis", PDF_HEADING_FONT));
+            document.add(new Paragraph(" "));
+            addAnalysisTable(document, "Faculty", analysis.getFacultyScores(), scoreFormat);
             
-            document.add(facultyTable);
             document.close();
-            
-            return baos.toByteArray();
         } catch (DocumentException e) {
             log.error("Error generating PDF report: {}", e.getMessage());
             throw new RuntimeException("Error generating PDF report", e);
         }
     }
     
-    @Override
-    public byte[] generateExcelReport(String year, String term, String branch, Integer semester) {
-        FeedbackAnalysisResult analysis = analyzeFeedback(year, term, branch, semester);
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    /**
+     * Add an analysis table in incomplete-table mode: every PDF_FLUSH_ROWS rows
+     * the finished rows are laid out and released, so only one slice of the
+     * table is held in memory. The header row repeats on every page.
+     */
+    private void addAnalysisTable(Document document, String nameHeader, List<FeedbackAnalysisResponse> rows,
+                                  DecimalFormat scoreFormat) throws DocumentException {
+        PdfPTable table = new PdfPTable(FeedbackRatingsConverter.QUESTION_COUNT + 3);
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+        table.setComplete(false);
         
-        try (Workbook workbook = new XSSFWorkbook()) {
-            // Create styles
-            CellStyle headerStyle = workbook.createCellStyle();
-            headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-            headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-            Font headerFont = workbook.createFont();
-            headerFont.setBold(true);
-            headerStyle.setFont(headerFont);
-            
-            // Create subject sheet
-            Sheet subjectSheet = workbook.createSheet("Subjects");
-            Row headerRow = subjectSheet.createRow(0);
-            
-            // Create headers
-            String[] headers = {"Subject", "Q1", "Q2", "Q3", "Q4", "Q5", "Q6", 
-                    "Q7", "Q8", "Q9", "Q10", "Q11", "Q12", "Average", "Count"};
-            
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-            
-            // Add subject data
-            int rowNum = 1;
-            for (FeedbackAnalysisResponse subject : analysis.getSubjectScores()) {
-                Row row = subjectSheet.createRow(rowNum++);
-                
-                row.createCell(0).setCellValue(subject.getName());
-                row.createCell(1).setCellValue(subject.getScores().get("Q1"));
-                row.createCell(2).setCellValue(subject.getScores().get("Q2"));
-                row.createCell(3).setCellValue(subject.getScores().get("Q3"));
-                row.createCell(4).setCellValue(subject.getScores().get("Q4"));
-                row.createCell(5).setCellValue(subject.getScores().get("Q5"));
-                row.createCell(6).setCellValue(subject.getScores().get("Q6"));
-                row.createCell(7).setCellValue(subject.getScores().get("Q7"));
-                row.createCell(8).setCellValue(subject.getScores().get("Q8"));
-                row.createCell(9).setCellValue(subject.getScores().get("Q9"));
-                row.createCell(10).setCellValue(subject.getScores().get("Q10"));
-                row.createCell(11).setCellValue(subject.getScores().get("Q11"));
-                row.createCell(12).setCellValue(subject.getScores().get("Q12"));
-                row.createCell(13).setCellValue(subject.getAverageScore());
-                row.createCell(14).setCellValue(subject.getCount());
+        // The default cell is the template for every cell added as a phrase
+        PdfPCell template = table.getDefaultCell();
+        template.setPadding(5);
+        template.setBackgroundColor(PDF_HEADER_BACKGROUND);
+        for (String header : reportHeaders(nameHeader)) {
+            table.addCell(new Phrase(header, PDF_HEADER_FONT));
+        }
+        template.setBackgroundColor(null);
+        
+        int pending = 0;
+        for (FeedbackAnalysisResponse row : rows) {
+            table.addCell(new Phrase(row.getName(), PDF_TEXT_FONT));
+            for (int q = 1; q <= FeedbackRatingsConverter.QUESTION_COUNT; q++) {
+                table.addCell(new Phrase(formatScore(scoreFormat, row.getScores().get("Q" + q)), PDF_TEXT_FONT));
             }
+            table.addCell(new Phrase(formatScore(scoreFormat, row.getAverageScore()), PDF_TEXT_FONT));
+            table.addCell(new Phrase(String.valueOf(row.getCount()), PDF_TEXT_FONT));
             
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                subjectSheet.autoSizeColumn(i);
+            if (++pending == PDF_FLUSH_ROWS) {
+                document.add(table);
+                pending = 0;
             }
-            
-            // Create faculty sheet
-            Sheet facultySheet = workbook.createSheet("Faculty");
-            headerRow = facultySheet.createRow(0);
-            
-            // Create headers
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
+        }
+        
+        table.setComplete(true);
+        document.add(table);
+    }
+    
+    private static String formatScore(DecimalFormat scoreFormat, Double score) {
+        return score != null ? scoreFormat.format(score) : "-";
+    }
+    
+    @Override
+    public void writeExcelReport(String year, String term, String branch, Integer semester,
+                                 OutputStream outputStream) throws IOException {
+        FeedbackAnalysisResult analysis = analyzeFeedback(year, term, branch, semester);
+        
+        try (StreamingWorkbookWriter workbook = new StreamingWorkbookWriter()) {
+            workbook.startSheet("Subjects", reportHeaders("Subject"), EXCEL_COLUMN_WIDTHS);
+            for (FeedbackAnalysisResponse subject : analysis.getSubjectScores()) {
+                workbook.addRow(reportRow(subject));
             }
             
-            // Add faculty data
-            rowNum = 1;
+            workbook.startSheet("Faculty", reportHeaders("Faculty"), EXCEL_COLUMN_WIDTHS);
             for (FeedbackAnalysisResponse faculty : analysis.getFacultyScores()) {
-                Row row = facultySheet.createRow(rowNum++);
-                
-                row.createCell(0).setCellValue(faculty.getName());
-                row.createCell(1).setCellValue(faculty.getScores().get("Q1"));
-                row.createCell(2).setCellValue(faculty.getScores().get("Q2"));
-                row.createCell(3).setCellValue(faculty.getScores().get("Q3"));
-                row.createCell(4).setCellValue(faculty.getScores().get("Q4"));
-                row.createCell(5).setCellValue(faculty.getScores().get("Q5"));
-                row.createCell(6).setCellValue(faculty.getScores().get("Q6"));
-                row.createCell(7).setCellValue(faculty.getScores().get("Q7"));
-                row.createCell(8).setCellValue(faculty.getScores().get("Q8"));
-                row.createCell(9).setCellValue(faculty.getScores().get("Q9"));
-                row.createCell(10).setCellValue(faculty.getScores().get("Q10"));
-                row.createCell(11).setCellValue(faculty.getScores().get("Q11"));
-                row.createCell(12).setCellValue(faculty.getScores().get("Q12"));
-                row.createCell(13).setCellValue(faculty.getAverageScore());
-                row.createCell(14).setCellValue(faculty.getCount());
+                workbook.addRow(reportRow(faculty));
             }
             
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                facultySheet.autoSizeColumn(i);
-            }
-            
-            workbook.write(baos);
-            return baos.toByteArray();
-        } catch (IOException e) {
-            log.error("Error generating Excel report: {}", e.getMessage());
-            throw new RuntimeException("Error generating Excel report", e);
+            workbook.write(outputStream);
+        }
+    }
+    
+    private static String[] reportHeaders(String nameHeader) {
+        String[] headers = new String[FeedbackRatingsConverter.QUESTION_COUNT + 3];
+        headers[0] = nameHeader;
+        for (int q = 1; q <= FeedbackRatingsConverter.QUESTION_COUNT; q++) {
+            headers[q] = "Q" + q;
         }
+        headers[headers.length - 2] = "Average";
+        headers[headers.length - 1] = "Count";
+        return headers;
+    }
+    
+    private static Object[] reportRow(FeedbackAnalysisResponse analysis) {
+        Object[] values = new Object[FeedbackRatingsConverter.QUESTION_COUNT + 3];
+        values[0] = analysis.getName();
+        for (int q = 1; q <= FeedbackRatingsConverter.QUESTION_COUNT; q++) {
+            values[q] = analysis.getScores().get("Q" + q);
+        }
+        values[values.length - 2] = analysis.getAverageScore();
+        values[values.length - 1] = analysis.getCount();
+        return values;
     }
     
     @Override
     public List<FeedbackBatchResponse> getUploadBatches(Pageable pageable) {
-        List<Object[]> batchData = feedbackRepository.findUploadBatches(pageable);
-        
-        return batchData.stream()
-                .map(data -> {
-                    String batchId = (String) data[0];
-                    Long count = (Long) data[1];
-                    LocalDateTime uploadedAt = (LocalDateTime) data[2];
-                    
-                    return FeedbackBatchResponse.builder()
-                            .batchId(batchId)
-                            .count(count.intValue())
-                            .uploadedAt(uploadedAt)
-                            .build();
-                })
+        return uploadBatchService.getBatches(UploadBatch.KIND_FEEDBACK, pageable).stream()
+                .map(batch -> FeedbackBatchResponse.builder()
+                        .batchId(batch.getBatchId())
+                        .count(batch.getRowCount())
+                        .uploadedAt(batch.getStartedAt())
+                        .fileName(batch.getFileName())
+                        .fileSha256(batch.getContentSha256())
+                        .uploadedBy(batch.getUploadedBy() != null ? batch.getUploadedBy().getName() : null)
+                        .errorCount(batch.getErrorCount())
+                        .status(batch.getStatus())
+                        .finishedAt(batch.getFinishedAt())
+                        .build())
                 .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional
-    public int deleteFeedbackByBatch(String batchId) {
-        List<Feedback> feedbackList = feedbackRepository.findByBatchId(batchId);
-        int count = feedbackList.size();
-        
-        feedbackRepository.deleteAll(feedbackList);
-        return count;
+    public BatchDeletionJobResponse deleteFeedbackByBatch(String batchId) {
+        long count = feedbackRepository.countByBatchId(batchId);
+        return batchDeletionJobService.run("FEEDBACK", batchId, count, progress -> {
+            // One short transaction per chunk keeps row locks brief
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            int deleted;
+            do {
+                deleted = transaction.execute(status -> batchDeletionRepository.deleteFeedbackChunk(batchId, DELETE_CHUNK_SIZE));
+                progress.accept(deleted);
+            } while (deleted == DELETE_CHUNK_SIZE);
+            uploadBatchService.markDeleted(batchId);
+            reportFileCache.invalidateAfterCommit(REPORT_CACHE_KIND);
+        });
     }
 
     @Override
@@ -579,44 +628,24 @@ public class FeedbackServiceImpl implements FeedbackService {
                 .orElseThrow(() -> new ResourceNotFoundException("Feedback not found with id: " + id));
         
         feedbackRepository.delete(feedback);
-    }
-    
-    private Feedback parseFeedbackFromCsv(CSVRecord record, String batchId, User uploader) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yy");
-        
-        Map<String, Integer> ratings = new HashMap<>();
-        for (int i = 1; i <= 12; i++) {
-            ratings.put("Q" + i, Integer.parseInt(record.get("Q" + i)));
-        }
-        
-        return Feedback.builder()
-                .year(record.get("Year"))
-                .term(record.get("Term"))
-                .branch(record.get("Branch"))
-                .semester(Integer.parseInt(record.get("Sem")))
-                .termStart(LocalDate.parse(record.get("Term_Start"), dateFormatter))
-                .termEnd(LocalDate.parse(record.get("Term_End"), dateFormatter))
-                .subjectCode(record.get("Subject_Code"))
-                .subjectName(record.get("Subject_FullName"))
-                .facultyName(record.get("Faculty_Name"))
-                .ratings(ratings)
-                .uploadedBy(uploader)
-                .batchId(batchId)
-                .build();
+        uploadBatchService.rowsDeleted(feedback.getBatchId(), 1);
+        reportFileCache.invalidateAfterCommit(REPORT_CACHE_KIND);
     }
     
     private FeedbackResponse convertToDto(Feedback feedback) {
+        String[] yearTerm = dimensions.term(feedback.getTermId());
+        String[] subject = dimensions.subject(feedback.getSubjectId());
         return FeedbackResponse.builder()
                 .id(feedback.getId())
-                .year(feedback.getYear())
-                .term(feedback.getTerm())
-                .branch(feedback.getBranch())
+                .year(yearTerm[0])
+                .term(yearTerm[1])
+                .branch(dimensions.branchName(feedback.getBranchId()))
                 .semester(feedback.getSemester())
                 .termStart(feedback.getTermStart())
                 .termEnd(feedback.getTermEnd())
-                .subjectCode(feedback.getSubjectCode())
-                .subjectName(feedback.getSubjectName())
-                .facultyName(feedback.getFacultyName())
+                .subjectCode(subject[0])
+                .subjectName(subject[1])
+                .facultyName(dimensions.facultyName(feedback.getFacultyId()))
                 .ratings(feedback.getRatings())
                 .uploadedById(feedback.getUploadedBy() != null ? feedback.getUploadedBy().getId() : null)
                 .uploadedByName(feedback.getUploadedBy() != null ? feedback.getUploadedBy().getName() : null)
@@ -626,42 +655,153 @@ public class FeedbackServiceImpl implements FeedbackService {
                 .build();
     }
     
-    private Map<String, Map<String, Double>> calculateCorrelationMatrix(List<FeedbackAnalysisResponse> subjects, List<FeedbackAnalysisResponse> faculties) {
-        Map<String, Map<String, Double>> correlationMatrix = new HashMap<>();
+    /**
+     * Map one row of {@link FeedbackRepository#getAnalysis}, naming the group from
+     * the dictionary. Columns: category, subject_id, faculty_id, semester, branch_id,
+     * term_id, q1..q12, count.
+     */
+    private FeedbackAnalysisResponse convertAnalysisRow(Object[] data) {
+        String category = (String) data[0];
+        String name;
+        switch (category) {
+            case "subject":
+                String[] subject = dimensions.subject(dimensionId(data[1]));
+                name = subject[0] + " - " + subject[1];
+                break;
+            case "faculty":
+                name = dimensions.facultyName(dimensionId(data[2]));
+                break;
+            case "semester":
+                name = "Semester " + data[3];
+                break;
+            case "branch":
+                name = dimensions.branchName(dimensionId(data[4]));
+                break;
+            default:
+                String[] yearTerm = dimensions.term(dimensionId(data[5]));
+                name = yearTerm[0] + "-" + yearTerm[1];
+        }
         
-        // For simplicity, we'll just create a mock correlation matrix
-        // In a real implementation, this would calculate Pearson correlation coefficients
-        for (FeedbackAnalysisResponse subject : subjects) {
-            Map<String, Double> correlations = new HashMap<>();
-            
-            for (FeedbackAnalysisResponse faculty : faculties) {
-                // Generate a random correlation between -1 and 1
-                double correlation = Math.random() * 2 - 1;
-                correlations.put(faculty.getName(), correlation);
+        Map<String, Double> scores = new LinkedHashMap<>();
+        double sum = 0;
+        int answered = 0;
+        for (int i = 0; i < 12; i++) {
+            Double score = (Double) data[i + 6];
+            scores.put("Q" + (i + 1), score);
+            if (score != null) {
+                sum += score;
+                answered++;
             }
-            
-            correlationMatrix.put(subject.getName(), correlations);
         }
         
-        return correlationMatrix;
+        return FeedbackAnalysisResponse.builder()
+                .category(category)
+                .name(name)
+                .scores(scores)
+                .count(((Number) data[18]).intValue())
+                .averageScore(answered > 0 ? sum / answered : 0.0)
+                .build();
     }
-    
-    private void addTableHeader(PdfPTable table, String... headers) {
-        for (String header : headers) {
-            PdfPCell cell = new PdfPCell();
-            cell.setBackgroundColor(new java.awt.Color(220, 220, 220));
-            cell.setPadding(5);
-            cell.setPhrase(new Paragraph(header, FontFactory.getFont(FontFactory.HELVETICA, 10, com.lowagie.text.Font.BOLD)));
-            table.addCell(cell);
-        }
+
+    private static Integer dimensionId(Object value) {
+        return value != null ? ((Number) value).intValue() : null;
     }
-    
-    private void addTableRow(PdfPTable table, String... values) {
-        for (String value : values) {
-            PdfPCell cell = new PdfPCell();
-            cell.setPadding(5);
-            cell.setPhrase(new Paragraph(value, FontFactory.getFont(FontFactory.HELVETICA, 10)));
-            table.addCell(cell);
+
+    /**
+     * Column positions of a feedback CSV, resolved once from its header so that
+     * each record is read by index instead of by name.
+     */
+    private static final class FeedbackCsvColumns {
+        private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yy");
+
+        private final int year;
+        private final int term;
+        private final int branch;
+        private final int semester;
+        private final int termStart;
+        private final int termEnd;
+        private final int subjectCode;
+        private final int subjectName;
+        private final int facultyName;
+        private final int[] ratings = new int[FeedbackRatingsConverter.QUESTION_COUNT];
+        private final int width;
+
+        FeedbackCsvColumns(Map<String, Integer> headerMap) {
+            List<String> missing = new ArrayList<>();
+            year = index(headerMap, "Year", missing);
+            term = index(headerMap, "Term", missing);
+            branch = index(headerMap, "Branch", missing);
+            semester = index(headerMap, "Sem", missing);
+            termStart = index(headerMap, "Term_Start", missing);
+            termEnd = index(headerMap, "Term_End", missing);
+            subjectCode = index(headerMap, "Subject_Code", missing);
+            subjectName = index(headerMap, "Subject_FullName", missing);
+            facultyName = index(headerMap, "Faculty_Name", missing);
+            for (int q = 0; q < ratings.length; q++) {
+                ratings[q] = index(headerMap, "Q" + (q + 1), missing);
+            }
+            if (!missing.isEmpty()) {
+                throw new BadRequestException("Missing CSV columns: " + String.join(", ", missing));
+            }
+            width = headerMap.values().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+        }
+
+        private static int index(Map<String, Integer> headerMap, String name, List<String> missing) {
+            Integer index = headerMap.get(name);
+            if (index == null) {
+                missing.add(name);
+                return -1;
+            }
+            return index;
         }
+
+        ParsedFeedback parse(CSVRecord record) {
+            if (record.size() < width) {
+                throw new IllegalArgumentException("Expected " + width + " columns but found " + record.size());
+            }
+
+            Short[] scores = new Short[ratings.length];
+            for (int q = 0; q < ratings.length; q++) {
+                scores[q] = Short.parseShort(record.get(ratings[q]).trim());
+            }
+
+            ParsedFeedback parsed = new ParsedFeedback();
+            parsed.year = required(record, year, "Year");
+            parsed.term = required(record, term, "Term");
+            parsed.branch = required(record, branch, "Branch");
+            parsed.semester = Integer.parseInt(record.get(semester).trim());
+            parsed.termStart = LocalDate.parse(record.get(termStart).trim(), DATE_FORMATTER);
+            parsed.termEnd = LocalDate.parse(record.get(termEnd).trim(), DATE_FORMATTER);
+            parsed.subjectCode = required(record, subjectCode, "Subject_Code");
+            parsed.subjectName = required(record, subjectName, "Subject_FullName");
+            parsed.facultyName = required(record, facultyName, "Faculty_Name");
+            parsed.ratings = scores;
+            return parsed;
+        }
+
+        private static String required(CSVRecord record, int index, String name) {
+            String value = record.get(index);
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException(name + " is required");
+            }
+            return value;
+        }
+    }
+
+    /**
+     * One feedback CSV record with names as written; dry runs stop here, imports
+     * go on to resolve the names to dimension IDs.
+     */
+    private static final class ParsedFeedback {
+        private String year;
+        private String term;
+        private String branch;
+        private Integer semester;
+        private LocalDate termStart;
+        private LocalDate termEnd;
+        private String subjectCode;
+        private String subjectName;
+        private String facultyName;
+        private Short[] ratings;
     }
 }
@@ -0,0 +1,195 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import in.gppalanpur.portal.config.AppProperties;
+import in.gppalanpur.portal.entity.StoredFile;
+import in.gppalanpur.portal.exception.BadRequestException;
+import in.gppalanpur.portal.exception.ResourceNotFoundException;
+import in.gppalanpur.portal.repository.StoredFileRepository;
+import in.gppalanpur.portal.service.FileStorageService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps stored files under files/&lt;first two hex digits&gt;/&lt;sha256&gt; in the
+ * upload dir. Content is written to a temporary file while it is hashed and
+ * then renamed into place, so a file at its address is always complete. The
+ * metadata rows commit on their own, independent of the caller's transaction,
+ * because the file on disk outlives a rollback anyway.
+ *
+ * Storing and releasing the same content both lock its metadata row. A store
+ * keeps the lock until the caller's reference is written and a release deletes
+ * the file before letting go, so neither sees the other half done.
+ */
+@Service
+@Slf4j
+public class FileStorageServiceImpl implements FileStorageService {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final StoredFileRepository storedFileRepository;
+    private final TransactionTemplate newTransaction;
+    private final Path storeDir;
+    private final Path tempDir;
+
+    public FileStorageServiceImpl(StoredFileRepository storedFileRepository,
+                                  PlatformTransactionManager transactionManager, AppProperties appProperties) {
+        this.storedFileRepository = storedFileRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.storeDir = Paths.get(appProperties.getFileStorage().getUploadDir(), "files");
+        this.tempDir = storeDir.resolve("tmp");
+    }
+
+    @Override
+    public <T> T store(InputStream inputStream, String originalName, String contentType,
+                       Function<StoredFile, T> reference) throws IOException {
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (OutputStream out = new DigestOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_BYTES), digest)) {
+                size = inputStream.transferTo(out);
+            }
+            return commit(temp, HexFormat.of().formatHex(digest.digest()), size, originalName, contentType,
+                    reference);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public <T> T storeFile(Path file, String originalName, String contentType,
+                           Function<StoredFile, T> reference) throws IOException {
+        MessageDigest digest = sha256();
+        long size = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                size += buffer.remaining();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        try {
+            return commit(file, HexFormat.of().formatHex(digest.digest()), size, originalName, contentType,
+                    reference);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public StoredFile getFile(String sha256) {
+        StoredFile file = storedFileRepository.findBySha256(checkAddress(sha256))
+                .orElseThrow(() -> new ResourceNotFoundException("File not found with hash: " + sha256));
+        if (!Files.exists(getPath(sha256))) {
+            throw new ResourceNotFoundException("Content of file " + sha256 + " is missing from the store");
+        }
+        return file;
+    }
+
+    @Override
+    public Path getPath(String sha256) {
+        checkAddress(sha256);
+        return storeDir.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    @Override
+    public void release(String sha256) {
+        if (sha256 == null) {
+            return;
+        }
+        newTransaction.executeWithoutResult(status -> storedFileRepository.lockBySha256(sha256)
+                .filter(file -> storedFileRepository.countReferences(sha256) == 0)
+                .ifPresent(file -> {
+                    storedFileRepository.deleteBySha256(sha256);
+                    try {
+                        Files.deleteIfExists(getPath(sha256));
+                    } catch (IOException e) {
+                        log.warn("Could not delete stored file {}: {}", sha256, e.getMessage());
+                    }
+                }));
+    }
+
+    /**
+     * Rename hashed content to its address, unless it is already stored, and
+     * hand its locked metadata row to the reference.
+     */
+    private <T> T commit(Path source, String sha256, long size, String originalName, String contentType,
+                         Function<StoredFile, T> reference) throws IOException {
+        try {
+            return newTransaction.execute(status -> {
+                StoredFile file = lockOrCreate(sha256, size, originalName, contentType);
+                Path target = getPath(sha256);
+                try {
+                    if (!Files.exists(target)) {
+                        Files.createDirectories(target.getParent());
+                        // Same address means same content, so losing a race to another writer is harmless
+                        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE,
+                                StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return reference.apply(file);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private StoredFile lockOrCreate(String sha256, long size, String originalName, String contentType) {
+        while (true) {
+            storedFileRepository.insertIfAbsent(sha256, size, contentType, originalName, LocalDateTime.now());
+            Optional<StoredFile> file = storedFileRepository.lockBySha256(sha256);
+            // Empty only if a release deleted the row while this transaction waited for its lock
+            if (file.isPresent()) {
+                return file.get();
+            }
+        }
+    }
+
+    private static String checkAddress(String sha256) {
+        if (sha256 == null || !SHA256_HEX.matcher(sha256).matches()) {
+            throw new BadRequestException("Invalid file hash: " + sha256);
+        }
+        return sha256;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,9 +1,8 @@
 package in.gppalanpur.portal.service.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -16,7 +15,6 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -66,6 +64,9 @@ public class LocationServiceImpl implements LocationService {
     
     @Autowired
     private EventRepository eventRepository;
+    
+    @Autowired
+    private CsvExporter csvExporter;
 
     @Override
     @Transactional
@@ -487,24 +488,14 @@ public class LocationServiceImpl implements LocationService {
     }
 
     @Override
-    public byte[] exportLocationsToCsv() {
-        List<Location> locations = locationRepository.findAll();
-        
+    public void exportLocationsToCsv(OutputStream outputStream) throws IOException {
         String[] headers = {
                 "id", "name", "description", "section", "building", "floor", "room", 
                 "capacity", "departmentId", "departmentName", "isActive"
         };
         
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        
-        try (OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
-             CSVPrinter csvPrinter = CSVFormat.DEFAULT.builder()
-                     .setHeader(headers)
-                     .build()
-                     .print(writer)) {
-            
-            for (Location location : locations) {
-                csvPrinter.printRecord(
+        csvExporter.exportEntities(outputStream, headers, locationRepository::streamAllForExport,
+                location -> new Object[] {
                         location.getId(),
                         location.getName(),
                         location.getDescription(),
@@ -516,15 +507,7 @@ public class LocationServiceImpl implements LocationService {
                         location.getDepartment() != null ? location.getDepartment().getId() : null,
                         location.getDepartment() != null ? location.getDepartment().getName() : null,
                         location.getIsActive()
-                );
-            }
-            
-            csvPrinter.flush();
-            return out.toByteArray();
-            
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to export locations to CSV: " + e.getMessage(), e);
-        }
+                });
     }
 
     @Override
@@ -0,0 +1,129 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import in.gppalanpur.portal.config.AppProperties;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Streams the entities matching a specification as newline-delimited JSON.
+ *
+ * Rows come from a forward-only cursor in ID order and are handled in chunks
+ * of {@code app.streaming.flush-rows}: a chunk is mapped to DTOs (so the mapper
+ * can fetch related rows for the whole chunk at once), written one object per
+ * line, flushed to the client and then cleared from the persistence context.
+ * Writes block while the client's socket buffer is full, so a slow reader
+ * holds the cursor back rather than the server buffering ahead of it.
+ */
+@Component
+public class NdjsonStreamer {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter objectWriter;
+    private final int flushRows;
+
+    public NdjsonStreamer(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                          ObjectMapper objectMapper, AppProperties appProperties) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // One generator per response, flushed per chunk; lines end with a newline instead of a separator
+        this.objectWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator((String) null);
+        this.flushRows = Math.max(1, appProperties.getStreaming().getFlushRows());
+    }
+
+    /**
+     * Write every entity matching the filter as one JSON object per line.
+     *
+     * @param outputStream Destination; flushed after each chunk, not closed
+     * @param entityClass Entity to query; must have an {@code id} attribute
+     * @param filter Filter, or null for all rows
+     * @param mapper Maps a chunk of entities to the DTOs to write, in the same order
+     * @return Number of rows written
+     * @throws IOException If writing to the stream fails
+     */
+    public <T> long stream(OutputStream outputStream, Class<T> entityClass, Specification<T> filter,
+                           Function<List<T>, List<?>> mapper) throws IOException {
+        try {
+            Long written = readOnlyTransaction.execute(status -> {
+                try (Stream<T> rows = query(entityClass, filter)) {
+                    return write(outputStream, rows, mapper);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return written != null ? written : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <T> Stream<T> query(Class<T> entityClass, Specification<T> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private <T> long write(OutputStream outputStream, Stream<T> rows, Function<List<T>, List<?>> mapper)
+            throws IOException {
+        long written = 0;
+        List<T> chunk = new ArrayList<>(flushRows);
+        try (JsonGenerator generator = objectWriter.createGenerator(outputStream)) {
+            for (Iterator<T> it = rows.iterator(); it.hasNext(); ) {
+                chunk.add(it.next());
+                if (chunk.size() == flushRows || !it.hasNext()) {
+                    for (Object dto : mapper.apply(chunk)) {
+                        objectWriter.writeValue(generator, dto);
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                    written += chunk.size();
+                    chunk.clear();
+                    // The cursor keeps its position; only the hydrated entities are dropped
+                    entityManager.clear();
+                }
+            }
+        }
+        return written;
+    }
+}
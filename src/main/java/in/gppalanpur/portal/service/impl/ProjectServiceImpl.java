@@ -1,5 +1,7 @@
 package in.gppalanpur.portal.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -53,6 +55,7 @@ public class ProjectServiceImpl implements ProjectService {
     private final EventRepository eventRepository;
     private final LocationRepository locationRepository;
     private final UserRepository userRepository;
+    private final CsvExporter csvExporter;
     
     @Override
     public Page<ProjectResponse> getAllProjects(Pageable pageable) {
@@ -324,11 +327,24 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
-    public byte[] exportProjects() {
-        // Implementation for exporting projects to CSV
-        // This is a placeholder implementation
-        log.warn("Project export not fully implemented yet");
-        return new byte[0];
+    public void exportProjects(OutputStream outputStream) throws IOException {
+        String[] headers = {
+                "id", "title", "category", "departmentName", "status",
+                "guideName", "guideEmail", "guidePhone", "createdAt"
+        };
+        
+        csvExporter.exportEntities(outputStream, headers, projectRepository::streamAllForExport,
+                project -> new Object[] {
+                        project.getId(),
+                        project.getTitle(),
+                        project.getCategory(),
+                        project.getDepartment() != null ? project.getDepartment().getName() : null,
+                        project.getStatus(),
+                        project.getGuideName(),
+                        project.getGuideEmail(),
+                        project.getGuidePhone(),
+                        project.getCreatedAt()
+                });
     }
 
     @Override
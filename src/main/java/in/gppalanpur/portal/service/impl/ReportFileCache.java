@@ -0,0 +1,230 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import in.gppalanpur.portal.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Disk cache of generated report files under {@code <upload-dir>/report-cache/<kind>}.
+ *
+ * A file is named by the SHA-256 of its kind and key parts, so callers that
+ * include a data version in the key never see stale content. Entries are
+ * evicted least recently used first once the total size passes
+ * {@code app.file-storage.report-cache-max-bytes}.
+ */
+@Component
+@Slf4j
+public class ReportFileCache {
+
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * Writes a report to the cache file being created.
+     */
+    @FunctionalInterface
+    public interface ReportWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+
+    private final Path cacheDir;
+    private final long maxBytes;
+    private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final Map<String, String> dataVersions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private long totalBytes;
+
+    public ReportFileCache(AppProperties appProperties) throws IOException {
+        this.cacheDir = Paths.get(appProperties.getFileStorage().getUploadDir(), "report-cache");
+        this.maxBytes = appProperties.getFileStorage().getReportCacheMaxBytes();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        // Pick up files from a previous run, oldest first, and drop unfinished writes
+        Files.createDirectories(cacheDir);
+        List<Path> existing;
+        try (Stream<Path> files = Files.walk(cacheDir, 2)) {
+            existing = files.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        existing.sort(Comparator.comparingLong(this::lastModified));
+        for (Path file : existing) {
+            if (file.getFileName().toString().endsWith(".tmp")) {
+                Files.deleteIfExists(file);
+            } else {
+                record(file, Files.size(file));
+            }
+        }
+    }
+
+    /**
+     * Get a cached report, writing it on a miss. Concurrent requests for the
+     * same key wait for a single writer.
+     *
+     * @param kind Report family; also the subdirectory used for invalidation
+     * @param extension File extension without the dot
+     * @param keyParts Values identifying the report content
+     * @param writer Produces the report on a miss
+     * @return Path of the cached file
+     * @throws IOException If the report cannot be written
+     */
+    public Path get(String kind, String extension, List<?> keyParts, ReportWriter writer) throws IOException {
+        String key = sha256(kind + "|" + keyParts.stream().map(String::valueOf).collect(Collectors.joining("|")));
+        Path file = cacheDir.resolve(kind).resolve(key + "." + extension);
+
+        ReentrantLock lock = locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            synchronized (entries) {
+                if (entries.get(file) != null && Files.exists(file)) {
+                    return file;
+                }
+            }
+
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                writer.write(out);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            record(file, Files.size(file));
+            log.debug("Cached {} report {}", kind, file.getFileName());
+            return file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the data version of a report kind, computing it only after an invalidation.
+     *
+     * @param kind Report family
+     * @param loader Derives the version from the underlying data
+     * @return Data version to include in report keys
+     */
+    public String dataVersion(String kind, Supplier<String> loader) {
+        String version = dataVersions.get(kind);
+        if (version != null) {
+            return version;
+        }
+
+        // Do not keep a version read before an invalidation that raced with us
+        long seen = generation.get();
+        version = loader.get();
+        if (generation.get() == seen) {
+            dataVersions.putIfAbsent(kind, version);
+        }
+        return version;
+    }
+
+    /**
+     * Drop every cached report of a kind once the current transaction commits,
+     * or immediately when no transaction is active.
+     *
+     * @param kind Report family
+     */
+    public void invalidateAfterCommit(String kind) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(kind);
+                }
+            });
+        } else {
+            invalidate(kind);
+        }
+    }
+
+    private void invalidate(String kind) {
+        generation.incrementAndGet();
+        dataVersions.remove(kind);
+
+        Path kindDir = cacheDir.resolve(kind);
+        synchronized (entries) {
+            Iterator<Map.Entry<Path, Long>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Path, Long> entry = iterator.next();
+                if (entry.getKey().getParent().equals(kindDir)) {
+                    delete(entry.getKey());
+                    totalBytes -= entry.getValue();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private void record(Path file, long size) {
+        synchronized (entries) {
+            Long previous = entries.put(file, size);
+            totalBytes += size - (previous != null ? previous : 0);
+
+            // Files already being served stay readable after deletion; only new requests miss
+            Iterator<Map.Entry<Path, Long>> iterator = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<Path, Long> eldest = iterator.next();
+                if (eldest.getKey().equals(file)) {
+                    break;
+                }
+                delete(eldest.getKey());
+                totalBytes -= eldest.getValue();
+                iterator.remove();
+            }
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete cached report {}: {}", file, e.getMessage());
+        }
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,566 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import in.gppalanpur.portal.config.AppProperties;
+import in.gppalanpur.portal.dto.job.ReportJobRequest;
+import in.gppalanpur.portal.dto.job.ReportJobResponse;
+import in.gppalanpur.portal.entity.ReportJob;
+import in.gppalanpur.portal.entity.StoredFile;
+import in.gppalanpur.portal.entity.User;
+import in.gppalanpur.portal.exception.BadRequestException;
+import in.gppalanpur.portal.exception.ResourceNotFoundException;
+import in.gppalanpur.portal.repository.ReportJobRepository;
+import in.gppalanpur.portal.repository.UserRepository;
+import in.gppalanpur.portal.service.FeedbackService;
+import in.gppalanpur.portal.service.FileStorageService;
+import in.gppalanpur.portal.service.ReportJobService;
+import in.gppalanpur.portal.service.ResultService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs report jobs from the report_jobs table on a fixed number of workers per node.
+ *
+ * A poller claims the oldest queued job with FOR UPDATE SKIP LOCKED whenever a
+ * worker is free, so nodes sharing the database never run the same job twice.
+ * Running jobs send a heartbeat every few seconds, which also carries their
+ * progress (bytes written) and picks up cancellations; jobs whose node stops
+ * sending heartbeats are requeued by whichever node notices first. Results are
+ * written to the jobs directory under the upload dir and then moved into the
+ * file store; both must be shared storage when several nodes run.
+ */
+@Service
+@Slf4j
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final long POLL_SECONDS = 2;
+    private static final long HEARTBEAT_SECONDS = 10;
+    private static final long MAINTENANCE_SECONDS = 60;
+    private static final long STALE_SECONDS = 120;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    private static final String FEEDBACK_PDF_REPORT = "FEEDBACK_PDF_REPORT";
+    private static final String FEEDBACK_EXCEL_REPORT = "FEEDBACK_EXCEL_REPORT";
+    private static final String FEEDBACK_ANALYSIS = "FEEDBACK_ANALYSIS";
+    private static final String FEEDBACK_CSV_EXPORT = "FEEDBACK_CSV_EXPORT";
+    private static final String RESULTS_CSV_EXPORT = "RESULTS_CSV_EXPORT";
+    private static final String RESULTS_WORKBOOK = "RESULTS_WORKBOOK";
+
+    private static final Set<String> FEEDBACK_ROLES = Set.of("admin", "faculty");
+    private static final Set<String> RESULTS_ROLES = Set.of("admin", "principal");
+    private static final List<String> FEEDBACK_FILTERS = List.of("year", "term", "branch", "semester");
+
+    private final ReportJobRepository reportJobRepository;
+    private final UserRepository userRepository;
+    private final FileStorageService fileStorageService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final Path jobDir;
+    private final int workers;
+    private final int retentionHours;
+    private final String nodeId;
+    private final Map<String, JobType> types = new LinkedHashMap<>();
+
+    private final Map<Long, RunningJob> runningJobs = new ConcurrentHashMap<>();
+    private final Semaphore freeWorkers;
+    private final ExecutorService workerPool;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "report-job-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReportJobServiceImpl(ReportJobRepository reportJobRepository, UserRepository userRepository,
+                                FileStorageService fileStorageService, FeedbackService feedbackService,
+                                ResultService resultService,
+                                ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                AppProperties appProperties) {
+        this.reportJobRepository = reportJobRepository;
+        this.userRepository = userRepository;
+        this.fileStorageService = fileStorageService;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.jobDir = Paths.get(appProperties.getFileStorage().getUploadDir(), "jobs");
+        this.workers = Math.max(1, appProperties.getJobs().getWorkers());
+        this.retentionHours = appProperties.getJobs().getRetentionHours();
+        this.nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.freeWorkers = new Semaphore(workers);
+        this.workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "report-job-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        register(new JobType(FEEDBACK_PDF_REPORT, FEEDBACK_ROLES, FEEDBACK_FILTERS, "feedback_report.pdf",
+                (params, out) -> feedbackService.writePdfReport(params.get("year"), params.get("term"),
+                        params.get("branch"), integer(params.get("semester")), out)));
+        register(new JobType(FEEDBACK_EXCEL_REPORT, FEEDBACK_ROLES, FEEDBACK_FILTERS, "feedback_report.xlsx",
+                (params, out) -> feedbackService.writeExcelReport(params.get("year"), params.get("term"),
+                        params.get("branch"), integer(params.get("semester")), out)));
+        register(new JobType(FEEDBACK_ANALYSIS, FEEDBACK_ROLES, FEEDBACK_FILTERS, "feedback_analysis.json",
+                (params, out) -> objectMapper.writeValue(out, feedbackService.analyzeFeedback(params.get("year"),
+                        params.get("term"), params.get("branch"), integer(params.get("semester"))))));
+        register(new JobType(FEEDBACK_CSV_EXPORT, FEEDBACK_ROLES, List.of(), "feedback_export.csv",
+                (params, out) -> feedbackService.exportFeedback(out)));
+        register(new JobType(RESULTS_CSV_EXPORT, RESULTS_ROLES, List.of(), "results.csv",
+                (params, out) -> resultService.exportResults(out)));
+        register(new JobType(RESULTS_WORKBOOK, RESULTS_ROLES, List.of("examId", "branchName", "semester"),
+                "results.xlsx", (params, out) -> resultService.writeResultsWorkbook(integer(params.get("examId")),
+                        params.get("branchName"), integer(params.get("semester")), out)));
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            Files.createDirectories(jobDir);
+        } catch (IOException e) {
+            throw new RuntimeException("Error creating report job directory", e);
+        }
+        log.info("Report job node {} running {} workers", nodeId, workers);
+        scheduler.scheduleWithFixedDelay(this::claimJobs, POLL_SECONDS, POLL_SECONDS, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::sendHeartbeats, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::maintain, MAINTENANCE_SECONDS, MAINTENANCE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        // Interrupted jobs stop sending heartbeats and are requeued by the remaining nodes
+        workerPool.shutdownNow();
+    }
+
+    @Override
+    public Map<String, List<String>> getTypes() {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        types.forEach((name, type) -> result.put(name, type.parameters));
+        return result;
+    }
+
+    @Override
+    public ReportJobResponse submit(ReportJobRequest request, Long userId) {
+        JobType type = types.get(request.getType());
+        if (type == null) {
+            throw new BadRequestException("Unknown job type: " + request.getType());
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        if (!hasAnyRole(user, type.roles)) {
+            throw new AccessDeniedException("Not allowed to run " + type.name + " jobs");
+        }
+
+        Map<String, String> parameters = new HashMap<>();
+        if (request.getParameters() != null) {
+            request.getParameters().forEach((name, value) -> {
+                if (!type.parameters.contains(name)) {
+                    throw new BadRequestException("Unknown parameter for " + type.name + ": " + name);
+                }
+                if (value != null && !value.isBlank()) {
+                    parameters.put(name, value.trim());
+                }
+            });
+        }
+        // Reject malformed numbers now rather than failing on a worker later
+        parameters.forEach((name, value) -> {
+            if (isNumeric(name)) {
+                try {
+                    Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    throw new BadRequestException("Parameter " + name + " must be a number");
+                }
+            }
+        });
+
+        ReportJob job = ReportJob.builder()
+                .jobId(UUID.randomUUID().toString())
+                .type(type.name)
+                .parameters(writeParameters(parameters))
+                .requestedBy(user)
+                .status(ReportJob.STATUS_QUEUED)
+                .submittedAt(LocalDateTime.now())
+                .build();
+        job = reportJobRepository.save(job);
+        log.info("Queued {} job {} for user {}", type.name, job.getJobId(), userId);
+
+        // Pick it up now instead of at the next poll if a worker is free
+        scheduler.execute(this::claimJobs);
+        return convertToDto(job);
+    }
+
+    @Override
+    public ReportJobResponse getJob(String jobId, Long userId) {
+        return convertToDto(findAccessibleJob(jobId, userId));
+    }
+
+    @Override
+    public List<ReportJobResponse> getJobs(Long userId) {
+        return reportJobRepository.findTop50ByRequestedByIdOrderByIdDesc(userId).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ReportJobResponse cancel(String jobId, Long userId) {
+        ReportJob job = findAccessibleJob(jobId, userId);
+        LocalDateTime now = LocalDateTime.now();
+        transaction.executeWithoutResult(status -> {
+            if (reportJobRepository.cancelQueued(job.getId(), now) == 0) {
+                reportJobRepository.requestCancel(job.getId());
+            }
+        });
+
+        RunningJob running = runningJobs.get(job.getId());
+        if (running != null) {
+            running.cancelled = true;
+        }
+        return convertToDto(reportJobRepository.findById(job.getId()).orElse(job));
+    }
+
+    @Override
+    public Path getResultFile(String jobId, Long userId) {
+        ReportJob job = findAccessibleJob(jobId, userId);
+        if (!ReportJob.STATUS_COMPLETED.equals(job.getStatus())) {
+            throw new BadRequestException("Job " + jobId + " is " + job.getStatus() + ", not COMPLETED");
+        }
+        StoredFile result = fileStorageService.getFile(job.getResultFile());
+        return fileStorageService.getPath(result.getSha256());
+    }
+
+    private void register(JobType type) {
+        types.put(type.name, type);
+    }
+
+    private ReportJob findAccessibleJob(String jobId, Long userId) {
+        ReportJob job = reportJobRepository.findByJobId(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with id: " + jobId));
+        Long ownerId = job.getRequestedBy() != null ? job.getRequestedBy().getId() : null;
+        if (!userId.equals(ownerId)) {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+            if (!hasAnyRole(user, Set.of("admin"))) {
+                throw new AccessDeniedException("Not allowed to access job " + jobId);
+            }
+        }
+        return job;
+    }
+
+    /**
+     * Claim queued jobs while this node has free workers.
+     */
+    private void claimJobs() {
+        try {
+            while (freeWorkers.tryAcquire()) {
+                ReportJob job = claimNext();
+                if (job == null) {
+                    freeWorkers.release();
+                    return;
+                }
+                workerPool.execute(() -> {
+                    try {
+                        run(job);
+                    } finally {
+                        freeWorkers.release();
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            log.error("Error claiming report jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    private ReportJob claimNext() {
+        try {
+            return transaction.execute(status -> reportJobRepository.lockNextQueued().map(job -> {
+                LocalDateTime now = LocalDateTime.now();
+                job.setStatus(ReportJob.STATUS_RUNNING);
+                job.setClaimedBy(nodeId);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setBytesWritten(0L);
+                job.setStartedAt(now);
+                job.setHeartbeatAt(now);
+                return reportJobRepository.save(job);
+            }).orElse(null));
+        } catch (RuntimeException e) {
+            freeWorkers.release();
+            throw e;
+        }
+    }
+
+    private void run(ReportJob job) {
+        RunningJob running = new RunningJob();
+        runningJobs.put(job.getId(), running);
+
+        JobType type = types.get(job.getType());
+        // Named per attempt, so a node that lost its claim never writes over the new owner's file
+        Path temp = jobDir.resolve(job.getJobId() + "." + job.getAttempts() + ".tmp");
+        String status;
+        String error = null;
+        try {
+            if (type == null) {
+                throw new IllegalStateException("Unknown job type: " + job.getType());
+            }
+            Map<String, String> parameters = readParameters(job.getParameters());
+            try (OutputStream out = new ProgressOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), WRITE_BUFFER_BYTES), running)) {
+                type.writer.write(parameters, out);
+            }
+            // The job takes its reference while the stored file is locked; a job that lost
+            // its claim takes none, and its result is released once the lock is gone
+            StoredFile unreferenced = fileStorageService.storeFile(temp, type.fileName, MediaTypeFactory
+                    .getMediaType(type.fileName).orElse(MediaType.APPLICATION_OCTET_STREAM).toString(), stored ->
+                    finish(job, running, ReportJob.STATUS_COMPLETED, stored, null) ? null : stored);
+            if (unreferenced != null) {
+                fileStorageService.release(unreferenced.getSha256());
+            } else {
+                log.info("Completed {} job {}: {} bytes", job.getType(), job.getJobId(), running.bytesWritten);
+            }
+            return;
+        } catch (Exception e) {
+            deleteQuietly(temp);
+            if (running.cancelled) {
+                status = ReportJob.STATUS_CANCELLED;
+                log.info("Cancelled {} job {}", job.getType(), job.getJobId());
+            } else {
+                status = ReportJob.STATUS_FAILED;
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                log.error("Failed {} job {}: {}", job.getType(), job.getJobId(), error, e);
+            }
+        } finally {
+            runningJobs.remove(job.getId());
+        }
+
+        finish(job, running, status, null, error);
+    }
+
+    /**
+     * Record the outcome of a job this node still owns.
+     *
+     * @return false if the job was taken over by another node meanwhile
+     */
+    private boolean finish(ReportJob job, RunningJob running, String status, StoredFile result, String error) {
+        Integer updated = transaction.execute(tx -> reportJobRepository.finish(job.getId(), nodeId, status,
+                result != null ? result.getSha256() : null, result != null ? result.getSize() : null,
+                running.bytesWritten, error, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            log.warn("Report job {} was taken over by another node before it finished here", job.getJobId());
+            return false;
+        }
+        return true;
+    }
+
+    private void sendHeartbeats() {
+        if (runningJobs.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> ids = new ArrayList<>(runningJobs.keySet());
+            LocalDateTime now = LocalDateTime.now();
+            transaction.executeWithoutResult(status -> {
+                for (Long id : ids) {
+                    RunningJob running = runningJobs.get(id);
+                    if (running != null
+                            && reportJobRepository.heartbeat(id, nodeId, running.bytesWritten, now) == 0) {
+                        // Requeued elsewhere after missed heartbeats; stop writing
+                        running.cancelled = true;
+                    }
+                }
+                reportJobRepository.findCancelRequested(ids).forEach(id -> {
+                    RunningJob running = runningJobs.get(id);
+                    if (running != null) {
+                        running.cancelled = true;
+                    }
+                });
+            });
+        } catch (RuntimeException e) {
+            log.error("Error sending report job heartbeats: {}", e.getMessage(), e);
+        }
+    }
+
+    private void maintain() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Integer requeued = transaction.execute(status ->
+                    reportJobRepository.requeueStale(now.minusSeconds(STALE_SECONDS), MAX_ATTEMPTS, now));
+            if (requeued != null && requeued > 0) {
+                log.warn("Requeued {} report jobs whose node stopped sending heartbeats", requeued);
+                claimJobs();
+            }
+
+            List<ReportJob> expired = reportJobRepository.findByFinishedAtBefore(now.minusHours(retentionHours));
+            reportJobRepository.deleteAll(expired);
+            // Identical results share a stored file, which goes with the last job using it
+            expired.stream()
+                    .map(ReportJob::getResultFile)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .forEach(fileStorageService::release);
+        } catch (RuntimeException e) {
+            log.error("Error maintaining report jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    private ReportJobResponse convertToDto(ReportJob job) {
+        JobType type = types.get(job.getType());
+        boolean completed = ReportJob.STATUS_COMPLETED.equals(job.getStatus());
+        return ReportJobResponse.builder()
+                .jobId(job.getJobId())
+                .type(job.getType())
+                .parameters(readParameters(job.getParameters()))
+                .status(job.getStatus())
+                .cancelRequested(job.isCancelRequested())
+                .attempts(job.getAttempts())
+                .bytesWritten(job.getBytesWritten())
+                .fileName(completed && type != null ? type.fileName : null)
+                .resultSha256(completed ? job.getResultFile() : null)
+                .resultSize(job.getResultSize())
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .error(job.getError())
+                .build();
+    }
+
+    private String writeParameters(Map<String, String> parameters) {
+        try {
+            return objectMapper.writeValueAsString(parameters);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error writing job parameters", e);
+        }
+    }
+
+    private Map<String, String> readParameters(String json) {
+        if (json == null || json.isBlank()) {
+            return new HashMap<>();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<Map<String, String>>() {});
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error reading job parameters", e);
+        }
+    }
+
+    private static boolean hasAnyRole(User user, Set<String> roles) {
+        return user.getRoles().stream().anyMatch(role -> roles.contains(role.toLowerCase()));
+    }
+
+    private static boolean isNumeric(String parameter) {
+        return "semester".equals(parameter) || "examId".equals(parameter);
+    }
+
+    private static Integer integer(String value) {
+        return value != null ? Integer.valueOf(value) : null;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report job file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "node";
+        }
+    }
+
+    /**
+     * Writes the job result to a stream.
+     */
+    @FunctionalInterface
+    private interface JobWriter {
+        void write(Map<String, String> parameters, OutputStream outputStream) throws IOException;
+    }
+
+    private static class JobType {
+        private final String name;
+        private final Set<String> roles;
+        private final List<String> parameters;
+        private final String fileName;
+        private final JobWriter writer;
+
+        JobType(String name, Set<String> roles, List<String> parameters, String fileName, JobWriter writer) {
+            this.name = name;
+            this.roles = roles;
+            this.parameters = parameters;
+            this.fileName = fileName;
+            this.writer = writer;
+        }
+    }
+
+    private static class RunningJob {
+        private volatile long bytesWritten;
+        private volatile boolean cancelled;
+    }
+
+    /**
+     * Counts the bytes a job writes and aborts the job once it is cancelled.
+     */
+    private static class ProgressOutputStream extends FilterOutputStream {
+        private final RunningJob job;
+
+        ProgressOutputStream(OutputStream out, RunningJob job) {
+            super(out);
+            this.job = job;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            checkCancelled();
+            out.write(b);
+            job.bytesWritten++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkCancelled();
+            out.write(b, off, len);
+            job.bytesWritten += len;
+        }
+
+        private void checkCancelled() throws IOException {
+            if (job.cancelled) {
+                throw new IOException("Job cancelled");
+            }
+        }
+    }
+}
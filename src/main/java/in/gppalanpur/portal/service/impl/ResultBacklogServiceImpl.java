@@ -0,0 +1,87 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import in.gppalanpur.portal.dto.result.BacklogLedgerResponse;
+import in.gppalanpur.portal.entity.ResultBacklogLedger;
+import in.gppalanpur.portal.repository.ResultBacklogLedgerRepository;
+import in.gppalanpur.portal.repository.ResultRepository;
+import in.gppalanpur.portal.service.ResultBacklogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the backlog ledger in step with the results table. Only the students
+ * touched by an import or delete are rebuilt, from their own attempts, so the
+ * cost follows the size of the batch and merges or deletes never leave stale
+ * entries behind.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResultBacklogServiceImpl implements ResultBacklogService {
+
+    // Keeps IN lists well below the PostgreSQL bind parameter limit
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ResultBacklogLedgerRepository resultBacklogLedgerRepository;
+    private final ResultRepository resultRepository;
+
+    @Override
+    @Transactional
+    public void refresh(Collection<String> enrollmentNos) {
+        List<String> affected = enrollmentNos.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        int entries = 0;
+        for (int from = 0; from < affected.size(); from += CHUNK_SIZE) {
+            List<String> chunk = new ArrayList<>(affected.subList(from, Math.min(affected.size(), from + CHUNK_SIZE)));
+            resultBacklogLedgerRepository.deleteByEnrollmentNos(chunk);
+            entries += resultBacklogLedgerRepository.insertForEnrollmentNos(chunk);
+            resultRepository.updateBacklogCountsForEnrollmentNos(chunk);
+        }
+
+        log.debug("Refreshed backlog ledger for {} students: {} entries", affected.size(), entries);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BacklogLedgerResponse> getStudentBacklogs(String enrollmentNo) {
+        return resultBacklogLedgerRepository.findByEnrollmentNoOrderBySubjectCode(enrollmentNo).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BacklogLedgerResponse> getSubjectBacklogs(String subjectCode, boolean open, Pageable pageable) {
+        return resultBacklogLedgerRepository.findBySubjectCodeAndIsOpen(subjectCode, open, pageable)
+                .map(this::convertToDto);
+    }
+
+    private BacklogLedgerResponse convertToDto(ResultBacklogLedger ledger) {
+        return BacklogLedgerResponse.builder()
+                .enrollmentNo(ledger.getEnrollmentNo())
+                .subjectCode(ledger.getSubjectCode())
+                .subjectName(ledger.getSubjectName())
+                .attempts(ledger.getAttempts())
+                .failedAttempts(ledger.getFailedAttempts())
+                .isOpen(ledger.getIsOpen())
+                .firstBacklogExamId(ledger.getFirstBacklogExamId())
+                .lastExamId(ledger.getLastExamId())
+                .clearedExamId(ledger.getClearedExamId())
+                .refreshedAt(ledger.getRefreshedAt())
+                .build();
+    }
+}
@@ -0,0 +1,672 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import in.gppalanpur.portal.dto.result.CohortGroupResponse;
+import in.gppalanpur.portal.dto.result.CohortQueryRequest;
+import in.gppalanpur.portal.dto.result.CohortQueryResponse;
+import in.gppalanpur.portal.exception.BadRequestException;
+import in.gppalanpur.portal.repository.ResultRepository;
+import in.gppalanpur.portal.repository.ResultSubjectRepository;
+import in.gppalanpur.portal.service.ResultCohortService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Columnar in-memory copy of results and result subjects for ad-hoc cohort queries.
+ *
+ * Every attribute is a primitive array indexed by row; branch, academic year,
+ * exam, result status, subject code and grade are dictionary encoded to ints.
+ * A query compiles its filters to lookup masks, splits the rows into one slice
+ * per core and aggregates each slice into dense per-group arrays, which are
+ * merged at the end.
+ *
+ * The store is loaded in full on the first query. Afterwards import batches are
+ * appended and deleted results tombstoned incrementally; once more than half
+ * the rows are tombstones the store is dropped and reloaded on the next query.
+ */
+@Service
+@Slf4j
+public class ResultCohortServiceImpl implements ResultCohortService {
+
+    private static final int MIN_SLICE_SIZE = 1 << 14;
+    private static final int MAX_GROUPS = 1 << 16;
+    private static final int MAX_BACKLOG_GROUP = 10;
+    private static final int MISSING_SCORE_BUCKET = 11;
+
+    private final ResultRepository resultRepository;
+    private final ResultSubjectRepository resultSubjectRepository;
+    private final ResultDimensionDictionary resultDimensions;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ColumnStore store;
+
+    public ResultCohortServiceImpl(ResultRepository resultRepository, ResultSubjectRepository resultSubjectRepository,
+                                   ResultDimensionDictionary resultDimensions,
+                                   PlatformTransactionManager transactionManager) {
+        this.resultRepository = resultRepository;
+        this.resultSubjectRepository = resultSubjectRepository;
+        this.resultDimensions = resultDimensions;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public CohortQueryResponse query(CohortQueryRequest request) {
+        lock.readLock().lock();
+        try {
+            if (store != null) {
+                return execute(store, request);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (store == null) {
+                store = loadAll();
+            }
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            return execute(store, request);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void loadBatchAfterCommit(String batchId) {
+        runAfterCommit(() -> {
+            List<Object[]> results = resultRepository.findCohortRowsByUploadBatch(batchId);
+            List<Object[]> subjects = resultSubjectRepository.findCohortRowsByUploadBatch(batchId);
+
+            lock.writeLock().lock();
+            try {
+                if (store != null) {
+                    results.forEach(store::appendResult);
+                    subjects.forEach(store::appendSubject);
+                    dropIfFragmented();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void removeAfterCommit(Collection<Long> resultIds) {
+        runAfterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (store != null) {
+                    resultIds.forEach(store::remove);
+                    dropIfFragmented();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void dropIfFragmented() {
+        if (store.deletedCount > MIN_SLICE_SIZE && store.deletedCount * 2 > store.resultCount) {
+            log.debug("Dropping cohort store with {} of {} rows deleted", store.deletedCount, store.resultCount);
+            store = null;
+        }
+    }
+
+    private ColumnStore loadAll() {
+        long start = System.currentTimeMillis();
+        ColumnStore loaded = new ColumnStore();
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = resultRepository.streamCohortRows()) {
+                rows.forEach(loaded::appendResult);
+            }
+            try (Stream<Object[]> rows = resultSubjectRepository.streamCohortRows()) {
+                rows.forEach(loaded::appendSubject);
+            }
+        });
+
+        log.info("Loaded cohort store: {} results, {} subjects in {} ms",
+                loaded.resultCount, loaded.subjectCount, System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    private CohortQueryResponse execute(ColumnStore columns, CohortQueryRequest request) {
+        long start = System.currentTimeMillis();
+        boolean subjectLevel = "SUBJECT".equalsIgnoreCase(request.getLevel());
+
+        List<Integer> branchIds = request.getBranchNames() == null ? null : request.getBranchNames().stream()
+                .map(resultDimensions::findBranchId)
+                .toList();
+        Filter filter = new Filter(columns, request, branchIds, subjectLevel);
+
+        List<Dimension> dimensions = new ArrayList<>();
+        for (String name : request.getGroupBy() == null ? List.<String>of() : request.getGroupBy()) {
+            Dimension dimension;
+            try {
+                dimension = Dimension.valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown group by dimension: " + name);
+            }
+            if (dimension.subjectOnly && !subjectLevel) {
+                throw new BadRequestException(dimension + " grouping requires SUBJECT level");
+            }
+            dimensions.add(dimension);
+        }
+
+        int[] radix = new int[dimensions.size()];
+        long groupCount = 1;
+        for (int d = 0; d < radix.length; d++) {
+            radix[d] = Math.max(1, dimensions.get(d).cardinality(columns));
+            groupCount *= radix[d];
+            if (groupCount > MAX_GROUPS) {
+                throw new BadRequestException("Too many groups; narrow the group by dimensions");
+            }
+        }
+
+        int rows = subjectLevel ? columns.subjectCount : columns.resultCount;
+        int slices = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), rows / MIN_SLICE_SIZE));
+        int sliceSize = (rows + slices - 1) / slices;
+        int groups = (int) groupCount;
+
+        Aggregate total = IntStream.range(0, slices)
+                .parallel()
+                .mapToObj(slice -> {
+                    Aggregate aggregate = new Aggregate(groups);
+                    int from = slice * sliceSize;
+                    int to = Math.min(rows, from + sliceSize);
+                    if (subjectLevel) {
+                        scanSubjects(columns, filter, dimensions, radix, from, to, aggregate);
+                    } else {
+                        scanResults(columns, filter, dimensions, radix, from, to, aggregate);
+                    }
+                    return aggregate;
+                })
+                .reduce(Aggregate::merge)
+                .orElseGet(() -> new Aggregate(groups));
+
+        List<CohortGroupResponse> responses = new ArrayList<>();
+        long matched = 0;
+        for (int g = 0; g < groups; g++) {
+            if (total.count[g] == 0) {
+                continue;
+            }
+            matched += total.count[g];
+            CohortGroupResponse response = total.toResponse(g, columns, dimensions, radix);
+            response.getGroup().computeIfPresent(Dimension.BRANCH.name(),
+                    (name, branchId) -> resultDimensions.branchName((Integer) branchId));
+            responses.add(response);
+        }
+
+        return CohortQueryResponse.builder()
+                .groups(responses)
+                .scannedRows((long) rows)
+                .matchedRows(matched)
+                .elapsedMillis(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    private void scanResults(ColumnStore c, Filter f, List<Dimension> dimensions, int[] radix,
+                             int from, int to, Aggregate aggregate) {
+        for (int r = from; r < to; r++) {
+            if (c.deleted[r] || !f.matchesResult(c, r)) {
+                continue;
+            }
+
+            int group = 0;
+            for (int d = 0; d < radix.length; d++) {
+                group = group * radix[d] + dimensions.get(d).code(c, r, -1);
+            }
+            aggregate.add(group, c.spi[r], c.cpi[r], c.earnedCredits[r], c.backlogs[r]);
+        }
+    }
+
+    private void scanSubjects(ColumnStore c, Filter f, List<Dimension> dimensions, int[] radix,
+                              int from, int to, Aggregate aggregate) {
+        for (int s = from; s < to; s++) {
+            int r = c.subjectResultRow[s];
+            if (c.deleted[r] || !f.matchesResult(c, r) || !f.matchesSubject(c, s)) {
+                continue;
+            }
+
+            int group = 0;
+            for (int d = 0; d < radix.length; d++) {
+                group = group * radix[d] + dimensions.get(d).code(c, r, s);
+            }
+            aggregate.add(group, c.spi[r], c.cpi[r], c.subjectCredits[s], c.subjectBacklog[s] ? 1 : 0);
+        }
+    }
+
+    private static int scoreBucket(double score) {
+        return Double.isNaN(score) ? MISSING_SCORE_BUCKET : Math.max(0, Math.min(10, (int) score));
+    }
+
+    private enum Dimension {
+        BRANCH(false), SEMESTER(false), ACADEMIC_YEAR(false), EXAM(false), RESULT(false),
+        SPI_BUCKET(false), CPI_BUCKET(false), BACKLOGS(false), SUBJECT(true), GRADE(true);
+
+        private final boolean subjectOnly;
+
+        Dimension(boolean subjectOnly) {
+            this.subjectOnly = subjectOnly;
+        }
+
+        int cardinality(ColumnStore c) {
+            switch (this) {
+                case BRANCH: return c.branches.size();
+                case SEMESTER: return c.maxSemester + 1;
+                case ACADEMIC_YEAR: return c.academicYears.size();
+                case EXAM: return c.exams.size();
+                case RESULT: return c.resultStatuses.size();
+                case SPI_BUCKET:
+                case CPI_BUCKET: return MISSING_SCORE_BUCKET + 1;
+                case BACKLOGS: return MAX_BACKLOG_GROUP + 1;
+                case SUBJECT: return c.subjectCodes.size();
+                case GRADE: return c.grades.size();
+                default: throw new IllegalStateException(name());
+            }
+        }
+
+        int code(ColumnStore c, int resultRow, int subjectRow) {
+            switch (this) {
+                case BRANCH: return c.branch[resultRow];
+                case SEMESTER: return c.semester[resultRow];
+                case ACADEMIC_YEAR: return c.academicYear[resultRow];
+                case EXAM: return c.exam[resultRow];
+                case RESULT: return c.resultStatus[resultRow];
+                case SPI_BUCKET: return scoreBucket(c.spi[resultRow]);
+                case CPI_BUCKET: return scoreBucket(c.cpi[resultRow]);
+                case BACKLOGS: return Math.min(c.backlogs[resultRow], MAX_BACKLOG_GROUP);
+                case SUBJECT: return c.subjectCode[subjectRow];
+                case GRADE: return c.grade[subjectRow];
+                default: throw new IllegalStateException(name());
+            }
+        }
+
+        Object label(ColumnStore c, int code) {
+            switch (this) {
+                case BRANCH: return c.branches.decode(code);
+                case SEMESTER: return code;
+                case ACADEMIC_YEAR: return c.academicYears.decode(code);
+                case EXAM: return c.exams.decode(code);
+                case RESULT: return c.resultStatuses.decode(code);
+                case SPI_BUCKET:
+                case CPI_BUCKET: return code == MISSING_SCORE_BUCKET ? null : code;
+                case BACKLOGS: return code;
+                case SUBJECT: return c.subjectCodes.decode(code);
+                case GRADE: return c.grades.decode(code);
+                default: throw new IllegalStateException(name());
+            }
+        }
+    }
+
+    /**
+     * Query filters compiled to code masks and numeric bounds.
+     */
+    private static class Filter {
+        private final boolean[] branchMask;
+        private final boolean[] semesterMask;
+        private final boolean[] academicYearMask;
+        private final boolean[] examMask;
+        private final boolean[] resultMask;
+        private final boolean[] subjectMask;
+        private final boolean[] gradeMask;
+        private final boolean spiRange;
+        private final double minSpi;
+        private final double maxSpi;
+        private final boolean cpiRange;
+        private final double minCpi;
+        private final double maxCpi;
+        private final int minBacklogs;
+        private final int maxBacklogs;
+
+        Filter(ColumnStore c, CohortQueryRequest request, List<Integer> branchIds, boolean subjectLevel) {
+            branchMask = mask(c.branches, branchIds);
+            academicYearMask = mask(c.academicYears, request.getAcademicYears());
+            examMask = mask(c.exams, request.getExamIds());
+            resultMask = mask(c.resultStatuses, request.getResults());
+
+            if (hasValues(request.getSemesters())) {
+                semesterMask = new boolean[c.maxSemester + 1];
+                for (Integer semester : request.getSemesters()) {
+                    if (semester != null && semester >= 0 && semester <= c.maxSemester) {
+                        semesterMask[semester] = true;
+                    }
+                }
+            } else {
+                semesterMask = null;
+            }
+
+            if (!subjectLevel && (hasValues(request.getSubjectCodes()) || hasValues(request.getGrades()))) {
+                throw new BadRequestException("Subject and grade filters require SUBJECT level");
+            }
+            subjectMask = mask(c.subjectCodes, request.getSubjectCodes());
+            gradeMask = mask(c.grades, request.getGrades());
+
+            spiRange = request.getMinSpi() != null || request.getMaxSpi() != null;
+            minSpi = request.getMinSpi() != null ? request.getMinSpi() : Double.NEGATIVE_INFINITY;
+            maxSpi = request.getMaxSpi() != null ? request.getMaxSpi() : Double.POSITIVE_INFINITY;
+            cpiRange = request.getMinCpi() != null || request.getMaxCpi() != null;
+            minCpi = request.getMinCpi() != null ? request.getMinCpi() : Double.NEGATIVE_INFINITY;
+            maxCpi = request.getMaxCpi() != null ? request.getMaxCpi() : Double.POSITIVE_INFINITY;
+            minBacklogs = request.getMinBacklogs() != null ? request.getMinBacklogs() : Integer.MIN_VALUE;
+            maxBacklogs = request.getMaxBacklogs() != null ? request.getMaxBacklogs() : Integer.MAX_VALUE;
+        }
+
+        private static boolean hasValues(List<?> values) {
+            return values != null && !values.isEmpty();
+        }
+
+        private static <T> boolean[] mask(Dictionary<T> dictionary, List<T> values) {
+            if (!hasValues(values)) {
+                return null;
+            }
+            boolean[] mask = new boolean[dictionary.size()];
+            for (T value : values) {
+                int code = dictionary.find(value);
+                if (code >= 0) {
+                    mask[code] = true;
+                }
+            }
+            return mask;
+        }
+
+        boolean matchesResult(ColumnStore c, int r) {
+            // NaN scores fail any explicit range, matching SQL NULL semantics
+            return (branchMask == null || branchMask[c.branch[r]])
+                    && (semesterMask == null || semesterMask[c.semester[r]])
+                    && (academicYearMask == null || academicYearMask[c.academicYear[r]])
+                    && (examMask == null || examMask[c.exam[r]])
+                    && (resultMask == null || resultMask[c.resultStatus[r]])
+                    && (!spiRange || (c.spi[r] >= minSpi && c.spi[r] <= maxSpi))
+                    && (!cpiRange || (c.cpi[r] >= minCpi && c.cpi[r] <= maxCpi))
+                    && c.backlogs[r] >= minBacklogs && c.backlogs[r] <= maxBacklogs;
+        }
+
+        boolean matchesSubject(ColumnStore c, int s) {
+            return (subjectMask == null || subjectMask[c.subjectCode[s]])
+                    && (gradeMask == null || gradeMask[c.grade[s]]);
+        }
+    }
+
+    /**
+     * Dense per-group accumulators for one slice of rows.
+     */
+    private static class Aggregate {
+        private final long[] count;
+        private final double[] spiSum;
+        private final long[] spiCount;
+        private final double[] spiMin;
+        private final double[] spiMax;
+        private final double[] cpiSum;
+        private final long[] cpiCount;
+        private final double[] cpiMin;
+        private final double[] cpiMax;
+        private final double[] creditSum;
+        private final long[] creditCount;
+        private final long[] backlogs;
+
+        Aggregate(int groups) {
+            count = new long[groups];
+            spiSum = new double[groups];
+            spiCount = new long[groups];
+            spiMin = new double[groups];
+            spiMax = new double[groups];
+            cpiSum = new double[groups];
+            cpiCount = new long[groups];
+            cpiMin = new double[groups];
+            cpiMax = new double[groups];
+            creditSum = new double[groups];
+            creditCount = new long[groups];
+            backlogs = new long[groups];
+            Arrays.fill(spiMin, Double.POSITIVE_INFINITY);
+            Arrays.fill(spiMax, Double.NEGATIVE_INFINITY);
+            Arrays.fill(cpiMin, Double.POSITIVE_INFINITY);
+            Arrays.fill(cpiMax, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(int g, double spi, double cpi, double credits, int backlogCount) {
+            count[g]++;
+            if (!Double.isNaN(spi)) {
+                spiSum[g] += spi;
+                spiCount[g]++;
+                spiMin[g] = Math.min(spiMin[g], spi);
+                spiMax[g] = Math.max(spiMax[g], spi);
+            }
+            if (!Double.isNaN(cpi)) {
+                cpiSum[g] += cpi;
+                cpiCount[g]++;
+                cpiMin[g] = Math.min(cpiMin[g], cpi);
+                cpiMax[g] = Math.max(cpiMax[g], cpi);
+            }
+            if (!Double.isNaN(credits)) {
+                creditSum[g] += credits;
+                creditCount[g]++;
+            }
+            backlogs[g] += backlogCount;
+        }
+
+        Aggregate merge(Aggregate other) {
+            for (int g = 0; g < count.length; g++) {
+                count[g] += other.count[g];
+                spiSum[g] += other.spiSum[g];
+                spiCount[g] += other.spiCount[g];
+                spiMin[g] = Math.min(spiMin[g], other.spiMin[g]);
+                spiMax[g] = Math.max(spiMax[g], other.spiMax[g]);
+                cpiSum[g] += other.cpiSum[g];
+                cpiCount[g] += other.cpiCount[g];
+                cpiMin[g] = Math.min(cpiMin[g], other.cpiMin[g]);
+                cpiMax[g] = Math.max(cpiMax[g], other.cpiMax[g]);
+                creditSum[g] += other.creditSum[g];
+                creditCount[g] += other.creditCount[g];
+                backlogs[g] += other.backlogs[g];
+            }
+            return this;
+        }
+
+        CohortGroupResponse toResponse(int g, ColumnStore c, List<Dimension> dimensions, int[] radix) {
+            CohortGroupResponse response = CohortGroupResponse.builder()
+                    .count(count[g])
+                    .backlogCount(backlogs[g])
+                    .build();
+
+            // Decode the mixed-radix group index back into one code per dimension
+            int remaining = g;
+            Object[] labels = new Object[radix.length];
+            for (int d = radix.length - 1; d >= 0; d--) {
+                labels[d] = dimensions.get(d).label(c, remaining % radix[d]);
+                remaining /= radix[d];
+            }
+            for (int d = 0; d < radix.length; d++) {
+                response.getGroup().put(dimensions.get(d).name(), labels[d]);
+            }
+
+            if (spiCount[g] > 0) {
+                response.setAverageSpi(spiSum[g] / spiCount[g]);
+                response.setMinSpi(spiMin[g]);
+                response.setMaxSpi(spiMax[g]);
+            }
+            if (cpiCount[g] > 0) {
+                response.setAverageCpi(cpiSum[g] / cpiCount[g]);
+                response.setMinCpi(cpiMin[g]);
+                response.setMaxCpi(cpiMax[g]);
+            }
+            if (creditCount[g] > 0) {
+                response.setAverageCredits(creditSum[g] / creditCount[g]);
+            }
+            return response;
+        }
+    }
+
+    private static class Dictionary<T> {
+        private final Map<T, Integer> codes = new HashMap<>();
+        private final List<T> values = new ArrayList<>();
+
+        int encode(T value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        int find(T value) {
+            return codes.getOrDefault(value, -1);
+        }
+
+        T decode(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+
+    private static class ColumnStore {
+        private final Dictionary<Integer> branches = new Dictionary<>();
+        private final Dictionary<String> academicYears = new Dictionary<>();
+        private final Dictionary<Integer> exams = new Dictionary<>();
+        private final Dictionary<String> resultStatuses = new Dictionary<>();
+        private final Dictionary<String> subjectCodes = new Dictionary<>();
+        private final Dictionary<String> grades = new Dictionary<>();
+        private final Map<Long, Integer> rowOf = new HashMap<>();
+
+        private int resultCount;
+        private int deletedCount;
+        private int maxSemester;
+        private long[] resultIds = new long[1024];
+        private int[] branch = new int[1024];
+        private int[] academicYear = new int[1024];
+        private int[] exam = new int[1024];
+        private int[] resultStatus = new int[1024];
+        private int[] semester = new int[1024];
+        private int[] backlogs = new int[1024];
+        private double[] spi = new double[1024];
+        private double[] cpi = new double[1024];
+        private double[] totalCredits = new double[1024];
+        private double[] earnedCredits = new double[1024];
+        private boolean[] deleted = new boolean[1024];
+
+        private int subjectCount;
+        private int[] subjectResultRow = new int[4096];
+        private int[] subjectCode = new int[4096];
+        private int[] grade = new int[4096];
+        private double[] subjectCredits = new double[4096];
+        private boolean[] subjectBacklog = new boolean[4096];
+
+        /** Row layout: id, examId, academicYear, branchId, semester, spi, cpi, totalCredits, earnedCredits, result */
+        void appendResult(Object[] row) {
+            Long id = (Long) row[0];
+            remove(id);
+
+            if (resultCount == resultIds.length) {
+                int capacity = resultCount * 2;
+                resultIds = Arrays.copyOf(resultIds, capacity);
+                branch = Arrays.copyOf(branch, capacity);
+                academicYear = Arrays.copyOf(academicYear, capacity);
+                exam = Arrays.copyOf(exam, capacity);
+                resultStatus = Arrays.copyOf(resultStatus, capacity);
+                semester = Arrays.copyOf(semester, capacity);
+                backlogs = Arrays.copyOf(backlogs, capacity);
+                spi = Arrays.copyOf(spi, capacity);
+                cpi = Arrays.copyOf(cpi, capacity);
+                totalCredits = Arrays.copyOf(totalCredits, capacity);
+                earnedCredits = Arrays.copyOf(earnedCredits, capacity);
+                deleted = Arrays.copyOf(deleted, capacity);
+            }
+
+            int r = resultCount++;
+            resultIds[r] = id;
+            exam[r] = exams.encode((Integer) row[1]);
+            academicYear[r] = academicYears.encode((String) row[2]);
+            branch[r] = branches.encode((Integer) row[3]);
+            semester[r] = row[4] != null ? Math.max(0, (Integer) row[4]) : 0;
+            maxSemester = Math.max(maxSemester, semester[r]);
+            spi[r] = toDouble(row[5]);
+            cpi[r] = toDouble(row[6]);
+            totalCredits[r] = toDouble(row[7]);
+            earnedCredits[r] = toDouble(row[8]);
+            resultStatus[r] = resultStatuses.encode((String) row[9]);
+            backlogs[r] = 0;
+            deleted[r] = false;
+            rowOf.put(id, r);
+        }
+
+        /** Row layout: resultId, code, grade, credits, isBacklog */
+        void appendSubject(Object[] row) {
+            Integer r = rowOf.get((Long) row[0]);
+            if (r == null) {
+                return;
+            }
+
+            if (subjectCount == subjectResultRow.length) {
+                int capacity = subjectCount * 2;
+                subjectResultRow = Arrays.copyOf(subjectResultRow, capacity);
+                subjectCode = Arrays.copyOf(subjectCode, capacity);
+                grade = Arrays.copyOf(grade, capacity);
+                subjectCredits = Arrays.copyOf(subjectCredits, capacity);
+                subjectBacklog = Arrays.copyOf(subjectBacklog, capacity);
+            }
+
+            int s = subjectCount++;
+            subjectResultRow[s] = r;
+            subjectCode[s] = subjectCodes.encode((String) row[1]);
+            grade[s] = grades.encode((String) row[2]);
+            subjectCredits[s] = toDouble(row[3]);
+            subjectBacklog[s] = Boolean.TRUE.equals(row[4]);
+            if (subjectBacklog[s]) {
+                backlogs[r]++;
+            }
+        }
+
+        void remove(Long resultId) {
+            Integer r = rowOf.remove(resultId);
+            if (r != null) {
+                deleted[r] = true;
+                deletedCount++;
+            }
+        }
+
+        private static double toDouble(Object value) {
+            return value != null ? ((Number) value).doubleValue() : Double.NaN;
+        }
+    }
+}
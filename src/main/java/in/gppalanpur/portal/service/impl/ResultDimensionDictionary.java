@@ -0,0 +1,91 @@
+package in.gppalanpur.portal.service.impl;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import in.gppalanpur.portal.repository.DimensionRepository;
+
+import static in.gppalanpur.portal.service.impl.DimensionTable.clean;
+import static in.gppalanpur.portal.service.impl.DimensionTable.key;
+
+/**
+ * In-memory dictionary of the result dimensions: branch, institute, course
+ * and exam names. Result rows store their IDs; imports resolve names here,
+ * creating entries for names not seen before, and everything that shows a
+ * result turns the IDs back into names.
+ *
+ * Names match on the upper-cased, whitespace-collapsed key, as for feedback;
+ * the V13 migration that backfilled the tables uses the same expression.
+ */
+@Component
+public class ResultDimensionDictionary {
+
+    /** ID that no dimension row has; filters on an unknown name match nothing. */
+    private static final int NO_MATCH = -1;
+
+    private final DimensionTable branches;
+    private final DimensionTable institutes;
+    private final DimensionTable courses;
+    private final DimensionTable exams;
+
+    public ResultDimensionDictionary(DimensionRepository dimensionRepository,
+                                     PlatformTransactionManager transactionManager) {
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.branches = new DimensionTable(dimensionRepository, newTransaction,
+                DimensionRepository.RESULT_BRANCHES, "name");
+        this.institutes = new DimensionTable(dimensionRepository, newTransaction,
+                DimensionRepository.RESULT_INSTITUTES, "name");
+        this.courses = new DimensionTable(dimensionRepository, newTransaction,
+                DimensionRepository.RESULT_COURSES, "name");
+        this.exams = new DimensionTable(dimensionRepository, newTransaction,
+                DimensionRepository.RESULT_EXAMS, "name");
+    }
+
+    public Integer branchId(String name) {
+        return idFor(branches, name);
+    }
+
+    public Integer instituteId(String name) {
+        return idFor(institutes, name);
+    }
+
+    public Integer courseId(String name) {
+        return idFor(courses, name);
+    }
+
+    public Integer examNameId(String name) {
+        return idFor(exams, name);
+    }
+
+    public String branchName(Integer id) {
+        return branches.values(id)[0];
+    }
+
+    public String instituteName(Integer id) {
+        return institutes.values(id)[0];
+    }
+
+    public String courseName(Integer id) {
+        return courses.values(id)[0];
+    }
+
+    public String examName(Integer id) {
+        return exams.values(id)[0];
+    }
+
+    /** @return null when no filter is given, otherwise the ID or one that matches nothing */
+    public Integer findBranchId(String name) {
+        return isBlank(name) ? null : branches.ids().getOrDefault(key(name), NO_MATCH);
+    }
+
+    private static Integer idFor(DimensionTable table, String name) {
+        return isBlank(name) ? null : table.idFor(key(name), clean(name));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,275 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+
+import in.gppalanpur.portal.config.AppProperties;
+import in.gppalanpur.portal.entity.Result;
+import in.gppalanpur.portal.entity.ResultSubject;
+import in.gppalanpur.portal.repository.ResultRepository;
+import in.gppalanpur.portal.repository.ResultSubjectRepository;
+import in.gppalanpur.portal.service.ResultMarksheetService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Renders marksheets on a bounded thread pool and streams them into a ZIP.
+ *
+ * Results are loaded in chunks and handed to the pool; at most a small window
+ * of rendered PDFs waits to be written, so memory use does not grow with the
+ * size of the class. Entries are written in submission order, which keeps the
+ * archive in enrollment order regardless of which render finishes first.
+ */
+@Service
+@Slf4j
+public class ResultMarksheetServiceImpl implements ResultMarksheetService {
+
+    private static final int CHUNK_SIZE = 100;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 16, Font.BOLD);
+    private static final Font HEADING_FONT = FontFactory.getFont(FontFactory.HELVETICA, 12, Font.BOLD);
+    private static final Font LABEL_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, Font.BOLD);
+    private static final Font TEXT_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+
+    private final ResultRepository resultRepository;
+    private final ResultSubjectRepository resultSubjectRepository;
+    private final ResultDimensionDictionary resultDimensions;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService renderPool;
+    private final int window;
+
+    public ResultMarksheetServiceImpl(ResultRepository resultRepository, ResultSubjectRepository resultSubjectRepository,
+                                      ResultDimensionDictionary resultDimensions,
+                                      PlatformTransactionManager transactionManager, AppProperties appProperties) {
+        this.resultRepository = resultRepository;
+        this.resultSubjectRepository = resultSubjectRepository;
+        this.resultDimensions = resultDimensions;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        int threads = Math.max(1, appProperties.getResults().getMarksheetThreads());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.renderPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "marksheet-render-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.window = threads * 2;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    @Override
+    public long countMarksheets(Integer examId, String branchName, Integer semester) {
+        return resultRepository.countByExamIdAndBranchIdAndSemester(examId,
+                resultDimensions.findBranchId(branchName), semester);
+    }
+
+    @Override
+    public void writeMarksheetZip(Integer examId, String branchName, Integer semester, OutputStream outputStream)
+            throws IOException {
+        long start = System.currentTimeMillis();
+        Integer branchId = resultDimensions.findBranchId(branchName);
+        List<Long> ids = readOnlyTransaction.execute(status ->
+                resultRepository.findIdsByExamIdAndBranchIdAndSemester(examId, branchId, semester));
+
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        Deque<Future<Marksheet>> pending = new ArrayDeque<>();
+        try {
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE));
+                for (MarksheetData data : loadChunk(chunk)) {
+                    if (pending.size() >= window) {
+                        writeEntry(zip, pending.poll());
+                    }
+                    pending.add(renderPool.submit(() -> render(data)));
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeEntry(zip, pending.poll());
+            }
+            zip.finish();
+            zip.flush();
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+
+        log.info("Streamed {} marksheets for exam {} {} semester {} in {} ms", ids.size(), examId, branchName, semester,
+                System.currentTimeMillis() - start);
+    }
+
+    private List<MarksheetData> loadChunk(List<Long> ids) {
+        return readOnlyTransaction.execute(status -> {
+            Map<Long, Result> results = resultRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Result::getId, Function.identity()));
+            Map<Long, List<ResultSubject>> subjects = resultSubjectRepository.findByResultIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(subject -> subject.getResult().getId()));
+
+            List<MarksheetData> chunk = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Result result = results.get(id);
+                if (result != null) {
+                    chunk.add(new MarksheetData(result, subjects.getOrDefault(id, List.of())));
+                }
+            }
+            return chunk;
+        });
+    }
+
+    private void writeEntry(ZipOutputStream zip, Future<Marksheet> future) throws IOException {
+        Marksheet marksheet;
+        try {
+            marksheet = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering marksheets", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render marksheet", e.getCause());
+        }
+
+        zip.putNextEntry(new ZipEntry(marksheet.fileName));
+        zip.write(marksheet.pdf);
+        zip.closeEntry();
+    }
+
+    private Marksheet render(MarksheetData data) throws DocumentException {
+        Result result = data.result;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(8 * 1024);
+
+        Document document = new Document(PageSize.A4);
+        PdfWriter.getInstance(document, baos);
+        document.open();
+
+        String instituteName = resultDimensions.instituteName(result.getInstituteId());
+        Paragraph institute = new Paragraph(instituteName != null ? instituteName : "", HEADING_FONT);
+        institute.setAlignment(Element.ALIGN_CENTER);
+        document.add(institute);
+
+        Paragraph title = new Paragraph("Statement of Grades", TITLE_FONT);
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+        document.add(new Paragraph(" "));
+
+        // Student and exam details
+        PdfPTable details = new PdfPTable(4);
+        details.setWidthPercentage(100);
+        addDetail(details, "Name", result.getName());
+        addDetail(details, "Enrollment No", result.getEnrollmentNo());
+        addDetail(details, "Branch", resultDimensions.branchName(result.getBranchId()));
+        addDetail(details, "Semester", result.getSemester());
+        addDetail(details, "Exam", resultDimensions.examName(result.getExamNameId()));
+        addDetail(details, "Academic Year", result.getAcademicYear());
+        addDetail(details, "Declaration Date",
+                result.getDeclarationDate() != null ? result.getDeclarationDate().format(DATE_FORMATTER) : null);
+        addDetail(details, "Exam ID", result.getExamId());
+        document.add(details);
+        document.add(new Paragraph(" "));
+
+        // Subject grades
+        PdfPTable subjects = new PdfPTable(new float[] { 1.2f, 4f, 1f, 1.2f, 1.2f, 1f });
+        subjects.setWidthPercentage(100);
+        addCells(subjects, LABEL_FONT, "Code", "Subject", "Credits", "Theory", "Practical", "Grade");
+        for (ResultSubject subject : data.subjects) {
+            addCells(subjects, TEXT_FONT,
+                    subject.getCode(),
+                    subject.getName(),
+                    format(subject.getCredits()),
+                    subject.getTheoryTotalGrade(),
+                    subject.getPracticalTotalGrade(),
+                    subject.getGrade());
+        }
+        document.add(subjects);
+        document.add(new Paragraph(" "));
+
+        // Summary
+        PdfPTable summary = new PdfPTable(4);
+        summary.setWidthPercentage(100);
+        addDetail(summary, "Total Credits", format(result.getTotalCredits()));
+        addDetail(summary, "Earned Credits", format(result.getEarnedCredits()));
+        addDetail(summary, "SPI", format(result.getSpi()));
+        addDetail(summary, "CPI", format(result.getCpi()));
+        addDetail(summary, "CGPA", format(result.getCgpa()));
+        addDetail(summary, "Result", result.getResult());
+        addDetail(summary, "Current Backlog", result.getCurrentBacklog());
+        addDetail(summary, "Total Backlog", result.getTotalBacklog());
+        document.add(summary);
+
+        document.close();
+
+        String fileName = (result.getEnrollmentNo() != null ? result.getEnrollmentNo() : "result-" + result.getId())
+                .replaceAll("[^A-Za-z0-9_-]", "_") + ".pdf";
+        return new Marksheet(fileName, baos.toByteArray());
+    }
+
+    private void addDetail(PdfPTable table, String label, Object value) {
+        addCells(table, LABEL_FONT, label);
+        addCells(table, TEXT_FONT, value != null ? value.toString() : "");
+    }
+
+    private void addCells(PdfPTable table, Font font, String... values) {
+        for (String value : values) {
+            PdfPCell cell = new PdfPCell(new Paragraph(value != null ? value : "", font));
+            cell.setPadding(4);
+            table.addCell(cell);
+        }
+    }
+
+    private String format(Double value) {
+        return value != null ? String.format("%.2f", value) : "";
+    }
+
+    private static class MarksheetData {
+        private final Result result;
+        private final List<ResultSubject> subjects;
+
+        MarksheetData(Result result, List<ResultSubject> subjects) {
+            this.result = result;
+            this.subjects = subjects;
+        }
+    }
+
+    private static class Marksheet {
+        private final String fileName;
+        private final byte[] pdf;
+
+        Marksheet(String fileName, byte[] pdf) {
+            this.fileName = fileName;
+            this.pdf = pdf;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import in.gppalanpur.portal.dto.result.ResultHistogramBucket;
+import in.gppalanpur.portal.dto.result.StudentRankResponse;
+import in.gppalanpur.portal.exception.BadRequestException;
+import in.gppalanpur.portal.exception.ResourceNotFoundException;
+import in.gppalanpur.portal.repository.ResultRepository;
+import in.gppalanpur.portal.service.ResultRankingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps, per exam, the SPI and CPI of every class (branch and semester) in
+ * sorted primitive arrays. Ranks, percentiles, top-N and band counts are binary
+ * searches over those arrays; the database is only read when an exam is first
+ * requested or after an import or delete touched it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResultRankingServiceImpl implements ResultRankingService {
+
+    private final ResultRepository resultRepository;
+    private final ResultDimensionDictionary resultDimensions;
+
+    private final Map<Integer, ExamRanking> rankings = new ConcurrentHashMap<>();
+
+    @Override
+    public StudentRankResponse getStudentRank(Integer examId, String enrollmentNo) {
+        ExamRanking examRanking = getExamRanking(examId);
+        ClassRanking classRanking = examRanking.byEnrollment.get(enrollmentNo);
+        if (classRanking == null) {
+            throw new ResourceNotFoundException("No result found for enrollment " + enrollmentNo + " in exam " + examId);
+        }
+
+        return classRanking.toResponse(examId, classRanking.rowOf.get(enrollmentNo));
+    }
+
+    @Override
+    public List<StudentRankResponse> getTopStudents(Integer examId, String branchName, Integer semester, String metric, int limit) {
+        ClassRanking classRanking = getClassRanking(examId, branchName, semester);
+        MetricIndex index = classRanking.index(metric);
+
+        int count = Math.min(Math.max(limit, 0), index.size());
+        List<StudentRankResponse> top = new ArrayList<>(count);
+        for (int i = index.size() - 1; i >= index.size() - count; i--) {
+            top.add(classRanking.toResponse(examId, index.rows[i]));
+        }
+        return top;
+    }
+
+    @Override
+    public List<ResultHistogramBucket> getScoreBandCounts(Integer examId, String branchName, Integer semester, String metric,
+                                                          List<Double> boundaries) {
+        if (boundaries == null || boundaries.size() < 2) {
+            throw new BadRequestException("At least two band boundaries are required");
+        }
+
+        MetricIndex index = getClassRanking(examId, branchName, semester).index(metric);
+
+        List<ResultHistogramBucket> bands = new ArrayList<>(boundaries.size() - 1);
+        for (int i = 0; i < boundaries.size() - 1; i++) {
+            double lower = boundaries.get(i);
+            double upper = boundaries.get(i + 1);
+            if (upper < lower) {
+                throw new BadRequestException("Band boundaries must be in ascending order");
+            }
+
+            // The last band is closed, so a top score such as SPI 10.0 is still counted
+            int end = i == boundaries.size() - 2 ? index.upperBound(upper) : index.lowerBound(upper);
+            bands.add(ResultHistogramBucket.builder()
+                    .bucket(i)
+                    .lowerBound(lower)
+                    .upperBound(upper)
+                    .count(end - index.lowerBound(lower))
+                    .build());
+        }
+        return bands;
+    }
+
+    @Override
+    public List<StudentRankResponse> getClassRanks(Integer examId, String branchName, Integer semester) {
+        ClassRanking classRanking = getClassRanking(examId, branchName, semester);
+        MetricIndex spiIndex = classRanking.spiIndex;
+
+        List<StudentRankResponse> ranks = new ArrayList<>(classRanking.size());
+        boolean[] listed = new boolean[classRanking.size()];
+        for (int i = spiIndex.size() - 1; i >= 0; i--) {
+            int row = spiIndex.rows[i];
+            listed[row] = true;
+            ranks.add(classRanking.toResponse(examId, row));
+        }
+
+        // Students without an SPI go last
+        for (int row = 0; row < classRanking.size(); row++) {
+            if (!listed[row]) {
+                ranks.add(classRanking.toResponse(examId, row));
+            }
+        }
+        return ranks;
+    }
+
+    @Override
+    public void refreshAfterCommit(Collection<Integer> examIds) {
+        List<Integer> affected = examIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (affected.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    affected.forEach(ResultRankingServiceImpl.this::rebuild);
+                }
+            });
+        } else {
+            affected.forEach(this::rebuild);
+        }
+    }
+
+    private void rebuild(Integer examId) {
+        ExamRanking examRanking = buildExamRanking(examId);
+        if (examRanking.classes.isEmpty()) {
+            rankings.remove(examId);
+        } else {
+            rankings.put(examId, examRanking);
+        }
+    }
+
+    private ExamRanking getExamRanking(Integer examId) {
+        ExamRanking examRanking = rankings.computeIfAbsent(examId, this::buildExamRanking);
+        if (examRanking.classes.isEmpty()) {
+            rankings.remove(examId, examRanking);
+            throw new ResourceNotFoundException("No results found for exam " + examId);
+        }
+        return examRanking;
+    }
+
+    private ClassRanking getClassRanking(Integer examId, String branchName, Integer semester) {
+        Integer branchId = resultDimensions.findBranchId(branchName);
+        ClassRanking classRanking = getExamRanking(examId).classes.get(classKey(branchId, semester));
+        if (classRanking == null) {
+            throw new ResourceNotFoundException("No results found for " + branchName + " semester " + semester
+                    + " in exam " + examId);
+        }
+        return classRanking;
+    }
+
+    private ExamRanking buildExamRanking(Integer examId) {
+        Map<String, List<Object[]>> rowsByClass = new HashMap<>();
+        for (Object[] row : resultRepository.findRankingRowsByExamId(examId)) {
+            rowsByClass.computeIfAbsent(classKey((Integer) row[3], (Integer) row[4]), key -> new ArrayList<>()).add(row);
+        }
+
+        ExamRanking examRanking = new ExamRanking();
+        rowsByClass.forEach((key, rows) -> {
+            ClassRanking classRanking = new ClassRanking(rows, resultDimensions.branchName((Integer) rows.get(0)[3]));
+            examRanking.classes.put(key, classRanking);
+            for (String enrollmentNo : classRanking.enrollmentNos) {
+                examRanking.byEnrollment.put(enrollmentNo, classRanking);
+            }
+        });
+
+        log.debug("Built rankings for exam {}: {} classes, {} students", examId,
+                examRanking.classes.size(), examRanking.byEnrollment.size());
+        return examRanking;
+    }
+
+    private static String classKey(Integer branchId, Integer semester) {
+        return branchId + "|" + semester;
+    }
+
+    private static class ExamRanking {
+        private final Map<String, ClassRanking> classes = new HashMap<>();
+        private final Map<String, ClassRanking> byEnrollment = new HashMap<>();
+    }
+
+    /**
+     * One class of one exam. Rows are positions in the parallel per-student arrays.
+     */
+    private static class ClassRanking {
+        private final long[] resultIds;
+        private final String[] enrollmentNos;
+        private final String[] names;
+        private final String branchName;
+        private final Integer semester;
+        private final double[] spi;
+        private final double[] cpi;
+        private final Map<String, Integer> rowOf;
+        private final MetricIndex spiIndex;
+        private final MetricIndex cpiIndex;
+
+        ClassRanking(List<Object[]> rows, String branchName) {
+            int size = rows.size();
+            resultIds = new long[size];
+            enrollmentNos = new String[size];
+            names = new String[size];
+            spi = new double[size];
+            cpi = new double[size];
+            rowOf = new HashMap<>(size * 2);
+
+            for (int i = 0; i < size; i++) {
+                Object[] row = rows.get(i);
+                resultIds[i] = (Long) row[0];
+                enrollmentNos[i] = (String) row[1];
+                names[i] = (String) row[2];
+                spi[i] = row[5] != null ? (Double) row[5] : Double.NaN;
+                cpi[i] = row[6] != null ? (Double) row[6] : Double.NaN;
+                rowOf.put(enrollmentNos[i], i);
+            }
+
+            this.branchName = branchName;
+            semester = (Integer) rows.get(0)[4];
+            spiIndex = new MetricIndex(spi);
+            cpiIndex = new MetricIndex(cpi);
+        }
+
+        int size() {
+            return enrollmentNos.length;
+        }
+
+        MetricIndex index(String metric) {
+            if ("SPI".equalsIgnoreCase(metric)) {
+                return spiIndex;
+            }
+            if ("CPI".equalsIgnoreCase(metric)) {
+                return cpiIndex;
+            }
+            throw new BadRequestException("Metric must be SPI or CPI");
+        }
+
+        StudentRankResponse toResponse(Integer examId, int row) {
+            StudentRankResponse response = StudentRankResponse.builder()
+                    .resultId(resultIds[row])
+                    .enrollmentNo(enrollmentNos[row])
+                    .name(names[row])
+                    .examId(examId)
+                    .branchName(branchName)
+                    .semester(semester)
+                    .classSize(size())
+                    .build();
+
+            if (!Double.isNaN(spi[row])) {
+                response.setSpi(spi[row]);
+                response.setSpiRank(spiIndex.rank(spi[row]));
+                response.setSpiPercentile(spiIndex.percentile(spi[row]));
+            }
+            if (!Double.isNaN(cpi[row])) {
+                response.setCpi(cpi[row]);
+                response.setCpiRank(cpiIndex.rank(cpi[row]));
+                response.setCpiPercentile(cpiIndex.percentile(cpi[row]));
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Scores sorted ascending, paired with the row each score belongs to.
+     * Missing scores are left out.
+     */
+    private static class MetricIndex {
+        private final double[] scores;
+        private final int[] rows;
+
+        MetricIndex(double[] values) {
+            rows = IntStream.range(0, values.length)
+                    .filter(row -> !Double.isNaN(values[row]))
+                    .boxed()
+                    .sorted(Comparator.comparingDouble(row -> values[row]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            scores = new double[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                scores[i] = values[rows[i]];
+            }
+        }
+
+        int size() {
+            return scores.length;
+        }
+
+        /** Competition rank: one more than the number of strictly higher scores. */
+        int rank(double score) {
+            return scores.length - upperBound(score) + 1;
+        }
+
+        /** Percentage of the class scoring at or below the given score. */
+        double percentile(double score) {
+            return scores.length == 0 ? 0.0 : upperBound(score) * 100.0 / scores.length;
+        }
+
+        /** Index of the first score not less than the key. */
+        int lowerBound(double key) {
+            int low = 0;
+            int high = scores.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (scores[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /** Index of the first score greater than the key. */
+        int upperBound(double key) {
+            int low = 0;
+            int high = scores.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (scores[mid] <= key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
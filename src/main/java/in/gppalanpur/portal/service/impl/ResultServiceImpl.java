@@ -1,40 +1,65 @@
 package in.gppalanpur.portal.service.impl;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import in.gppalanpur.portal.dto.BatchDeletionJobResponse;
 import in.gppalanpur.portal.dto.result.ResultAnalysisResponse;
 import in.gppalanpur.portal.dto.result.ResultBatchResponse;
+import in.gppalanpur.portal.dto.result.ResultHistogramBucket;
 import in.gppalanpur.portal.dto.result.ResultImportResult;
 import in.gppalanpur.portal.dto.result.ResultResponse;
 import in.gppalanpur.portal.dto.result.ResultSubjectResponse;
+import in.gppalanpur.portal.dto.result.SubjectGradeDistributionResponse;
 import in.gppalanpur.portal.entity.Result;
 import in.gppalanpur.portal.entity.ResultSubject;
+import in.gppalanpur.portal.entity.UploadBatch;
+import in.gppalanpur.portal.exception.BadRequestException;
 import in.gppalanpur.portal.exception.ResourceNotFoundException;
+import in.gppalanpur.portal.repository.BatchDeletionRepository;
+import in.gppalanpur.portal.repository.ResultBulkLoader;
+import in.gppalanpur.portal.repository.ResultExamSummaryRepository;
+import in.gppalanpur.portal.repository.ResultGradeSummaryRepository;
 import in.gppalanpur.portal.repository.ResultRepository;
+import in.gppalanpur.portal.repository.ResultScoreHistogramRepository;
+import in.gppalanpur.portal.repository.ResultSubjectRepository;
+import in.gppalanpur.portal.service.BatchDeletionJobService;
+import in.gppalanpur.portal.service.FileStorageService;
+import in.gppalanpur.portal.service.ResultBacklogService;
+import in.gppalanpur.portal.service.ResultCohortService;
+import in.gppalanpur.portal.service.ResultRankingService;
 import in.gppalanpur.portal.service.ResultService;
+import in.gppalanpur.portal.service.UploadBatchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -43,7 +68,36 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ResultServiceImpl implements ResultService {
 
+    private static final DateTimeFormatter DECLARATION_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int DELETE_CHUNK_SIZE = 2000;
+
+    private static final String[] EXPORT_HEADERS = {"ID", "ST_ID", "Enrollment_No", "Extype", "Exam_ID", "Exam",
+            "Declaration_Date", "Academic_Year", "Semester", "Unit_No", "Exam_Number",
+            "Name", "Inst_Code", "Inst_Name", "Course_Name", "Branch_Code", "Branch_Name",
+            "Total_Credits", "Earned_Credits", "SPI", "CPI", "CGPA", "Result", "Trials", "Upload_Batch"};
+    private static final String[] WORKBOOK_HEADERS = {"Enrollment No", "Name", "Exam ID", "Exam", "Academic Year",
+            "Branch", "Semester", "Total Credits", "Earned Credits", "SPI", "CPI", "CGPA", "Result",
+            "Current Backlog", "Total Backlog"};
+    private static final int[] WORKBOOK_COLUMN_WIDTHS = {16, 32, 9, 28, 14, 36, 9, 13, 14, 7, 7, 7, 10, 15, 13};
+
     private final ResultRepository resultRepository;
+    private final ResultSubjectRepository resultSubjectRepository;
+    private final ResultBulkLoader resultBulkLoader;
+    private final ResultDimensionDictionary resultDimensions;
+    private final StudentTranscriptCache studentTranscriptCache;
+    private final ResultExamSummaryRepository resultExamSummaryRepository;
+    private final ResultScoreHistogramRepository resultScoreHistogramRepository;
+    private final ResultGradeSummaryRepository resultGradeSummaryRepository;
+    private final ResultRankingService resultRankingService;
+    private final ResultCohortService resultCohortService;
+    private final ResultBacklogService resultBacklogService;
+    private final BatchDeletionRepository batchDeletionRepository;
+    private final BatchDeletionJobService batchDeletionJobService;
+    private final PlatformTransactionManager transactionManager;
+    private final UploadBatchService uploadBatchService;
+    private final FileStorageService fileStorageService;
+    private final CsvExporter csvExporter;
+    private final NdjsonStreamer ndjsonStreamer;
     
     @Override
     public Page<ResultResponse> getAllResults(Pageable pageable) {
@@ -55,6 +109,26 @@ public class ResultServiceImpl implements ResultService {
         return new PageImpl<>(resultResponses, pageable, resultsPage.getTotalElements());
     }
 
+    @Override
+    public void streamResults(Integer examId, String academicYear, String branchName, Integer semester,
+                              String uploadBatch, OutputStream outputStream) throws IOException {
+        Specification<Result> filter = Specification.where(null);
+        filter = withEqual(filter, "examId", examId);
+        filter = withEqual(filter, "academicYear", academicYear);
+        filter = withEqual(filter, "branchId", resultDimensions.findBranchId(branchName));
+        filter = withEqual(filter, "semester", semester);
+        filter = withEqual(filter, "uploadBatch", uploadBatch);
+        
+        ndjsonStreamer.stream(outputStream, Result.class, filter, this::convertWithSubjects);
+    }
+
+    private static Specification<Result> withEqual(Specification<Result> spec, String attribute, Object value) {
+        if (value == null || (value instanceof String && ((String) value).isEmpty())) {
+            return spec;
+        }
+        return spec.and((root, query, cb) -> cb.equal(root.get(attribute), value));
+    }
+
     @Override
     public ResultResponse getResult(Long id) {
         Result result = resultRepository.findById(id)
@@ -64,43 +138,76 @@ public class ResultServiceImpl implements ResultService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<ResultResponse> getStudentResults(String enrollmentNo, Pageable pageable) {
-        List<Result> results = resultRepository.findByEnrollmentNo(enrollmentNo);
-        
-        List<ResultResponse> resultResponses = results.stream()
-                .map(this::convertToDto)
+        return studentTranscriptCache.get(enrollmentNo, pageable, () -> loadStudentResults(enrollmentNo, pageable));
+    }
+    
+    private Page<ResultResponse> loadStudentResults(String enrollmentNo, Pageable pageable) {
+        Page<Result> resultsPage = resultRepository.findByEnrollmentNo(enrollmentNo, pageable);
+        return new PageImpl<>(convertWithSubjects(resultsPage.getContent()), pageable, resultsPage.getTotalElements());
+    }
+    
+    /**
+     * Convert results to DTOs, fetching the subjects of all of them in one query
+     * instead of one per result.
+     */
+    private List<ResultResponse> convertWithSubjects(List<Result> results) {
+        List<Long> resultIds = results.stream()
+                .map(Result::getId)
                 .collect(Collectors.toList());
+        Map<Long, List<ResultSubject>> subjectsByResult = resultIds.isEmpty()
+                ? Map.of()
+                : resultSubjectRepository.findByResultIdIn(resultIds).stream()
+                        .collect(Collectors.groupingBy(subject -> subject.getResult().getId()));
         
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), resultResponses.size());
-        
-        List<ResultResponse> pageContent = resultResponses.subList(start, end);
-        return new PageImpl<>(pageContent, pageable, resultResponses.size());
+        return results.stream()
+                .map(result -> convertToDto(result, subjectsByResult.getOrDefault(result.getId(), List.of())))
+                .collect(Collectors.toList());
     }
 
     @Override
     @Transactional
-    public ResultImportResult importResults(MultipartFile file, Long userId) {
+    public ResultImportResult importResults(MultipartFile file, Long userId, boolean merge) {
         ResultImportResult importResult = new ResultImportResult();
         String batchId = UUID.randomUUID().toString();
+        UploadBatch batch;
+        try (InputStream inputStream = file.getInputStream()) {
+            batch = fileStorageService.store(inputStream, file.getOriginalFilename(), "text/csv", upload ->
+                    uploadBatchService.findImported(UploadBatch.KIND_RESULTS, upload.getSha256())
+                            .orElseGet(() -> uploadBatchService.start(batchId, UploadBatch.KIND_RESULTS,
+                                    file.getOriginalFilename(), upload.getSha256(), userId)));
+        } catch (IOException e) {
+            log.error("Error reading CSV file: {}", e.getMessage());
+            importResult.getErrors().add("Error reading CSV file: " + e.getMessage());
+            return importResult;
+        }
+        
+        if (!batchId.equals(batch.getBatchId())) {
+            log.info("Results file {} was already imported as batch {}", batch.getContentSha256(), batch.getBatchId());
+            importResult.setBatchId(batch.getBatchId());
+            importResult.setDuplicate(true);
+            importResult.setSuccessCount(batch.getRowCount());
+            importResult.setErrorCount(batch.getErrorCount());
+            importResult.setTotalRecords(batch.getRowCount() + batch.getErrorCount());
+            return importResult;
+        }
+        
         importResult.setBatchId(batchId);
+        uploadBatchService.failOnRollback(batchId);
         
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()));
+        try (BufferedReader reader = Files.newBufferedReader(fileStorageService.getPath(batch.getContentSha256()));
              CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT.builder().setHeader().build())) {
             
-            List<CSVRecord> records = csvParser.getRecords();
-            importResult.setTotalRecords(records.size());
-            
-            for (CSVRecord record : records) {
-                try {
-                    Result result = parseResultFromCsv(record, batchId);
-                    resultRepository.save(result);
-                    importResult.setSuccessCount(importResult.getSuccessCount() + 1);
-                } catch (Exception e) {
-                    log.error("Error importing result: {}", e.getMessage());
-                    importResult.setErrorCount(importResult.getErrorCount() + 1);
-                    importResult.getErrors().add("Row " + record.getRecordNumber() + ": " + e.getMessage());
-                }
+            resultBulkLoader.load(csvParser, batchId, record -> parseResultFromCsv(record, batchId), merge, importResult);
+            List<String> enrollmentNos = resultRepository.findEnrollmentNosByUploadBatch(batchId);
+            resultBacklogService.refresh(enrollmentNos);
+            studentTranscriptCache.evictAfterCommit(enrollmentNos);
+            refreshAnalytics(resultRepository.findExamIdsByUploadBatch(batchId));
+            resultCohortService.loadBatchAfterCommit(batchId);
+            if (importResult.getUpdatedCount() > 0) {
+                // Rewritten results moved here from older batches
+                uploadBatchService.recountResultRows();
             }
             
         } catch (IOException e) {
@@ -108,29 +215,20 @@ public class ResultServiceImpl implements ResultService {
             importResult.getErrors().add("Error reading CSV file: " + e.getMessage());
         }
         
+        uploadBatchService.finish(batchId, importResult.getSuccessCount(), importResult.getErrorCount());
         return importResult;
     }
 
     @Override
-    public byte[] exportResults() {
-        List<Result> results = resultRepository.findAll();
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        
-        try (CSVPrinter csvPrinter = new CSVPrinter(new OutputStreamWriter(out), CSVFormat.DEFAULT.builder()
-                .setHeader("ID", "ST_ID", "Enrollment_No", "Extype", "Exam_ID", "Exam", 
-                        "Declaration_Date", "Academic_Year", "Semester", "Unit_No", "Exam_Number",
-                        "Name", "Inst_Code", "Inst_Name", "Course_Name", "Branch_Code", "Branch_Name",
-                        "Total_Credits", "Earned_Credits", "SPI", "CPI", "CGPA", "Result", "Trials", "Upload_Batch")
-                .build())) {
-            
-            for (Result result : results) {
-                csvPrinter.printRecord(
+    public void exportResults(OutputStream outputStream) throws IOException {
+        csvExporter.exportEntities(outputStream, EXPORT_HEADERS, resultRepository::streamAllForExport,
+                result -> new Object[] {
                         result.getId(),
                         result.getStId(),
                         result.getEnrollmentNo(),
                         result.getExtype(),
                         result.getExamId(),
-                        result.getExam(),
+                        resultDimensions.examName(result.getExamNameId()),
                         result.getDeclarationDate(),
                         result.getAcademicYear(),
                         result.getSemester(),
@@ -138,10 +236,10 @@ public class ResultServiceImpl implements ResultService {
                         result.getExamNumber(),
                         result.getName(),
                         result.getInstCode(),
-                        result.getInstName(),
-                        result.getCourseName(),
+                        resultDimensions.instituteName(result.getInstituteId()),
+                        resultDimensions.courseName(result.getCourseId()),
                         result.getBranchCode(),
-                        result.getBranchName(),
+                        resultDimensions.branchName(result.getBranchId()),
                         result.getTotalCredits(),
                         result.getEarnedCredits(),
                         result.getSpi(),
@@ -150,29 +248,45 @@ public class ResultServiceImpl implements ResultService {
                         result.getResult(),
                         result.getTrials(),
                         result.getUploadBatch()
-                );
-            }
-            
-            csvPrinter.flush();
-            return out.toByteArray();
-        } catch (IOException e) {
-            log.error("Error exporting results to CSV: {}", e.getMessage());
-            throw new RuntimeException("Error exporting results to CSV", e);
+                });
+    }
+
+    @Override
+    public void writeResultsWorkbook(Integer examId, String branchName, Integer semester,
+                                     OutputStream outputStream) throws IOException {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        Integer branchId = resultDimensions.findBranchId(branchName);
+        
+        try (StreamingWorkbookWriter workbook = new StreamingWorkbookWriter()) {
+            workbook.startSheet("Results", WORKBOOK_HEADERS, WORKBOOK_COLUMN_WIDTHS);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = resultRepository.streamWorkbookRows(examId, branchId, semester)) {
+                    rows.forEach(row -> {
+                        row[3] = resultDimensions.examName((Integer) row[3]);
+                        row[5] = resultDimensions.branchName((Integer) row[5]);
+                        workbook.addRow(row);
+                    });
+                }
+            });
+            workbook.write(outputStream);
         }
     }
 
     @Override
     public List<ResultAnalysisResponse> getBranchAnalysis(String academicYear, Integer examId) {
-        List<Object[]> analysisData = resultRepository.getBranchAnalysis(academicYear, examId);
+        List<Object[]> analysisData = resultExamSummaryRepository.getBranchAnalysis(academicYear, examId);
         
         return analysisData.stream()
                 .map(data -> {
-                    String branchName = (String) data[0];
+                    String branchName = resultDimensions.branchName((Integer) data[0]);
                     Integer semester = (Integer) data[1];
-                    Double avgSpi = (Double) data[2];
-                    Long passCount = (Long) data[3];
-                    Long totalCount = (Long) data[4];
+                    Double spiSum = (Double) data[2];
+                    Long spiCount = (Long) data[3];
+                    Long passCount = (Long) data[4];
+                    Long totalCount = (Long) data[5];
                     
+                    Double avgSpi = spiCount > 0 ? spiSum / spiCount : null;
                     Double passPercentage = totalCount > 0 ? (passCount * 100.0) / totalCount : 0.0;
                     
                     return ResultAnalysisResponse.builder()
@@ -188,32 +302,120 @@ public class ResultServiceImpl implements ResultService {
     }
 
     @Override
-    public List<ResultBatchResponse> getUploadBatches(Pageable pageable) {
-        List<Object[]> batchData = resultRepository.findUploadBatches(pageable);
+    public List<ResultHistogramBucket> getScoreHistogram(String metric, Integer examId, String branchName, Integer semester) {
+        String normalizedMetric = metric.toUpperCase();
+        if (!"SPI".equals(normalizedMetric) && !"CPI".equals(normalizedMetric)) {
+            throw new BadRequestException("Metric must be SPI or CPI");
+        }
         
-        return batchData.stream()
+        Integer branchId = resultDimensions.findBranchId(branchName);
+        return resultScoreHistogramRepository.getHistogram(normalizedMetric, examId, branchId, semester).stream()
                 .map(data -> {
-                    String batchId = (String) data[0];
+                    Integer bucket = (Integer) data[0];
                     Long count = (Long) data[1];
-                    LocalDateTime uploadedAt = (LocalDateTime) data[2];
                     
-                    return ResultBatchResponse.builder()
-                            .batchId(batchId)
+                    return ResultHistogramBucket.builder()
+                            .bucket(bucket)
+                            .lowerBound(bucket.doubleValue())
+                            .upperBound(bucket + 1.0)
                             .count(count.intValue())
-                            .uploadedAt(uploadedAt)
                             .build();
                 })
                 .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional
-    public int deleteResultsByBatch(String batchId) {
-        List<Result> results = resultRepository.findByUploadBatch(batchId);
-        int count = results.size();
+    public List<SubjectGradeDistributionResponse> getSubjectGradeDistribution(Integer examId, String branchName, Integer semester) {
+        Map<String, SubjectGradeDistributionResponse> distributions = new LinkedHashMap<>();
+        Integer branchId = resultDimensions.findBranchId(branchName);
         
-        resultRepository.deleteAll(results);
-        return count;
+        for (Object[] data : resultGradeSummaryRepository.getGradeDistribution(examId, branchId, semester)) {
+            String subjectCode = (String) data[0];
+            String subjectName = (String) data[1];
+            String grade = (String) data[2];
+            int count = ((Long) data[3]).intValue();
+            int backlogCount = ((Long) data[4]).intValue();
+            
+            SubjectGradeDistributionResponse distribution = distributions.computeIfAbsent(subjectCode,
+                    code -> SubjectGradeDistributionResponse.builder()
+                            .subjectCode(code)
+                            .subjectName(subjectName)
+                            .totalCount(0)
+                            .backlogCount(0)
+                            .build());
+            
+            distribution.getGradeCounts().put(grade, count);
+            distribution.setTotalCount(distribution.getTotalCount() + count);
+            distribution.setBacklogCount(distribution.getBacklogCount() + backlogCount);
+        }
+        
+        return new ArrayList<>(distributions.values());
+    }
+
+    @Override
+    public List<ResultBatchResponse> getUploadBatches(Pageable pageable) {
+        return uploadBatchService.getBatches(UploadBatch.KIND_RESULTS, pageable).stream()
+                .map(batch -> ResultBatchResponse.builder()
+                        .batchId(batch.getBatchId())
+                        .count(batch.getRowCount())
+                        .uploadedAt(batch.getStartedAt())
+                        .fileName(batch.getFileName())
+                        .fileSha256(batch.getContentSha256())
+                        .uploadedBy(batch.getUploadedBy() != null ? batch.getUploadedBy().getName() : null)
+                        .errorCount(batch.getErrorCount())
+                        .status(batch.getStatus())
+                        .finishedAt(batch.getFinishedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public BatchDeletionJobResponse deleteResultsByBatch(String batchId) {
+        long count = resultRepository.countByUploadBatch(batchId);
+        return batchDeletionJobService.run("RESULTS", batchId, count, progress -> deleteBatchInChunks(batchId, progress));
+    }
+    
+    /**
+     * Delete a batch with set-based statements, one short transaction per chunk.
+     * Derived data is rebuilt once, after the last chunk, or for the chunks that
+     * were committed when a later one fails; the batch then stays live with a
+     * reduced row count, so deleting it again removes the rest.
+     */
+    private void deleteBatchInChunks(String batchId, LongConsumer progress) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Long> resultIds = new ArrayList<>();
+        Set<String> enrollmentNos = new HashSet<>();
+        Set<Integer> examIds = new HashSet<>();
+        
+        boolean complete = false;
+        try {
+            List<Object[]> deleted;
+            do {
+                deleted = transaction.execute(status -> batchDeletionRepository.deleteResultChunk(batchId, DELETE_CHUNK_SIZE));
+                for (Object[] row : deleted) {
+                    resultIds.add((Long) row[0]);
+                    enrollmentNos.add((String) row[1]);
+                    examIds.add((Integer) row[2]);
+                }
+                progress.accept(deleted.size());
+            } while (deleted.size() == DELETE_CHUNK_SIZE);
+            complete = true;
+        } finally {
+            boolean batchGone = complete;
+            if (batchGone || !resultIds.isEmpty()) {
+                transaction.executeWithoutResult(status -> {
+                    resultBacklogService.refresh(enrollmentNos);
+                    studentTranscriptCache.evictAfterCommit(enrollmentNos);
+                    resultCohortService.removeAfterCommit(resultIds);
+                    refreshAnalytics(examIds);
+                    if (batchGone) {
+                        uploadBatchService.markDeleted(batchId);
+                    } else {
+                        uploadBatchService.rowsDeleted(batchId, resultIds.size());
+                    }
+                });
+            }
+        }
     }
 
     @Override
@@ -223,28 +425,60 @@ public class ResultServiceImpl implements ResultService {
                 .orElseThrow(() -> new ResourceNotFoundException("Result not found with id: " + id));
         
         resultRepository.delete(result);
+        resultRepository.flush();
+        uploadBatchService.rowsDeleted(result.getUploadBatch(), 1);
+        resultBacklogService.refresh(List.of(result.getEnrollmentNo()));
+        studentTranscriptCache.evictAfterCommit(List.of(result.getEnrollmentNo()));
+        resultCohortService.removeAfterCommit(List.of(result.getId()));
+        if (result.getExamId() != null) {
+            refreshAnalytics(List.of(result.getExamId()));
+        }
     }
     
-    private Result parseResultFromCsv(CSVRecord record, String batchId) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    /**
+     * Recompute the precomputed analytics of the given exams from the raw results.
+     * Only the exams touched by an import or delete are rebuilt, so the cost is
+     * proportional to the batch rather than to the whole results table.
+     */
+    private void refreshAnalytics(Collection<Integer> examIds) {
+        List<Integer> affected = examIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        if (affected.isEmpty()) {
+            return;
+        }
         
+        // In ascending order, so two rebuilds sharing several exams cannot deadlock
+        affected.forEach(resultExamSummaryRepository::lockExam);
+        resultExamSummaryRepository.deleteByExamIds(affected);
+        resultExamSummaryRepository.insertForExamIds(affected);
+        resultScoreHistogramRepository.deleteByExamIds(affected);
+        resultScoreHistogramRepository.insertForExamIds(affected);
+        resultGradeSummaryRepository.deleteByExamIds(affected);
+        resultGradeSummaryRepository.insertForExamIds(affected);
+        resultRankingService.refreshAfterCommit(affected);
+    }
+    
+    private Result parseResultFromCsv(CSVRecord record, String batchId) {
         Result result = Result.builder()
                 .stId(record.get("ST_ID"))
-                .enrollmentNo(record.get("Enrollment_No"))
+                .enrollmentNo(requireValue(record, "Enrollment_No"))
                 .extype(record.get("Extype"))
                 .examId(Integer.parseInt(record.get("Exam_ID")))
-                .exam(record.get("Exam"))
-                .declarationDate(LocalDate.parse(record.get("Declaration_Date"), dateFormatter))
+                .examNameId(resultDimensions.examNameId(record.get("Exam")))
+                .declarationDate(LocalDate.parse(record.get("Declaration_Date"), DECLARATION_DATE_FORMATTER))
                 .academicYear(record.get("Academic_Year"))
                 .semester(Integer.parseInt(record.get("Semester")))
                 .unitNo(Double.parseDouble(record.get("Unit_No")))
                 .examNumber(Double.parseDouble(record.get("Exam_Number")))
                 .name(record.get("Name"))
                 .instCode(Integer.parseInt(record.get("Inst_Code")))
-                .instName(record.get("Inst_Name"))
-                .courseName(record.get("Course_Name"))
+                .instituteId(resultDimensions.instituteId(record.get("Inst_Name")))
+                .courseId(resultDimensions.courseId(record.get("Course_Name")))
                 .branchCode(Integer.parseInt(record.get("Branch_Code")))
-                .branchName(record.get("Branch_Name"))
+                .branchId(resultDimensions.branchId(record.get("Branch_Name")))
                 .totalCredits(Double.parseDouble(record.get("Total_Credits")))
                 .earnedCredits(Double.parseDouble(record.get("Earned_Credits")))
                 .spi(Double.parseDouble(record.get("SPI")))
@@ -303,14 +537,26 @@ public class ResultServiceImpl implements ResultService {
         return result;
     }
     
+    private static String requireValue(CSVRecord record, String column) {
+        String value = record.get(column);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return value;
+    }
+    
     private ResultResponse convertToDto(Result result) {
+        return convertToDto(result, result.getSubjects());
+    }
+    
+    private ResultResponse convertToDto(Result result, List<ResultSubject> subjects) {
         ResultResponse dto = ResultResponse.builder()
                 .id(result.getId())
                 .stId(result.getStId())
                 .enrollmentNo(result.getEnrollmentNo())
                 .extype(result.getExtype())
                 .examId(result.getExamId())
-                .exam(result.getExam())
+                .exam(resultDimensions.examName(result.getExamNameId()))
                 .declarationDate(result.getDeclarationDate())
                 .academicYear(result.getAcademicYear())
                 .semester(result.getSemester())
@@ -318,10 +564,10 @@ public class ResultServiceImpl implements ResultService {
                 .examNumber(result.getExamNumber())
                 .name(result.getName())
                 .instCode(result.getInstCode())
-                .instName(result.getInstName())
-                .courseName(result.getCourseName())
+                .instName(resultDimensions.instituteName(result.getInstituteId()))
+                .courseName(resultDimensions.courseName(result.getCourseId()))
                 .branchCode(result.getBranchCode())
-                .branchName(result.getBranchName())
+                .branchName(resultDimensions.branchName(result.getBranchId()))
                 .totalCredits(result.getTotalCredits())
                 .earnedCredits(result.getEarnedCredits())
                 .spi(result.getSpi())
@@ -334,7 +580,7 @@ public class ResultServiceImpl implements ResultService {
                 .updatedAt(result.getUpdatedAt())
                 .build();
         
-        List<ResultSubjectResponse> subjectResponses = result.getSubjects().stream()
+        List<ResultSubjectResponse> subjectResponses = subjects.stream()
                 .map(subject -> ResultSubjectResponse.builder()
                         .id(subject.getId())
                         .code(subject.getCode())
@@ -0,0 +1,107 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * Writes .xlsx spreadsheets row by row with a bounded memory footprint.
+ *
+ * Only the last {@value #ROW_WINDOW} rows of a sheet are kept on the heap; older
+ * rows are flushed to compressed temp files and copied into the output when the
+ * workbook is written. Column widths are given up front in characters instead
+ * of being measured with autoSizeColumn, which would need every cell in memory.
+ */
+public class StreamingWorkbookWriter implements Closeable {
+
+    private static final int ROW_WINDOW = 100;
+    private static final int MAX_COLUMN_CHARS = 255;
+
+    private final SXSSFWorkbook workbook;
+    private final CellStyle headerStyle;
+    private SXSSFSheet sheet;
+    private int nextRow;
+
+    public StreamingWorkbookWriter() {
+        workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+
+        headerStyle = workbook.createCellStyle();
+        headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        Font headerFont = workbook.createFont();
+        headerFont.setBold(true);
+        headerStyle.setFont(headerFont);
+    }
+
+    /**
+     * Start a new sheet; later rows are added to it.
+     *
+     * @param name Sheet name
+     * @param headers Header captions, written in bold as the first row
+     * @param widths Column widths in characters, one per header
+     */
+    public void startSheet(String name, String[] headers, int[] widths) {
+        sheet = workbook.createSheet(name);
+        nextRow = 0;
+
+        for (int i = 0; i < widths.length; i++) {
+            sheet.setColumnWidth(i, Math.min(widths[i], MAX_COLUMN_CHARS) * 256);
+        }
+
+        Row headerRow = sheet.createRow(nextRow++);
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+        }
+        sheet.createFreezePane(0, 1);
+    }
+
+    /**
+     * Append a row to the current sheet. Numbers become numeric cells, nulls
+     * stay blank and anything else is written as text.
+     *
+     * @param values Cell values in column order
+     */
+    public void addRow(Object... values) {
+        Row row = sheet.createRow(nextRow++);
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Number) {
+                row.createCell(i).setCellValue(((Number) value).doubleValue());
+            } else {
+                row.createCell(i).setCellValue(value.toString());
+            }
+        }
+    }
+
+    /**
+     * Write the workbook to the given stream. The stream is not closed.
+     *
+     * @param outputStream Destination of the .xlsx file
+     * @throws IOException If writing fails
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        workbook.write(outputStream);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Removes the temp files backing the flushed rows
+        workbook.dispose();
+        workbook.close();
+    }
+}
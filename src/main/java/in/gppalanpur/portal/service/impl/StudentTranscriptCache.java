@@ -0,0 +1,106 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import in.gppalanpur.portal.config.AppProperties;
+import in.gppalanpur.portal.dto.result.ResultResponse;
+
+/**
+ * LRU cache of assembled student transcript pages, keyed by enrollment number.
+ *
+ * All pages of one student live under a single entry so that an import or
+ * delete touching that enrollment number evicts them together. Only unsorted
+ * pages of the usual sizes are cached, at most a few per student; any other
+ * request goes straight to the database.
+ */
+@Component
+public class StudentTranscriptCache {
+
+    private static final Set<Integer> CACHED_PAGE_SIZES = Set.of(10, 20, 50, 100);
+    private static final int MAX_PAGES_PER_STUDENT = 8;
+
+    private final Map<String, Map<String, Page<ResultResponse>>> transcripts;
+
+    public StudentTranscriptCache(AppProperties appProperties) {
+        int maxEntries = appProperties.getResults().getTranscriptCacheSize();
+        this.transcripts = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Page<ResultResponse>>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get a transcript page, assembling and caching it on a miss.
+     *
+     * @param enrollmentNo Student enrollment number
+     * @param pageable Requested page
+     * @param loader Builds the page from the database
+     * @return Cached or freshly assembled page
+     */
+    public Page<ResultResponse> get(String enrollmentNo, Pageable pageable, Supplier<Page<ResultResponse>> loader) {
+        if (pageable.isUnpaged() || pageable.getSort().isSorted()
+                || !CACHED_PAGE_SIZES.contains(pageable.getPageSize())) {
+            return loader.get();
+        }
+
+        String pageKey = pageable.getPageSize() + ":" + pageable.getPageNumber();
+        Map<String, Page<ResultResponse>> pages;
+        synchronized (transcripts) {
+            pages = transcripts.computeIfAbsent(enrollmentNo, key -> new ConcurrentHashMap<>());
+        }
+        Page<ResultResponse> page = pages.get(pageKey);
+        if (page != null) {
+            return page;
+        }
+
+        // Loaded outside the map so a slow query never blocks other students' pages
+        page = loader.get();
+        if (pages.size() < MAX_PAGES_PER_STUDENT) {
+            Page<ResultResponse> cached = pages.putIfAbsent(pageKey, page);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Evict the given students once the current transaction commits, or
+     * immediately when no transaction is active.
+     *
+     * @param enrollmentNos Enrollment numbers whose results changed
+     */
+    public void evictAfterCommit(Collection<String> enrollmentNos) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(enrollmentNos);
+                }
+            });
+        } else {
+            evict(enrollmentNos);
+        }
+    }
+
+    private void evict(Collection<String> enrollmentNos) {
+        synchronized (transcripts) {
+            enrollmentNos.forEach(transcripts::remove);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package in.gppalanpur.portal.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import in.gppalanpur.portal.entity.UploadBatch;
+import in.gppalanpur.portal.repository.UploadBatchRepository;
+import in.gppalanpur.portal.repository.UserRepository;
+import in.gppalanpur.portal.service.FileStorageService;
+import in.gppalanpur.portal.service.UploadBatchService;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class UploadBatchServiceImpl implements UploadBatchService {
+
+    private final UploadBatchRepository uploadBatchRepository;
+    private final UserRepository userRepository;
+    private final FileStorageService fileStorageService;
+    private final TransactionTemplate newTransaction;
+
+    public UploadBatchServiceImpl(UploadBatchRepository uploadBatchRepository, UserRepository userRepository,
+                                  FileStorageService fileStorageService, PlatformTransactionManager transactionManager) {
+        this.uploadBatchRepository = uploadBatchRepository;
+        this.userRepository = userRepository;
+        this.fileStorageService = fileStorageService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public UploadBatch start(String batchId, String kind, String fileName, String contentSha256, Long userId) {
+        return newTransaction.execute(status -> uploadBatchRepository.save(UploadBatch.builder()
+                .batchId(batchId)
+                .kind(kind)
+                .fileName(fileName)
+                .contentSha256(contentSha256)
+                .uploadedBy(userId != null ? userRepository.getReferenceById(userId) : null)
+                .rowCount(0)
+                .errorCount(0)
+                .status(UploadBatch.STATUS_IMPORTING)
+                .startedAt(LocalDateTime.now())
+                .build()));
+    }
+
+    @Override
+    public void failOnRollback(String batchId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        fail(batchId);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UploadBatch> findImported(String kind, String contentSha256) {
+        return uploadBatchRepository.findFirstByKindAndContentSha256AndStatusOrderByIdDesc(kind, contentSha256,
+                UploadBatch.STATUS_COMPLETED);
+    }
+
+    @Override
+    public void finish(String batchId, int rowCount, int errorCount) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    complete(batchId, rowCount, errorCount);
+                }
+            });
+        } else {
+            complete(batchId, rowCount, errorCount);
+        }
+    }
+
+    private void complete(String batchId, int rowCount, int errorCount) {
+        newTransaction.executeWithoutResult(status -> uploadBatchRepository.finish(batchId,
+                UploadBatch.STATUS_COMPLETED, rowCount, errorCount, LocalDateTime.now()));
+    }
+
+    @Override
+    public void fail(String batchId) {
+        log.warn("Upload batch {} failed", batchId);
+        newTransaction.executeWithoutResult(status -> uploadBatchRepository.updateStatus(batchId,
+                UploadBatch.STATUS_FAILED, LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional
+    public void rowsDeleted(String batchId, int count) {
+        if (batchId != null && count > 0) {
+            uploadBatchRepository.decrementRowCount(batchId, count);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void markDeleted(String batchId) {
+        uploadBatchRepository.markDeleted(batchId);
+        uploadBatchRepository.findByBatchId(batchId)
+                .map(UploadBatch::getContentSha256)
+                .ifPresent(sha256 -> TransactionSynchronizationManager.registerSynchronization(
+                        new TransactionSynchronization() {
+                            @Override
+                            public void afterCommit() {
+                                fileStorageService.release(sha256);
+                            }
+                        }));
+    }
+
+    @Override
+    @Transactional
+    public void recountResultRows() {
+        uploadBatchRepository.recountResultRows();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UploadBatch> getBatches(String kind, Pageable pageable) {
+        return uploadBatchRepository.findListed(kind, pageable);
+    }
+}
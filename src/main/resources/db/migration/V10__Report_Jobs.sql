@@ -0,0 +1,25 @@
+-- Background report jobs. Nodes claim queued rows with FOR UPDATE SKIP LOCKED
+-- and keep heartbeat_at fresh while running; see ReportJobServiceImpl.
+
+CREATE TABLE report_jobs (
+    id SERIAL PRIMARY KEY,
+    job_id VARCHAR(50) NOT NULL UNIQUE,
+    type VARCHAR(40) NOT NULL,
+    parameters TEXT,
+    requested_by_id BIGINT REFERENCES users(id),
+    status VARCHAR(20) NOT NULL,
+    cancel_requested BOOLEAN NOT NULL DEFAULT FALSE,
+    claimed_by VARCHAR(100),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    bytes_written BIGINT,
+    result_file VARCHAR(255),
+    result_size BIGINT,
+    error TEXT,
+    submitted_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP,
+    heartbeat_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX idx_report_jobs_status ON report_jobs(status, id);
+CREATE INDEX idx_report_jobs_requested_by ON report_jobs(requested_by_id, id);
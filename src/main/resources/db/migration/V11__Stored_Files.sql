@@ -0,0 +1,20 @@
+-- Content-addressed file store. Files live under files/<xx>/<sha256> in the
+-- upload dir; this table holds one metadata row per distinct content.
+
+CREATE TABLE stored_files (
+    id SERIAL PRIMARY KEY,
+    sha256 VARCHAR(64) NOT NULL UNIQUE,
+    size BIGINT NOT NULL,
+    content_type VARCHAR(100),
+    original_name VARCHAR(255),
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Uploads are kept in the store, so re-uploading the same file can be recognised
+ALTER TABLE upload_batches ADD COLUMN content_sha256 VARCHAR(64);
+CREATE INDEX idx_upload_batches_content ON upload_batches(content_sha256);
+
+-- Job results moved from files named after the job into the store, so
+-- result_file now holds a content hash; results of older jobs are dropped
+UPDATE report_jobs SET status = 'FAILED', error = 'Result expired', result_file = NULL, result_size = NULL
+WHERE status = 'COMPLETED';
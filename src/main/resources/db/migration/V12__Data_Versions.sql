@@ -0,0 +1,7 @@
+-- One change counter per table, bumped after each committed write through JPA.
+-- Read endpoints build their ETags from the counters of the tables they read.
+
+CREATE TABLE data_versions (
+    table_name VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
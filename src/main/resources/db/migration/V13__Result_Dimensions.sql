@@ -0,0 +1,105 @@
+-- Dictionary-encode the repeated result names. Each dimension row has a
+-- normalised name_key (whitespace collapsed, upper case) and the first
+-- spelling seen for display. The key expression must match ResultDimensionDictionary;
+-- blank names get no entry and are stored as NULL.
+
+CREATE TABLE IF NOT EXISTS result_branches (
+    id SERIAL PRIMARY KEY,
+    name_key VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS result_institutes (
+    id SERIAL PRIMARY KEY,
+    name_key VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS result_courses (
+    id SERIAL PRIMARY KEY,
+    name_key VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS result_exams (
+    id SERIAL PRIMARY KEY,
+    name_key VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255)
+);
+
+ALTER TABLE results
+    ADD COLUMN exam_name_id INTEGER REFERENCES result_exams(id),
+    ADD COLUMN institute_id INTEGER REFERENCES result_institutes(id),
+    ADD COLUMN course_id INTEGER REFERENCES result_courses(id),
+    ADD COLUMN branch_id INTEGER REFERENCES result_branches(id);
+
+INSERT INTO result_branches (name_key, name)
+SELECT DISTINCT ON (k) k, btrim(regexp_replace(branch_name, '\s+', ' ', 'g'))
+FROM (SELECT id, branch_name, upper(btrim(regexp_replace(branch_name, '\s+', ' ', 'g'))) AS k FROM results) r
+WHERE k <> ''
+ORDER BY k, id
+ON CONFLICT (name_key) DO NOTHING;
+
+INSERT INTO result_institutes (name_key, name)
+SELECT DISTINCT ON (k) k, btrim(regexp_replace(inst_name, '\s+', ' ', 'g'))
+FROM (SELECT id, inst_name, upper(btrim(regexp_replace(inst_name, '\s+', ' ', 'g'))) AS k FROM results) r
+WHERE k <> ''
+ORDER BY k, id
+ON CONFLICT (name_key) DO NOTHING;
+
+INSERT INTO result_courses (name_key, name)
+SELECT DISTINCT ON (k) k, btrim(regexp_replace(course_name, '\s+', ' ', 'g'))
+FROM (SELECT id, course_name, upper(btrim(regexp_replace(course_name, '\s+', ' ', 'g'))) AS k FROM results) r
+WHERE k <> ''
+ORDER BY k, id
+ON CONFLICT (name_key) DO NOTHING;
+
+INSERT INTO result_exams (name_key, name)
+SELECT DISTINCT ON (k) k, btrim(regexp_replace(exam, '\s+', ' ', 'g'))
+FROM (SELECT id, exam, upper(btrim(regexp_replace(exam, '\s+', ' ', 'g'))) AS k FROM results) r
+WHERE k <> ''
+ORDER BY k, id
+ON CONFLICT (name_key) DO NOTHING;
+
+UPDATE results r SET branch_id = d.id FROM result_branches d
+WHERE d.name_key = upper(btrim(regexp_replace(r.branch_name, '\s+', ' ', 'g')));
+
+UPDATE results r SET institute_id = d.id FROM result_institutes d
+WHERE d.name_key = upper(btrim(regexp_replace(r.inst_name, '\s+', ' ', 'g')));
+
+UPDATE results r SET course_id = d.id FROM result_courses d
+WHERE d.name_key = upper(btrim(regexp_replace(r.course_name, '\s+', ' ', 'g')));
+
+UPDATE results r SET exam_name_id = d.id FROM result_exams d
+WHERE d.name_key = upper(btrim(regexp_replace(r.exam, '\s+', ' ', 'g')));
+
+ALTER TABLE results
+    DROP COLUMN exam,
+    DROP COLUMN inst_name,
+    DROP COLUMN course_name,
+    DROP COLUMN branch_name;
+
+-- Marksheets and rankings look up one class of one exam
+CREATE INDEX idx_results_exam_branch ON results(exam_id, branch_id, semester);
+
+-- The precomputed analytics group on the branch ID too. Spelling variants of a
+-- branch now share an ID, so their summary rows add up under that one ID.
+ALTER TABLE result_exam_summaries ADD COLUMN branch_id INTEGER;
+ALTER TABLE result_score_histograms ADD COLUMN branch_id INTEGER;
+ALTER TABLE result_grade_summaries ADD COLUMN branch_id INTEGER;
+
+UPDATE result_exam_summaries s SET branch_id = d.id FROM result_branches d
+WHERE d.name_key = upper(btrim(regexp_replace(s.branch_name, '\s+', ' ', 'g')));
+UPDATE result_score_histograms s SET branch_id = d.id FROM result_branches d
+WHERE d.name_key = upper(btrim(regexp_replace(s.branch_name, '\s+', ' ', 'g')));
+UPDATE result_grade_summaries s SET branch_id = d.id FROM result_branches d
+WHERE d.name_key = upper(btrim(regexp_replace(s.branch_name, '\s+', ' ', 'g')));
+
+-- Dropping the name columns also drops the V4 indexes built on them
+ALTER TABLE result_exam_summaries DROP COLUMN branch_name;
+ALTER TABLE result_score_histograms DROP COLUMN branch_name;
+ALTER TABLE result_grade_summaries DROP COLUMN branch_name;
+
+CREATE INDEX idx_result_exam_summaries_exam ON result_exam_summaries(exam_id, branch_id, semester);
+CREATE INDEX idx_result_score_histograms_exam ON result_score_histograms(exam_id, metric, branch_id, semester);
+CREATE INDEX idx_result_grade_summaries_exam ON result_grade_summaries(exam_id, branch_id, semester, subject_code);
@@ -0,0 +1,3 @@
+-- Content hash of each imported result row (including its subjects), used by
+-- merge imports to skip rows that did not change since the last declaration
+ALTER TABLE results ADD COLUMN content_hash VARCHAR(64);
@@ -0,0 +1,75 @@
+-- Precomputed result analytics, rebuilt per exam by each result import or delete
+
+CREATE INDEX idx_results_exam_id ON results(exam_id);
+CREATE INDEX idx_result_subjects_result_id ON result_subjects(result_id);
+
+-- Pass counts and SPI totals per exam, branch and semester
+CREATE TABLE result_exam_summaries (
+    id SERIAL PRIMARY KEY,
+    exam_id INTEGER,
+    academic_year VARCHAR(20),
+    branch_name VARCHAR(100),
+    semester INTEGER,
+    total_count INTEGER,
+    pass_count INTEGER,
+    spi_sum DOUBLE PRECISION,
+    spi_count INTEGER,
+    refreshed_at TIMESTAMP
+);
+CREATE INDEX idx_result_exam_summaries_exam ON result_exam_summaries(exam_id, branch_name, semester);
+
+-- Students per whole-point SPI/CPI bucket
+CREATE TABLE result_score_histograms (
+    id SERIAL PRIMARY KEY,
+    exam_id INTEGER,
+    academic_year VARCHAR(20),
+    branch_name VARCHAR(100),
+    semester INTEGER,
+    metric VARCHAR(3),
+    bucket INTEGER,
+    student_count INTEGER
+);
+CREATE INDEX idx_result_score_histograms_exam ON result_score_histograms(exam_id, metric, branch_name, semester);
+
+-- Grade distribution and backlog count per subject
+CREATE TABLE result_grade_summaries (
+    id SERIAL PRIMARY KEY,
+    exam_id INTEGER,
+    academic_year VARCHAR(20),
+    branch_name VARCHAR(100),
+    semester INTEGER,
+    subject_code VARCHAR(20),
+    subject_name VARCHAR(100),
+    grade VARCHAR(5),
+    student_count INTEGER,
+    backlog_count INTEGER
+);
+CREATE INDEX idx_result_grade_summaries_exam ON result_grade_summaries(exam_id, branch_name, semester, subject_code);
+
+-- Build the analytics of the exams imported before these tables existed,
+-- with the same aggregation as the per-exam refresh after an import
+INSERT INTO result_exam_summaries (exam_id, academic_year, branch_name, semester,
+    total_count, pass_count, spi_sum, spi_count, refreshed_at)
+SELECT r.exam_id, r.academic_year, r.branch_name, r.semester, COUNT(*),
+    SUM(CASE WHEN r.result = 'PASS' THEN 1 ELSE 0 END), COALESCE(SUM(r.spi), 0), COUNT(r.spi), now()
+FROM results r
+WHERE r.exam_id IS NOT NULL
+GROUP BY r.exam_id, r.academic_year, r.branch_name, r.semester;
+
+INSERT INTO result_score_histograms (exam_id, academic_year, branch_name, semester,
+    metric, bucket, student_count)
+SELECT r.exam_id, r.academic_year, r.branch_name, r.semester, m.metric,
+    LEAST(GREATEST(CAST(FLOOR(m.score) AS integer), 0), 10), COUNT(*)
+FROM results r
+CROSS JOIN LATERAL (VALUES ('SPI', r.spi), ('CPI', r.cpi)) AS m(metric, score)
+WHERE r.exam_id IS NOT NULL AND m.score IS NOT NULL
+GROUP BY r.exam_id, r.academic_year, r.branch_name, r.semester, m.metric,
+    LEAST(GREATEST(CAST(FLOOR(m.score) AS integer), 0), 10);
+
+INSERT INTO result_grade_summaries (exam_id, academic_year, branch_name, semester,
+    subject_code, subject_name, grade, student_count, backlog_count)
+SELECT r.exam_id, r.academic_year, r.branch_name, r.semester, s.code, MAX(s.name),
+    COALESCE(s.grade, ''), COUNT(*), SUM(CASE WHEN s.is_backlog THEN 1 ELSE 0 END)
+FROM results r JOIN result_subjects s ON s.result_id = r.id
+WHERE r.exam_id IS NOT NULL
+GROUP BY r.exam_id, r.academic_year, r.branch_name, r.semester, s.code, COALESCE(s.grade, '');
@@ -0,0 +1,36 @@
+-- One row per student and subject ever failed, rebuilt per student by each result import or delete
+
+CREATE TABLE result_backlog_ledger (
+    id SERIAL PRIMARY KEY,
+    enrollment_no VARCHAR(50) NOT NULL,
+    subject_code VARCHAR(20) NOT NULL,
+    subject_name VARCHAR(100),
+    attempts INTEGER,
+    failed_attempts INTEGER,
+    is_open BOOLEAN,
+    first_backlog_exam_id INTEGER,
+    last_exam_id INTEGER,
+    cleared_exam_id INTEGER,
+    refreshed_at TIMESTAMP,
+    UNIQUE (enrollment_no, subject_code)
+);
+CREATE INDEX idx_result_backlog_ledger_subject ON result_backlog_ledger(subject_code, is_open);
+
+-- Build the ledger of every student with results already in the database,
+-- with the same window-function rebuild as the per-student refresh
+INSERT INTO result_backlog_ledger (enrollment_no, subject_code, subject_name, attempts,
+    failed_attempts, is_open, first_backlog_exam_id, last_exam_id, cleared_exam_id, refreshed_at)
+SELECT a.enrollment_no, a.code, MAX(a.name), COUNT(*), COUNT(*) FILTER (WHERE a.backlog),
+    bool_or(a.backlog AND a.latest = 1),
+    MIN(a.exam_id) FILTER (WHERE a.backlog AND a.first_backlog = 1),
+    MAX(a.exam_id) FILTER (WHERE a.latest = 1),
+    MAX(a.exam_id) FILTER (WHERE a.latest = 1 AND NOT a.backlog), now()
+FROM (SELECT r.enrollment_no, s.code, s.name, r.exam_id, COALESCE(s.is_backlog, false) AS backlog,
+        ROW_NUMBER() OVER (PARTITION BY r.enrollment_no, s.code
+            ORDER BY r.declaration_date DESC NULLS LAST, r.exam_id DESC) AS latest,
+        ROW_NUMBER() OVER (PARTITION BY r.enrollment_no, s.code, COALESCE(s.is_backlog, false)
+            ORDER BY r.declaration_date NULLS FIRST, r.exam_id) AS first_backlog
+      FROM results r JOIN result_subjects s ON s.result_id = r.id
+      WHERE s.code IS NOT NULL) a
+GROUP BY a.enrollment_no, a.code
+HAVING bool_or(a.backlog);
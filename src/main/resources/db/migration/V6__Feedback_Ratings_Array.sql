@@ -0,0 +1,17 @@
+-- Feedback ratings move from JSON text to smallint[]; element i holds question Qi
+
+DO $$
+BEGIN
+    IF to_regclass('feedback') IS NOT NULL THEN
+        ALTER TABLE feedback ADD COLUMN ratings_array SMALLINT[];
+
+        UPDATE feedback f
+        SET ratings_array = ARRAY(
+            SELECT CAST(CAST(f.ratings AS json)->>('Q' || q) AS SMALLINT)
+            FROM generate_series(1, 12) AS q
+            ORDER BY q);
+
+        ALTER TABLE feedback DROP COLUMN ratings;
+        ALTER TABLE feedback RENAME COLUMN ratings_array TO ratings;
+    END IF;
+END $$;
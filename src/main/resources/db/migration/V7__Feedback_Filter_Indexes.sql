@@ -0,0 +1,15 @@
+-- Composite indexes for the feedback listing filters. Each filter leads one index,
+-- so any single filter is a range scan; combinations extend a prefix or are
+-- combined with a bitmap AND.
+
+DO $$
+BEGIN
+    IF to_regclass('feedback') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_feedback_year_term ON feedback(year, term, branch, semester, subject_code);
+        CREATE INDEX IF NOT EXISTS idx_feedback_branch ON feedback(branch, semester, year, term);
+        CREATE INDEX IF NOT EXISTS idx_feedback_semester ON feedback(semester, year, term);
+        CREATE INDEX IF NOT EXISTS idx_feedback_subject_code ON feedback(subject_code, year, term);
+        CREATE INDEX IF NOT EXISTS idx_feedback_faculty_name ON feedback(faculty_name, year, term);
+        CREATE INDEX IF NOT EXISTS idx_feedback_batch_id ON feedback(batch_id, id);
+    END IF;
+END $$;
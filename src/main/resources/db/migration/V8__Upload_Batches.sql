@@ -0,0 +1,36 @@
+-- Registry of result and feedback upload batches, written by each import
+
+CREATE TABLE upload_batches (
+    id SERIAL PRIMARY KEY,
+    batch_id VARCHAR(50) NOT NULL UNIQUE,
+    kind VARCHAR(20) NOT NULL,
+    file_name VARCHAR(255),
+    uploaded_by_id BIGINT REFERENCES users(id),
+    row_count INTEGER,
+    error_count INTEGER,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+CREATE INDEX idx_upload_batches_kind ON upload_batches(kind, status, started_at);
+
+-- Row counts of result batches are recounted after merge imports
+CREATE INDEX IF NOT EXISTS idx_results_upload_batch ON results(upload_batch);
+
+-- Register the batches imported before the registry existed
+INSERT INTO upload_batches (batch_id, kind, row_count, error_count, status, started_at, finished_at)
+SELECT upload_batch, 'RESULTS', COUNT(*), 0, 'COMPLETED', MIN(created_at), MAX(created_at)
+FROM results
+WHERE upload_batch IS NOT NULL
+GROUP BY upload_batch;
+
+DO $$
+BEGIN
+    IF to_regclass('feedback') IS NOT NULL THEN
+        INSERT INTO upload_batches (batch_id, kind, row_count, error_count, status, started_at, finished_at)
+        SELECT batch_id, 'FEEDBACK', COUNT(*), 0, 'COMPLETED', MIN(created_at), MAX(created_at)
+        FROM feedback
+        WHERE batch_id IS NOT NULL
+        GROUP BY batch_id;
+    END IF;
+END $$;
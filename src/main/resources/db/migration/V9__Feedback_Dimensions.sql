@@ -0,0 +1,110 @@
+-- Dictionary-encode the repeated feedback names. Each dimension row has a
+-- normalised name_key (whitespace collapsed, upper case; faculty also ignores
+-- dots and honorifics) and the first spelling seen for display. The key
+-- expressions must match FeedbackDimensionDictionary.
+
+CREATE TABLE IF NOT EXISTS feedback_terms (
+    id SERIAL PRIMARY KEY,
+    name_key VARCHAR(255) NOT NULL UNIQUE,
+    year VARCHAR(255),
+    term VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS feedback_branches (
+    id SERIAL PRIMARY KEY,
+    name_key VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS feedback_subjects (
+    id SERIAL PRIMARY KEY,
+    name_key VARCHAR(255) NOT NULL UNIQUE,
+    code VARCHAR(255),
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS feedback_faculty (
+    id SERIAL PRIMARY KEY,
+    name_key VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255)
+);
+
+DO $$
+BEGIN
+    IF to_regclass('feedback') IS NOT NULL
+            AND EXISTS (SELECT 1 FROM information_schema.columns
+                        WHERE table_name = 'feedback' AND column_name = 'faculty_name') THEN
+        ALTER TABLE feedback
+            ADD COLUMN term_id INTEGER REFERENCES feedback_terms(id),
+            ADD COLUMN branch_id INTEGER REFERENCES feedback_branches(id),
+            ADD COLUMN subject_id INTEGER REFERENCES feedback_subjects(id),
+            ADD COLUMN faculty_id INTEGER REFERENCES feedback_faculty(id);
+
+        INSERT INTO feedback_terms (name_key, year, term)
+        SELECT DISTINCT ON (k) k, btrim(regexp_replace(year, '\s+', ' ', 'g')), btrim(regexp_replace(term, '\s+', ' ', 'g'))
+        FROM (SELECT id, year, term,
+                     upper(btrim(regexp_replace(year, '\s+', ' ', 'g'))) || '|' ||
+                     upper(btrim(regexp_replace(term, '\s+', ' ', 'g'))) AS k
+              FROM feedback) f
+        ORDER BY k, id
+        ON CONFLICT (name_key) DO NOTHING;
+
+        INSERT INTO feedback_branches (name_key, name)
+        SELECT DISTINCT ON (k) k, btrim(regexp_replace(branch, '\s+', ' ', 'g'))
+        FROM (SELECT id, branch, upper(btrim(regexp_replace(branch, '\s+', ' ', 'g'))) AS k FROM feedback) f
+        ORDER BY k, id
+        ON CONFLICT (name_key) DO NOTHING;
+
+        INSERT INTO feedback_subjects (name_key, code, name)
+        SELECT DISTINCT ON (k) k, btrim(regexp_replace(subject_code, '\s+', ' ', 'g')),
+               btrim(regexp_replace(subject_name, '\s+', ' ', 'g'))
+        FROM (SELECT id, subject_code, subject_name,
+                     upper(btrim(regexp_replace(subject_code, '\s+', ' ', 'g'))) AS k
+              FROM feedback) f
+        ORDER BY k, id
+        ON CONFLICT (name_key) DO NOTHING;
+
+        INSERT INTO feedback_faculty (name_key, name)
+        SELECT DISTINCT ON (k) k, btrim(regexp_replace(faculty_name, '\s+', ' ', 'g'))
+        FROM (SELECT id, faculty_name,
+                     regexp_replace(upper(btrim(regexp_replace(replace(faculty_name, '.', ' '), '\s+', ' ', 'g'))),
+                                    '^((PROF|DR|MRS|MR|MS|SHRI|SMT) )+', '') AS k
+              FROM feedback) f
+        ORDER BY k, id
+        ON CONFLICT (name_key) DO NOTHING;
+
+        UPDATE feedback f SET
+            term_id = t.id,
+            branch_id = b.id,
+            subject_id = s.id,
+            faculty_id = fa.id
+        FROM feedback_terms t, feedback_branches b, feedback_subjects s, feedback_faculty fa
+        WHERE t.name_key = upper(btrim(regexp_replace(f.year, '\s+', ' ', 'g'))) || '|' ||
+                           upper(btrim(regexp_replace(f.term, '\s+', ' ', 'g')))
+          AND b.name_key = upper(btrim(regexp_replace(f.branch, '\s+', ' ', 'g')))
+          AND s.name_key = upper(btrim(regexp_replace(f.subject_code, '\s+', ' ', 'g')))
+          AND fa.name_key = regexp_replace(upper(btrim(regexp_replace(replace(f.faculty_name, '.', ' '), '\s+', ' ', 'g'))),
+                                           '^((PROF|DR|MRS|MR|MS|SHRI|SMT) )+', '');
+
+        ALTER TABLE feedback
+            ALTER COLUMN term_id SET NOT NULL,
+            ALTER COLUMN branch_id SET NOT NULL,
+            ALTER COLUMN subject_id SET NOT NULL,
+            ALTER COLUMN faculty_id SET NOT NULL;
+
+        -- Dropping the name columns also drops the V7 indexes built on them
+        ALTER TABLE feedback
+            DROP COLUMN year,
+            DROP COLUMN term,
+            DROP COLUMN branch,
+            DROP COLUMN subject_code,
+            DROP COLUMN subject_name,
+            DROP COLUMN faculty_name;
+
+        CREATE INDEX IF NOT EXISTS idx_feedback_term ON feedback(term_id, branch_id, semester, subject_id);
+        CREATE INDEX IF NOT EXISTS idx_feedback_branch ON feedback(branch_id, semester, term_id);
+        CREATE INDEX IF NOT EXISTS idx_feedback_semester ON feedback(semester, term_id);
+        CREATE INDEX IF NOT EXISTS idx_feedback_subject ON feedback(subject_id, term_id);
+        CREATE INDEX IF NOT EXISTS idx_feedback_faculty ON feedback(faculty_id, term_id);
+    END IF;
+END $$;